@@ -0,0 +1,74 @@
+package com.my.jjystd.benchmark;
+
+import com.my.jjystd.entity.Course;
+import com.my.jjystd.entity.Score;
+import com.my.jjystd.entity.Teacher;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * 基准测试共用的实体样本数据
+ */
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    static Teacher teacher(int id) {
+        Teacher teacher = new Teacher();
+        teacher.setId(id);
+        teacher.setUserId(1000 + id);
+        teacher.setName("教师" + id);
+        teacher.setGender("女");
+        teacher.setAge(40);
+        teacher.setTeacherNo("T" + (20000 + id));
+        teacher.setTitle("副教授");
+        teacher.setDepartment("信息学院");
+        teacher.setPhone("13800000000");
+        teacher.setEmail("teacher" + id + "@example.com");
+        teacher.setCreateTime(new Date(1_700_000_000_000L));
+        return teacher;
+    }
+
+    static Course course(int id, Teacher teacher) {
+        Course course = new Course();
+        course.setId(id);
+        course.setName("数据结构" + id);
+        course.setCourseCode("CS" + (100 + id));
+        course.setDescription("线性表、树、图及常用排序与查找算法");
+        course.setTeacher(teacher);
+        course.setCredit(3.5f);
+        course.setStatus(1);
+        course.setCreateTime(new Date(1_700_000_000_000L));
+        return course;
+    }
+
+    static Score score(int id, Course course) {
+        Score score = new Score();
+        score.setId(id);
+        score.setStudentId(id % 500 + 1);
+        score.setCourse(course);
+        score.setTeacher(course.getTeacher());
+        score.setScore(60f + id % 40);
+        score.setRemark("期末考试");
+        score.setCreateTime(new Date(1_700_000_000_000L + id));
+        return score;
+    }
+
+    /**
+     * 生成成绩列表，课程和教师在列表内共享，与一次分页查询的结果形态一致
+     */
+    static List<Score> scores(int size) {
+        List<Course> courses = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            courses.add(course(i, teacher(i % 4 + 1)));
+        }
+        List<Score> scores = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            scores.add(score(i, courses.get(i % courses.size())));
+        }
+        return scores;
+    }
+}
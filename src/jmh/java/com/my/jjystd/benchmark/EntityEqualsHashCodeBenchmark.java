@@ -0,0 +1,67 @@
+package com.my.jjystd.benchmark;
+
+import com.my.jjystd.entity.Course;
+import com.my.jjystd.entity.Score;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 实体equals/hashCode开销
+ * 实体使用Lombok @Data生成的equals/hashCode，会沿关联对象（成绩→课程→教师）逐字段递归计算，
+ * 放入HashSet或作为Map键时每次都要遍历整棵对象图
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EntityEqualsHashCodeBenchmark {
+
+    private Score score;
+    private Score sameScore;
+    private Course course;
+    private List<Score> scores;
+
+    @Setup
+    public void setUp() {
+        score = BenchmarkData.score(1, BenchmarkData.course(1, BenchmarkData.teacher(1)));
+        // 内容相同但对象不同，equals无法在引用比较处提前返回
+        sameScore = BenchmarkData.score(1, BenchmarkData.course(1, BenchmarkData.teacher(1)));
+        course = score.getCourse();
+        scores = BenchmarkData.scores(100);
+    }
+
+    @Benchmark
+    public int scoreHashCode() {
+        return score.hashCode();
+    }
+
+    @Benchmark
+    public boolean scoreEquals() {
+        return score.equals(sameScore);
+    }
+
+    @Benchmark
+    public int courseHashCode() {
+        return course.hashCode();
+    }
+
+    @Benchmark
+    public Set<Score> scoreHashSet() {
+        return new HashSet<>(scores);
+    }
+}
@@ -0,0 +1,81 @@
+package com.my.jjystd.benchmark;
+
+import com.my.jjystd.controller.dto.LoginResponse;
+import com.my.jjystd.entity.Student;
+import com.my.jjystd.entity.Teacher;
+import com.my.jjystd.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 登录响应组装开销
+ * 覆盖学生、教师登录成功后由用户与档案实体转换为LoginResponse的过程
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LoginResponseMappingBenchmark {
+
+    private User studentUser;
+    private Student student;
+    private User teacherUser;
+    private Teacher teacher;
+
+    @Setup
+    public void setUp() {
+        studentUser = user(1, "student");
+        student = new Student();
+        student.setId(1);
+        student.setUserId(1);
+        student.setName("张三");
+        student.setGender("男");
+        student.setAge(20);
+        student.setStudentNo("2023000001");
+        student.setClassName("计算机1班");
+        student.setPhone("13800000001");
+        student.setEmail("zhangsan@example.com");
+        student.setDepartment("信息学院");
+        student.setMajor("计算机科学与技术");
+        student.setCreateTime(new Date(1_700_000_000_000L));
+
+        teacherUser = user(2, "teacher");
+        teacher = BenchmarkData.teacher(1);
+        teacher.setUserId(2);
+    }
+
+    private static User user(int id, String role) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername("user" + id);
+        user.setRole(role);
+        user.setPhone("1380000000" + id);
+        user.setEmail("user" + id + "@example.com");
+        user.setActive(true);
+        user.setCreateTime(new Date(1_700_000_000_000L));
+        return user;
+    }
+
+    @Benchmark
+    public LoginResponse fromUserAndStudent() {
+        return LoginResponse.fromUserAndStudent(studentUser, student);
+    }
+
+    @Benchmark
+    public LoginResponse fromUserAndTeacher() {
+        return LoginResponse.fromUserAndTeacher(teacherUser, teacher);
+    }
+}
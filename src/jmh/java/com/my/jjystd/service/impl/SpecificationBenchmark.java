@@ -0,0 +1,93 @@
+package com.my.jjystd.service.impl;
+
+import com.my.jjystd.controller.dto.CourseQueryDTO;
+import com.my.jjystd.controller.dto.StudentQueryDTO;
+import com.my.jjystd.entity.Course;
+import com.my.jjystd.entity.Student;
+import com.my.jjystd.entity.Teacher;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 学生、课程动态查询条件的构建开销
+ * 每次调用新建CriteriaQuery并执行Specification.toPredicate，与一次请求中的处理一致；
+ * Hibernate只构建元模型，不连接数据库
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SpecificationBenchmark {
+
+    private SessionFactory sessionFactory;
+    private CriteriaBuilder criteriaBuilder;
+    private StudentQueryDTO studentQuery;
+    private CourseQueryDTO courseQuery;
+
+    @Setup
+    public void setUp() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(Student.class)
+                .addAnnotatedClass(Teacher.class)
+                .addAnnotatedClass(Course.class)
+                .setProperty("hibernate.dialect", "org.hibernate.dialect.MySQLDialect")
+                .setProperty("hibernate.boot.allow_jdbc_metadata_access", "false")
+                .setProperty("hibernate.cache.use_second_level_cache", "false")
+                .buildSessionFactory();
+        criteriaBuilder = sessionFactory.getCriteriaBuilder();
+
+        studentQuery = new StudentQueryDTO();
+        studentQuery.setName("张");
+        studentQuery.setStudentNo("2023");
+        studentQuery.setGender("男");
+        studentQuery.setClassName("计算机1班");
+        studentQuery.setDepartment("信息学院");
+        studentQuery.setMajor("计算机科学与技术");
+        studentQuery.setPhone("138");
+        studentQuery.setEmail("@example.com");
+
+        courseQuery = new CourseQueryDTO();
+        courseQuery.setName("数据");
+        courseQuery.setCourseCode("CS");
+        courseQuery.setTeacherName("王");
+        courseQuery.setStatus(1);
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public Predicate studentAllFields() {
+        CriteriaQuery<Student> query = criteriaBuilder.createQuery(Student.class);
+        Root<Student> root = query.from(Student.class);
+        return StudentServiceImpl.buildSpecification(studentQuery).toPredicate(root, query, criteriaBuilder);
+    }
+
+    @Benchmark
+    public Predicate courseWithTeacherJoin() {
+        CriteriaQuery<Course> query = criteriaBuilder.createQuery(Course.class);
+        Root<Course> root = query.from(Course.class);
+        return CourseServiceImpl.buildSpecification(courseQuery).toPredicate(root, query, criteriaBuilder);
+    }
+}
@@ -0,0 +1,15 @@
+package com.my.jjystd.common;
+
+/**
+ * 请求参数不合法异常，由全局异常处理转换为400结果
+ */
+public class BadRequestException extends RuntimeException {
+
+    public BadRequestException(String message) {
+        super(message);
+    }
+
+    public BadRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
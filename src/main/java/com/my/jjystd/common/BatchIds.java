@@ -0,0 +1,65 @@
+package com.my.jjystd.common;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * 按ID批量查询的参数校验与结果排序
+ */
+public final class BatchIds {
+
+    /**
+     * 单次批量查询的ID个数上限
+     */
+    public static final int MAX_SIZE = 200;
+
+    private BatchIds() {
+    }
+
+    /**
+     * 校验ID列表并去重，用于一次IN查询
+     * @param ids 请求的ID列表
+     * @return 去重后的ID
+     */
+    public static Set<Integer> distinct(List<Integer> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new BadRequestException("ids不能为空");
+        }
+        if (ids.size() > MAX_SIZE) {
+            throw new BadRequestException("ids个数不能超过" + MAX_SIZE);
+        }
+        Set<Integer> distinct = new LinkedHashSet<>(ids.size() * 2);
+        for (Integer id : ids) {
+            if (id == null) {
+                throw new BadRequestException("ids包含空值");
+            }
+            distinct.add(id);
+        }
+        return distinct;
+    }
+
+    /**
+     * 按请求顺序排列查询结果，不存在的ID对应位置为null，重复的ID按出现次数重复返回
+     * @param ids 请求的ID列表
+     * @param found 查询到的实体
+     * @param idGetter 实体ID
+     * @return 与请求ID一一对应的结果
+     */
+    public static <T> List<T> inRequestOrder(List<Integer> ids, Collection<T> found, Function<T, Integer> idGetter) {
+        Map<Integer, T> byId = new HashMap<>(found.size() * 2);
+        for (T entity : found) {
+            byId.put(idGetter.apply(entity), entity);
+        }
+        List<T> result = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            result.add(byId.get(id));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,40 @@
+package com.my.jjystd.common;
+
+/**
+ * Hibernate二级缓存区域名称，与ehcache.xml中的缓存别名一致
+ */
+public final class CacheRegions {
+
+    /**
+     * 课程实体
+     */
+    public static final String COURSE = "course";
+
+    /**
+     * 教师实体
+     */
+    public static final String TEACHER = "teacher";
+
+    /**
+     * 按课程代码查询课程
+     */
+    public static final String COURSE_BY_CODE = "course-by-code";
+
+    /**
+     * 按教师编号查询教师
+     */
+    public static final String TEACHER_BY_NO = "teacher-by-no";
+
+    /**
+     * 全部课程列表
+     */
+    public static final String COURSE_LIST = "course-list";
+
+    /**
+     * 全部教师列表
+     */
+    public static final String TEACHER_LIST = "teacher-list";
+
+    private CacheRegions() {
+    }
+}
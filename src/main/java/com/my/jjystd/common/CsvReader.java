@@ -0,0 +1,91 @@
+package com.my.jjystd.common;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 简单CSV解析，支持双引号包裹字段及字段内的逗号、换行和转义引号
+ */
+public final class CsvReader {
+
+    private CsvReader() {
+    }
+
+    /**
+     * 解析CSV文本，首行为表头
+     * @param text CSV文本
+     * @return 每行按表头（小写）映射的字段值，不含表头行
+     */
+    public static List<Map<String, String>> readWithHeader(String text) {
+        List<List<String>> records = read(text);
+        if (records.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<String> header = records.get(0);
+        List<Map<String, String>> rows = new ArrayList<>(records.size() - 1);
+        for (int i = 1; i < records.size(); i++) {
+            List<String> record = records.get(i);
+            Map<String, String> row = new HashMap<>();
+            for (int j = 0; j < header.size() && j < record.size(); j++) {
+                row.put(header.get(j).trim().toLowerCase(Locale.ROOT), record.get(j));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    /**
+     * 解析CSV文本，跳过空行
+     * @param text CSV文本
+     * @return 每行的字段列表
+     */
+    public static List<List<String>> read(String text) {
+        List<List<String>> records = new ArrayList<>();
+        List<String> record = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int start = !text.isEmpty() && text.charAt(0) == '\uFEFF' ? 1 : 0;
+        for (int i = start; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                record.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r' && i + 1 < text.length() && text.charAt(i + 1) == '\n') {
+                    i++;
+                }
+                endRecord(records, record, field);
+                record = new ArrayList<>();
+            } else {
+                field.append(c);
+            }
+        }
+        endRecord(records, record, field);
+        return records;
+    }
+
+    private static void endRecord(List<List<String>> records, List<String> record, StringBuilder field) {
+        record.add(field.toString());
+        field.setLength(0);
+        boolean blank = record.size() == 1 && record.get(0).isBlank();
+        if (!blank) {
+            records.add(record);
+        }
+    }
+}
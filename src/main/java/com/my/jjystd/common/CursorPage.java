@@ -0,0 +1,17 @@
+package com.my.jjystd.common;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 游标（键集）分页结果
+ */
+@Data
+public class CursorPage<T> {
+    private List<T> content;        // 当前页数据
+    private Integer size;           // 请求的每页大小
+    private Boolean hasNext;        // 是否还有下一页
+    private String nextCursor;      // 下一页游标，作为after参数传入
+    private Long totalElements;     // 总条数，仅在withTotal=true时返回
+}
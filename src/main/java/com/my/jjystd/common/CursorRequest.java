@@ -0,0 +1,49 @@
+package com.my.jjystd.common;
+
+import lombok.Getter;
+import org.springframework.data.domain.Sort;
+
+/**
+ * 游标（键集）分页请求
+ */
+@Getter
+public class CursorRequest {
+
+    /**
+     * 默认每页大小
+     */
+    public static final int DEFAULT_SIZE = 20;
+
+    /**
+     * 每页大小上限
+     */
+    public static final int MAX_SIZE = 1000;
+
+    private final String after;         // 上一页返回的游标，首页为空
+    private final int size;             // 每页大小
+    private final Sort sort;            // 排序（最多一个字段，id作为次级排序）
+    private final boolean withTotal;    // 是否统计总条数
+
+    private CursorRequest(String after, int size, Sort sort, boolean withTotal) {
+        this.after = after;
+        this.size = size;
+        this.sort = sort;
+        this.withTotal = withTotal;
+    }
+
+    /**
+     * 创建游标分页请求
+     * @param after 游标
+     * @param size 每页大小
+     * @param sort 排序
+     * @param withTotal 是否统计总条数
+     * @return 游标分页请求
+     */
+    public static CursorRequest of(String after, Integer size, Sort sort, boolean withTotal) {
+        int pageSize = size != null ? size : DEFAULT_SIZE;
+        if (pageSize < 1 || pageSize > MAX_SIZE) {
+            throw new BadRequestException("每页大小必须在1到" + MAX_SIZE + "之间");
+        }
+        return new CursorRequest(after, pageSize, sort != null ? sort : Sort.unsorted(), withTotal);
+    }
+}
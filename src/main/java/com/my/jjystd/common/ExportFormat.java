@@ -0,0 +1,48 @@
+package com.my.jjystd.common;
+
+import org.springframework.http.MediaType;
+
+/**
+ * 数据导出格式
+ */
+public enum ExportFormat {
+    /**
+     * 每行一个JSON对象
+     */
+    NDJSON("ndjson", MediaType.parseMediaType("application/x-ndjson;charset=UTF-8")),
+
+    /**
+     * 逗号分隔，带表头
+     */
+    CSV("csv", MediaType.parseMediaType("text/csv;charset=UTF-8"));
+
+    private final String extension;
+    private final MediaType mediaType;
+
+    ExportFormat(String extension, MediaType mediaType) {
+        this.extension = extension;
+        this.mediaType = mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * 根据参数解析导出格式
+     * @param value 格式名称（ndjson/csv）
+     * @return 导出格式
+     */
+    public static ExportFormat of(String value) {
+        for (ExportFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new BadRequestException("不支持的导出格式：" + value);
+    }
+}
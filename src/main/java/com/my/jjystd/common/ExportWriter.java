@@ -0,0 +1,131 @@
+package com.my.jjystd.common;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 逐行写出导出数据，不在内存中累积结果
+ */
+public class ExportWriter<T> implements Consumer<T>, Closeable {
+
+    private final ExportFormat format;
+    private final List<Column<T>> columns;
+    private final ObjectWriter jsonWriter;
+    private final JsonGenerator jsonGenerator;
+    private final Writer csvWriter;
+    private final SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+
+    /**
+     * @param format 导出格式
+     * @param objectMapper JSON序列化
+     * @param out 输出流
+     * @param columns CSV列定义（NDJSON格式时不使用）
+     */
+    public ExportWriter(ExportFormat format, ObjectMapper objectMapper, OutputStream out, List<Column<T>> columns) {
+        this.format = format;
+        this.columns = columns;
+        try {
+            if (format == ExportFormat.NDJSON) {
+                // 每行写完不立即flush，由底层缓冲决定
+                this.jsonWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+                this.jsonGenerator = objectMapper.getFactory().createGenerator(out);
+                this.jsonGenerator.setRootValueSeparator(null);
+                this.csvWriter = null;
+            } else {
+                this.jsonWriter = null;
+                this.jsonGenerator = null;
+                this.csvWriter = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+                // BOM，便于Excel正确识别中文
+                this.csvWriter.write('\uFEFF');
+                writeCsvHeader();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 创建CSV列定义
+     * @param header 列名
+     * @param getter 取值函数
+     * @return 列定义
+     */
+    public static <T> Column<T> column(String header, Function<T, Object> getter) {
+        return new Column<>(header, getter);
+    }
+
+    @Override
+    public void accept(T row) {
+        try {
+            if (format == ExportFormat.NDJSON) {
+                jsonWriter.writeValue(jsonGenerator, row);
+                jsonGenerator.writeRaw('\n');
+            } else {
+                for (int i = 0; i < columns.size(); i++) {
+                    if (i > 0) {
+                        csvWriter.write(',');
+                    }
+                    csvWriter.write(toCsvField(columns.get(i).getter().apply(row)));
+                }
+                csvWriter.write("\r\n");
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (jsonGenerator != null) {
+            jsonGenerator.flush();
+        }
+        if (csvWriter != null) {
+            csvWriter.flush();
+        }
+    }
+
+    private void writeCsvHeader() throws IOException {
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                csvWriter.write(',');
+            }
+            csvWriter.write(toCsvField(columns.get(i).header()));
+        }
+        csvWriter.write("\r\n");
+    }
+
+    private String toCsvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value instanceof Date date ? dateFormat.format(date) : value.toString();
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+
+    /**
+     * CSV列定义
+     * @param header 列名
+     * @param getter 取值函数
+     */
+    public record Column<T>(String header, Function<T, Object> getter) {
+    }
+}
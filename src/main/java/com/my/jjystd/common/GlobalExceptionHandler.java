@@ -0,0 +1,47 @@
+package com.my.jjystd.common;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * 全局异常处理
+ */
+@RestControllerAdvice
+public class GlobalExceptionHandler {
+
+    /**
+     * 请求参数不合法
+     * @param e 异常
+     * @return 参数验证失败结果
+     */
+    @ExceptionHandler(BadRequestException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Result<Void> handleBadRequest(BadRequestException e) {
+        return Result.validateFailed(e.getMessage());
+    }
+
+    /**
+     * 服务繁忙，需稍后重试
+     * @param e 异常
+     * @return 服务繁忙结果
+     */
+    @ExceptionHandler(ServiceBusyException.class)
+    @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+    public Result<Void> handleServiceBusy(ServiceBusyException e) {
+        return Result.tooManyRequests(e.getMessage());
+    }
+
+    /**
+     * 违反唯一约束等数据完整性约束，如重复的(学生, 课程)成绩
+     * @param e 异常
+     * @return 数据冲突结果
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public Result<Void> handleDataIntegrityViolation(DataIntegrityViolationException e) {
+        return Result.conflict("数据与已有记录冲突");
+    }
+}
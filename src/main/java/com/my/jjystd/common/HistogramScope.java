@@ -0,0 +1,45 @@
+package com.my.jjystd.common;
+
+/**
+ * 成绩分布统计范围
+ */
+public enum HistogramScope {
+    /**
+     * 全部成绩
+     */
+    ALL("all"),
+
+    /**
+     * 指定课程
+     */
+    COURSE("course"),
+
+    /**
+     * 指定教师评定的成绩
+     */
+    TEACHER("teacher");
+
+    private final String value;
+
+    HistogramScope(String value) {
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * 根据参数解析统计范围
+     * @param value 范围名称（all/course/teacher）
+     * @return 统计范围
+     */
+    public static HistogramScope of(String value) {
+        for (HistogramScope scope : values()) {
+            if (scope.value.equalsIgnoreCase(value)) {
+                return scope;
+            }
+        }
+        throw new BadRequestException("不支持的统计范围：" + value);
+    }
+}
@@ -80,4 +80,20 @@ public class Result<T> {
     public static <T> Result<T> unauthorized(String message) {
         return new Result<>(401, message, null);
     }
-} 
\ No newline at end of file
+
+    /**
+     * 服务繁忙返回结果
+     * @param message 提示信息
+     */
+    public static <T> Result<T> tooManyRequests(String message) {
+        return new Result<>(429, message, null);
+    }
+
+    /**
+     * 数据冲突返回结果
+     * @param message 提示信息
+     */
+    public static <T> Result<T> conflict(String message) {
+        return new Result<>(409, message, null);
+    }
+}
@@ -0,0 +1,32 @@
+package com.my.jjystd.common;
+
+import java.util.List;
+
+/**
+ * 条件查询结果缓存名称（Spring Cache + Caffeine）
+ */
+public final class SearchCaches {
+
+    /**
+     * 学生条件查询
+     */
+    public static final String STUDENT = "student-search";
+
+    /**
+     * 教师条件查询
+     */
+    public static final String TEACHER = "teacher-search";
+
+    /**
+     * 课程条件查询
+     */
+    public static final String COURSE = "course-search";
+
+    /**
+     * 全部缓存名称
+     */
+    public static final List<String> ALL = List.of(STUDENT, TEACHER, COURSE);
+
+    private SearchCaches() {
+    }
+}
@@ -0,0 +1,15 @@
+package com.my.jjystd.common;
+
+/**
+ * 服务繁忙异常（如工作队列已满），由全局异常处理转换为429结果
+ */
+public class ServiceBusyException extends RuntimeException {
+
+    public ServiceBusyException(String message) {
+        super(message);
+    }
+
+    public ServiceBusyException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
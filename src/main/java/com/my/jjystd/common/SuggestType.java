@@ -0,0 +1,45 @@
+package com.my.jjystd.common;
+
+/**
+ * 输入提示的对象类型
+ */
+public enum SuggestType {
+    /**
+     * 学生，按姓名或学号匹配
+     */
+    STUDENT("student"),
+
+    /**
+     * 教师，按姓名或教师编号匹配
+     */
+    TEACHER("teacher"),
+
+    /**
+     * 课程，按名称或课程代码匹配
+     */
+    COURSE("course");
+
+    private final String value;
+
+    SuggestType(String value) {
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * 根据参数解析对象类型
+     * @param value 类型名称（student/teacher/course）
+     * @return 对象类型
+     */
+    public static SuggestType of(String value) {
+        for (SuggestType type : values()) {
+            if (type.value.equalsIgnoreCase(value)) {
+                return type;
+            }
+        }
+        throw new BadRequestException("不支持的提示类型：" + value);
+    }
+}
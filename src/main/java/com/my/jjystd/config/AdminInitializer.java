@@ -2,6 +2,7 @@ package com.my.jjystd.config;
 
 import com.my.jjystd.entity.User;
 import com.my.jjystd.repository.UserRepository;
+import com.my.jjystd.service.security.PasswordHasher;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
@@ -16,10 +17,12 @@ import java.util.Optional;
 public class AdminInitializer implements CommandLineRunner {
 
     private final UserRepository userRepository;
+    private final PasswordHasher passwordHasher;
 
     @Autowired
-    public AdminInitializer(UserRepository userRepository) {
+    public AdminInitializer(UserRepository userRepository, PasswordHasher passwordHasher) {
         this.userRepository = userRepository;
+        this.passwordHasher = passwordHasher;
     }
 
     @Override
@@ -31,7 +34,7 @@ public class AdminInitializer implements CommandLineRunner {
             // 创建超级管理员账号
             User admin = new User();
             admin.setUsername("admin");
-            admin.setPassword("admin123"); // 初始密码，建议在首次登录后修改
+            admin.setPassword(passwordHasher.hash("admin123")); // 初始密码，建议在首次登录后修改
             admin.setRole("admin");
             admin.setActive(true);
             admin.setCreateTime(new Date());
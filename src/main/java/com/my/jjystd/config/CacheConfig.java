@@ -0,0 +1,36 @@
+package com.my.jjystd.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.my.jjystd.common.SearchCaches;
+import com.my.jjystd.service.cache.SearchKeyGenerator;
+import com.my.jjystd.service.cache.SearchResultCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 条件查询结果缓存配置
+ * 使用Caffeine本地缓存，容量和过期时间由search.cache.spec配置；
+ * 显式声明CacheManager，避免与Hibernate使用的JCache提供者冲突
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    @Bean
+    public CacheManager cacheManager(@Value("${search.cache.spec:maximumSize=500,expireAfterWrite=5m}") String spec) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(Caffeine.from(spec).recordStats());
+        cacheManager.setCacheNames(SearchCaches.ALL);
+        return cacheManager;
+    }
+
+    @Bean
+    public KeyGenerator searchKeyGenerator(SearchResultCache searchResultCache) {
+        return new SearchKeyGenerator(searchResultCache);
+    }
+}
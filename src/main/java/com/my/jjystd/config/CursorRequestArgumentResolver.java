@@ -0,0 +1,39 @@
+package com.my.jjystd.config;
+
+import com.my.jjystd.common.BadRequestException;
+import com.my.jjystd.common.CursorRequest;
+import org.springframework.core.MethodParameter;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.SortHandlerMethodArgumentResolver;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * 解析游标分页参数：after、size、sort、withTotal
+ */
+public class CursorRequestArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private final SortHandlerMethodArgumentResolver sortResolver = new SortHandlerMethodArgumentResolver();
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return CursorRequest.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public CursorRequest resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                         NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        Sort sort = sortResolver.resolveArgument(parameter, mavContainer, webRequest, binderFactory);
+        String sizeParam = webRequest.getParameter("size");
+        Integer size;
+        try {
+            size = sizeParam != null && !sizeParam.isBlank() ? Integer.valueOf(sizeParam.trim()) : null;
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("size参数必须是整数");
+        }
+        boolean withTotal = Boolean.parseBoolean(webRequest.getParameter("withTotal"));
+        return CursorRequest.of(webRequest.getParameter("after"), size, sort, withTotal);
+    }
+}
@@ -0,0 +1,46 @@
+package com.my.jjystd.config;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.http.server.observation.ServerRequestObservationConvention;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * 接口指标配置
+ * 在默认的http.server.requests计时器上增加handler标签（控制器类名#方法名），
+ * 同一路径模板对应多个方法或多个路径映射到同一方法时，都能按控制器方法聚合；
+ * 该计时器输出直方图桶，不再叠加其他标签，请求SQL条数见QueryCountFilter按handler记录的指标
+ */
+@Configuration
+public class ObservationConfig {
+
+    private static final String HANDLER_TAG = "handler";
+
+    @Bean
+    public ServerRequestObservationConvention serverRequestObservationConvention() {
+        return new DefaultServerRequestObservationConvention() {
+            @Override
+            public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+                return super.getLowCardinalityKeyValues(context)
+                        .and(KeyValue.of(HANDLER_TAG, handlerName(context.getCarrier())));
+            }
+        };
+    }
+
+    /**
+     * 请求匹配到的控制器方法，形如StudentController#getStudentById；未匹配（404、静态资源等）时为none
+     */
+    static String handlerName(HttpServletRequest request) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod handlerMethod) {
+            return handlerMethod.getBeanType().getSimpleName() + "#" + handlerMethod.getMethod().getName();
+        }
+        return "none";
+    }
+}
@@ -0,0 +1,84 @@
+package com.my.jjystd.config;
+
+import com.my.jjystd.service.monitor.RequestQueryStats;
+import com.my.jjystd.service.monitor.RequestQueryTracker;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * 请求级SQL语句与实体加载计数
+ * 每个请求结束时把计数写入响应头（响应尚未提交时）、记录到按控制器方法区分的指标中，
+ * 语句总数超过warn-threshold或同一语句形态重复达到repeat-threshold（典型的逐行查询即N+1）时输出警告日志
+ */
+@Component
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENT_COUNT_HEADER = "X-Sql-Statement-Count";
+    public static final String ENTITY_LOAD_COUNT_HEADER = "X-Entity-Load-Count";
+
+    private static final Logger log = LoggerFactory.getLogger(QueryCountFilter.class);
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int warnThreshold;
+    private final int repeatThreshold;
+
+    @Autowired
+    public QueryCountFilter(MeterRegistry meterRegistry,
+                            @Value("${monitor.query-count.enabled:true}") boolean enabled,
+                            @Value("${monitor.query-count.warn-threshold:30}") int warnThreshold,
+                            @Value("${monitor.query-count.repeat-threshold:10}") int repeatThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.warnThreshold = warnThreshold;
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestQueryTracker.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestQueryStats stats = RequestQueryTracker.stop();
+            // 有响应体的接口已在写出前由QueryCountResponseAdvice设置，这里覆盖无响应体或未提交的情况
+            if (!response.isCommitted()) {
+                response.setHeader(STATEMENT_COUNT_HEADER, String.valueOf(stats.getStatements()));
+                response.setHeader(ENTITY_LOAD_COUNT_HEADER, String.valueOf(stats.getEntityLoads()));
+            }
+            record(request, stats);
+        }
+    }
+
+    private void record(HttpServletRequest request, RequestQueryStats stats) {
+        String handler = ObservationConfig.handlerName(request);
+        meterRegistry.summary("http.server.requests.statements", "handler", handler).record(stats.getStatements());
+        meterRegistry.summary("http.server.requests.entity.loads", "handler", handler).record(stats.getEntityLoads());
+
+        Map.Entry<String, Integer> repeated = stats.mostRepeated();
+        if (stats.getStatements() > warnThreshold || (repeated != null && repeated.getValue() >= repeatThreshold)) {
+            log.warn("请求SQL过多：{} {}（{}），语句{}条，实体加载{}次，重复最多的语句执行{}次：{}",
+                    request.getMethod(), request.getRequestURI(), handler,
+                    stats.getStatements(), stats.getEntityLoads(),
+                    repeated == null ? 0 : repeated.getValue(), repeated == null ? "" : repeated.getKey());
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.my.jjystd.config;
+
+import com.my.jjystd.service.monitor.RequestQueryStats;
+import com.my.jjystd.service.monitor.RequestQueryTracker;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * 在响应体写出前设置SQL计数响应头
+ * 响应体写出后响应可能已提交，无法再由QueryCountFilter添加响应头；
+ * 序列化过程中触发的延迟加载不计入响应头，但计入指标和日志
+ */
+@ControllerAdvice
+public class QueryCountResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        RequestQueryStats stats = RequestQueryTracker.current();
+        if (stats != null) {
+            response.getHeaders().set(QueryCountFilter.STATEMENT_COUNT_HEADER, String.valueOf(stats.getStatements()));
+            response.getHeaders().set(QueryCountFilter.ENTITY_LOAD_COUNT_HEADER, String.valueOf(stats.getEntityLoads()));
+        }
+        return body;
+    }
+}
@@ -0,0 +1,38 @@
+package com.my.jjystd.config;
+
+import com.my.jjystd.service.monitor.SlowQueryLog;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * 慢SQL记录配置
+ * 用datasource-proxy包装数据源，每条语句执行后由SlowQueryLog判断是否超过阈值；
+ * 连接池指标通过unwrap取得原始数据源，不受影响
+ */
+@Configuration
+@ConditionalOnProperty(name = "monitor.slow-query.enabled", havingValue = "true", matchIfMissing = true)
+public class SlowQueryDataSourceConfig {
+
+    @Bean
+    public static BeanPostProcessor slowQueryDataSourcePostProcessor(ObjectProvider<SlowQueryLog> slowQueryLog) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(slowQueryLog.getObject())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,105 @@
+package com.my.jjystd.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.my.jjystd.common.Result;
+import com.my.jjystd.service.security.TokenPrincipal;
+import com.my.jjystd.service.security.TokenService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 登录令牌校验过滤器
+ * 携带Authorization: Bearer令牌的请求校验签名、有效期和注销状态，
+ * 通过后将TokenPrincipal放入请求属性；令牌无效返回401。
+ * 未携带令牌的请求在security.token.required为true时同样返回401（登录及接口文档除外），
+ * 默认放行以兼容尚未携带令牌的前端
+ */
+@Component
+public class TokenAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    /**
+     * 无需令牌即可访问的路径前缀
+     */
+    private static final List<String> PUBLIC_PATHS = List.of(
+            "/api/user/login", "/api-docs", "/v3/api-docs", "/swagger-ui",
+            "/actuator/health", "/actuator/prometheus");
+
+    private final TokenService tokenService;
+    private final ObjectMapper objectMapper;
+    private final boolean required;
+
+    @Autowired
+    public TokenAuthenticationFilter(TokenService tokenService, ObjectMapper objectMapper,
+                                     @Value("${security.token.required:false}") boolean required) {
+        this.tokenService = tokenService;
+        this.objectMapper = objectMapper;
+        this.required = required;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (HttpMethod.OPTIONS.matches(request.getMethod())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        String token = resolveToken(request);
+        if (token == null) {
+            if (required && !isPublic(request)) {
+                reject(response, "请先登录");
+                return;
+            }
+            filterChain.doFilter(request, response);
+            return;
+        }
+        Optional<TokenPrincipal> principal = tokenService.verify(token);
+        if (principal.isEmpty()) {
+            reject(response, "登录已失效，请重新登录");
+            return;
+        }
+        request.setAttribute(TokenPrincipal.REQUEST_ATTRIBUTE, principal.get());
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * 从Authorization请求头中读取Bearer令牌
+     * @param request 请求
+     * @return 令牌，未携带时为null
+     */
+    public static String resolveToken(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+            return null;
+        }
+        String token = header.substring(BEARER_PREFIX.length()).trim();
+        return token.isEmpty() ? null : token;
+    }
+
+    private boolean isPublic(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return PUBLIC_PATHS.stream().anyMatch(path::startsWith);
+    }
+
+    private void reject(HttpServletResponse response, String message) throws IOException {
+        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(), Result.unauthorized(message));
+    }
+}
@@ -1,9 +1,17 @@
 package com.my.jjystd.controller;
 
+import com.my.jjystd.common.BatchIds;
+import com.my.jjystd.common.CursorPage;
+import com.my.jjystd.common.CursorRequest;
+import com.my.jjystd.common.ExportFormat;
+import com.my.jjystd.common.ExportWriter;
 import com.my.jjystd.common.Result;
 import com.my.jjystd.controller.dto.CourseQueryDTO;
+import com.my.jjystd.controller.dto.CourseRosterDTO;
+import com.my.jjystd.controller.dto.CourseViewDTO;
 import com.my.jjystd.entity.Course;
 import com.my.jjystd.service.CourseService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -14,7 +22,11 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -23,11 +35,27 @@ import java.util.List;
 @RequestMapping("/api/course")
 public class CourseController {
 
+    /**
+     * CSV导出列
+     */
+    private static final List<ExportWriter.Column<Course>> EXPORT_COLUMNS = List.of(
+            ExportWriter.column("id", Course::getId),
+            ExportWriter.column("courseCode", Course::getCourseCode),
+            ExportWriter.column("name", Course::getName),
+            ExportWriter.column("credit", Course::getCredit),
+            ExportWriter.column("status", Course::getStatus),
+            ExportWriter.column("teacherId", course -> course.getTeacher() != null ? course.getTeacher().getId() : null),
+            ExportWriter.column("teacherName", course -> course.getTeacher() != null ? course.getTeacher().getName() : null),
+            ExportWriter.column("description", Course::getDescription),
+            ExportWriter.column("createTime", Course::getCreateTime));
+
     private final CourseService courseService;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public CourseController(CourseService courseService) {
+    public CourseController(CourseService courseService, ObjectMapper objectMapper) {
         this.courseService = courseService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -51,6 +79,24 @@ public class CourseController {
                 .orElse(Result.notFound());
     }
     
+    /**
+     * 根据ID批量查询课程
+     * @param ids 课程ID列表
+     * @return 与ids顺序一致的课程列表，不存在的ID对应null
+     */
+    @Operation(summary = "根据ID批量查询课程", description = "一次查询返回多个课程，授课教师一并返回，结果与ids顺序一致，不存在的ID对应null，ids最多" + BatchIds.MAX_SIZE + "个")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "查询成功"),
+            @ApiResponse(responseCode = "400", description = "ids为空或超过上限")
+    })
+    @GetMapping("/batch")
+    public Result<List<Course>> getCoursesByIds(
+            @Parameter(description = "课程ID列表，逗号分隔，如1,2,3", required = true)
+            @RequestParam List<Integer> ids) {
+        List<Course> courses = courseService.findCoursesByIds(ids);
+        return Result.success(courses);
+    }
+    
     /**
      * 根据课程名称查询课程
      * @param name 课程名称
@@ -83,6 +129,40 @@ public class CourseController {
         return Result.success(courses);
     }
     
+    /**
+     * 分片根据课程名称查询课程
+     * @param name 课程名称
+     * @param pageable 分页参数
+     * @return 分片结果
+     */
+    @Operation(summary = "分片根据名称搜索课程", description = "分片通过课程名称搜索课程，多取一条判断hasNext，不执行COUNT")
+    @ApiResponse(responseCode = "200", description = "查询成功")
+    @GetMapping("/search/slice")
+    public Result<Slice<Course>> searchSlicedCoursesByName(
+            @Parameter(description = "课程名称", required = true)
+            @RequestParam String name,
+            Pageable pageable) {
+        Slice<Course> courses = courseService.findCourseSliceByName(name, pageable);
+        return Result.success(courses);
+    }
+    
+    /**
+     * 游标分页根据课程名称查询课程
+     * @param name 课程名称
+     * @param cursorRequest 游标分页参数
+     * @return 游标分页课程列表
+     */
+    @Operation(summary = "游标分页根据名称搜索课程", description = "按键集游标分页通过课程名称搜索课程，参数after传入上一页返回的nextCursor，withTotal=true时才统计总数")
+    @ApiResponse(responseCode = "200", description = "查询成功")
+    @GetMapping("/search/cursor")
+    public Result<CursorPage<Course>> searchCursorCoursesByName(
+            @Parameter(description = "课程名称", required = true)
+            @RequestParam String name,
+            CursorRequest cursorRequest) {
+        CursorPage<Course> courses = courseService.findCoursesByName(name, cursorRequest);
+        return Result.success(courses);
+    }
+    
     /**
      * 根据课程代码查询课程
      * @param code 课程代码
@@ -133,6 +213,40 @@ public class CourseController {
         return Result.success(courses);
     }
     
+    /**
+     * 分片根据教师ID查询课程
+     * @param teacherId 教师ID
+     * @param pageable 分页参数
+     * @return 分片结果
+     */
+    @Operation(summary = "分片查询教师的课程", description = "分片获取指定教师教授的课程，多取一条判断hasNext，不执行COUNT")
+    @ApiResponse(responseCode = "200", description = "查询成功")
+    @GetMapping("/teacher/{teacherId}/slice")
+    public Result<Slice<Course>> getSlicedCoursesByTeacherId(
+            @Parameter(description = "教师ID", required = true)
+            @PathVariable Integer teacherId,
+            Pageable pageable) {
+        Slice<Course> courses = courseService.findCourseSliceByTeacherId(teacherId, pageable);
+        return Result.success(courses);
+    }
+    
+    /**
+     * 游标分页根据教师ID查询课程
+     * @param teacherId 教师ID
+     * @param cursorRequest 游标分页参数
+     * @return 游标分页课程列表
+     */
+    @Operation(summary = "游标分页查询教师的课程", description = "按键集游标分页获取指定教师教授的课程，参数after传入上一页返回的nextCursor，withTotal=true时才统计总数")
+    @ApiResponse(responseCode = "200", description = "查询成功")
+    @GetMapping("/teacher/{teacherId}/cursor")
+    public Result<CursorPage<Course>> getCursorCoursesByTeacherId(
+            @Parameter(description = "教师ID", required = true)
+            @PathVariable Integer teacherId,
+            CursorRequest cursorRequest) {
+        CursorPage<Course> courses = courseService.findCoursesByTeacherId(teacherId, cursorRequest);
+        return Result.success(courses);
+    }
+    
     /**
      * 获取所有课程
      * @return 课程列表
@@ -145,6 +259,110 @@ public class CourseController {
         return Result.success(courses);
     }
     
+    /**
+     * 获取所有课程视图
+     * @return 课程视图列表
+     */
+    @Operation(summary = "获取所有课程视图", description = "获取所有课程，教师只返回姓名，单条SQL完成")
+    @ApiResponse(responseCode = "200", description = "查询成功")
+    @GetMapping("/view/list")
+    public Result<List<CourseViewDTO>> getAllCourseViews() {
+        List<CourseViewDTO> courses = courseService.findAllCourseViews();
+        return Result.success(courses);
+    }
+    
+    /**
+     * 分页获取所有课程视图
+     * @param pageable 分页参数
+     * @return 分页课程视图
+     */
+    @Operation(summary = "分页获取所有课程视图", description = "分页获取课程，教师只返回姓名，每页一条内容查询（另加一条总数查询）")
+    @ApiResponse(responseCode = "200", description = "查询成功")
+    @GetMapping("/view/page")
+    public Result<Page<CourseViewDTO>> getPagedCourseViews(Pageable pageable) {
+        Page<CourseViewDTO> courses = courseService.findAllCourseViews(pageable);
+        return Result.success(courses);
+    }
+    
+    /**
+     * 根据教师ID查询课程视图
+     * @param teacherId 教师ID
+     * @return 课程视图列表
+     */
+    @Operation(summary = "查询教师的课程视图", description = "获取指定教师教授的课程，教师只返回姓名，单条SQL完成")
+    @ApiResponse(responseCode = "200", description = "查询成功")
+    @GetMapping("/view/teacher/{teacherId}")
+    public Result<List<CourseViewDTO>> getCourseViewsByTeacherId(
+            @Parameter(description = "教师ID", required = true)
+            @PathVariable Integer teacherId) {
+        List<CourseViewDTO> courses = courseService.findCourseViewsByTeacherId(teacherId);
+        return Result.success(courses);
+    }
+    
+    /**
+     * 分页根据教师ID查询课程视图
+     * @param teacherId 教师ID
+     * @param pageable 分页参数
+     * @return 分页课程视图
+     */
+    @Operation(summary = "分页查询教师的课程视图", description = "分页获取指定教师教授的课程，教师只返回姓名")
+    @ApiResponse(responseCode = "200", description = "查询成功")
+    @GetMapping("/view/teacher/{teacherId}/page")
+    public Result<Page<CourseViewDTO>> getPagedCourseViewsByTeacherId(
+            @Parameter(description = "教师ID", required = true)
+            @PathVariable Integer teacherId,
+            Pageable pageable) {
+        Page<CourseViewDTO> courses = courseService.findCourseViewsByTeacherId(teacherId, pageable);
+        return Result.success(courses);
+    }
+    
+    /**
+     * 分页查询课程花名册
+     * @param id 课程ID
+     * @param pageable 分页参数，排序字段支持name、studentNo、className、score、createTime
+     * @return 分页花名册
+     */
+    @Operation(summary = "分页查询课程花名册",
+            description = "成绩关联学生一条查询返回学号、姓名、班级和分数，可排序分页；结果按课程缓存，成绩或选课学生变更后失效")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "查询成功"),
+            @ApiResponse(responseCode = "400", description = "不支持的排序字段"),
+            @ApiResponse(responseCode = "404", description = "课程不存在")
+    })
+    @GetMapping("/{id}/roster")
+    public Result<Page<CourseRosterDTO>> getCourseRoster(
+            @Parameter(description = "课程ID", required = true)
+            @PathVariable Integer id,
+            Pageable pageable) {
+        return courseService.findCourseRoster(id, pageable)
+                .map(Result::success)
+                .orElse(Result.notFound());
+    }
+    
+    /**
+     * 流式导出所有课程
+     * @param format 导出格式（ndjson/csv）
+     * @return 逐行写出的响应体
+     */
+    @Operation(summary = "导出所有课程", description = "以NDJSON或CSV格式流式导出所有课程，数据逐行写出，内存占用与数据量无关")
+    @ApiResponse(responseCode = "200", description = "导出成功")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportCourses(
+            @Parameter(description = "导出格式：ndjson或csv")
+            @RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.of(format);
+        StreamingResponseBody body = out -> {
+            try (ExportWriter<Course> writer = new ExportWriter<>(exportFormat, objectMapper, out, EXPORT_COLUMNS)) {
+                courseService.exportCourses(writer);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=courses." + exportFormat.getExtension())
+                .body(body);
+    }
+    
     /**
      * 分页获取所有课程
      * @param pageable 分页参数
@@ -158,6 +376,32 @@ public class CourseController {
         return Result.success(courses);
     }
     
+    /**
+     * 分片获取所有课程
+     * @param pageable 分页参数
+     * @return 分片结果
+     */
+    @Operation(summary = "分片获取所有课程", description = "分片获取课程列表，多取一条判断hasNext，不执行COUNT，适用于加载更多")
+    @ApiResponse(responseCode = "200", description = "查询成功")
+    @GetMapping("/slice")
+    public Result<Slice<Course>> getSlicedCourses(Pageable pageable) {
+        Slice<Course> courses = courseService.findCourseSlice(pageable);
+        return Result.success(courses);
+    }
+    
+    /**
+     * 游标分页获取所有课程
+     * @param cursorRequest 游标分页参数
+     * @return 游标分页课程列表
+     */
+    @Operation(summary = "游标分页获取所有课程", description = "按键集游标分页获取课程列表，参数after传入上一页返回的nextCursor，withTotal=true时才统计总数")
+    @ApiResponse(responseCode = "200", description = "查询成功")
+    @GetMapping("/cursor")
+    public Result<CursorPage<Course>> getCursorCourses(CursorRequest cursorRequest) {
+        CursorPage<Course> courses = courseService.findAllCourses(cursorRequest);
+        return Result.success(courses);
+    }
+    
     /**
      * 动态模糊查询课程信息
      * @param queryDTO 查询条件
@@ -190,6 +434,40 @@ public class CourseController {
         return Result.success(courses);
     }
     
+    /**
+     * 分片动态模糊查询课程信息
+     * @param queryDTO 查询条件
+     * @param pageable 分页参数
+     * @return 分片结果
+     */
+    @Operation(summary = "分片动态模糊查询课程", description = "根据多个条件分片查询课程信息，按教师姓名过滤时省去同样需要连接教师表的COUNT，多取一条判断hasNext")
+    @ApiResponse(responseCode = "200", description = "查询成功")
+    @PostMapping("/search/slice")
+    public Result<Slice<Course>> searchSlicedCourses(
+            @Parameter(description = "课程查询条件", required = true)
+            @RequestBody CourseQueryDTO queryDTO,
+            Pageable pageable) {
+        Slice<Course> courses = courseService.findCourseSliceByCondition(queryDTO, pageable);
+        return Result.success(courses);
+    }
+    
+    /**
+     * 游标分页动态模糊查询课程信息
+     * @param queryDTO 查询条件
+     * @param cursorRequest 游标分页参数
+     * @return 游标分页查询结果
+     */
+    @Operation(summary = "游标分页动态模糊查询课程", description = "根据多个条件按键集游标分页查询课程信息，参数after传入上一页返回的nextCursor，withTotal=true时才统计总数")
+    @ApiResponse(responseCode = "200", description = "查询成功")
+    @PostMapping("/search/cursor")
+    public Result<CursorPage<Course>> searchCursorCourses(
+            @Parameter(description = "课程查询条件", required = true)
+            @RequestBody CourseQueryDTO queryDTO,
+            CursorRequest cursorRequest) {
+        CursorPage<Course> courses = courseService.findCoursesByCondition(queryDTO, cursorRequest);
+        return Result.success(courses);
+    }
+    
     /**
      * 新增课程
      * @param course 课程信息
@@ -0,0 +1,54 @@
+package com.my.jjystd.controller;
+
+import com.my.jjystd.common.Result;
+import com.my.jjystd.controller.dto.CacheStatsDTO;
+import com.my.jjystd.controller.dto.SlowQueryReportDTO;
+import com.my.jjystd.service.MonitorService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+@Tag(name = "系统监控", description = "缓存、慢SQL等运行状态查询API")
+@RestController
+@RequestMapping("/api/monitor")
+public class MonitorController {
+
+    /**
+     * 慢SQL单次返回条数上限
+     */
+    private static final int MAX_SLOW_QUERY_LIMIT = 200;
+
+    private final MonitorService monitorService;
+
+    @Autowired
+    public MonitorController(MonitorService monitorService) {
+        this.monitorService = monitorService;
+    }
+
+    /**
+     * 获取二级缓存命中统计
+     * @return 缓存统计
+     */
+    @Operation(summary = "查询缓存统计", description = "获取课程、教师二级缓存、查询缓存及学生/教师/课程条件查询结果缓存的命中、未命中、写入次数和命中率")
+    @ApiResponse(responseCode = "200", description = "查询成功")
+    @GetMapping("/cache")
+    public Result<CacheStatsDTO> getCacheStats() {
+        return Result.success(monitorService.getCacheStats());
+    }
+
+    /**
+     * 获取慢SQL记录
+     * @param limit 返回条数上限
+     * @return 慢SQL统计
+     */
+    @Operation(summary = "查询慢SQL", description = "获取最近记录的慢SQL中耗时最长的若干条，包含语句、绑定参数形态、耗时和执行线程")
+    @ApiResponse(responseCode = "200", description = "查询成功")
+    @GetMapping("/slow-queries")
+    public Result<SlowQueryReportDTO> getSlowQueries(
+            @Parameter(description = "返回条数上限") @RequestParam(defaultValue = "20") int limit) {
+        return Result.success(monitorService.getSlowQueries(Math.max(1, Math.min(limit, MAX_SLOW_QUERY_LIMIT))));
+    }
+}
@@ -1,8 +1,20 @@
 package com.my.jjystd.controller;
 
+import com.my.jjystd.common.CursorPage;
+import com.my.jjystd.common.CursorRequest;
+import com.my.jjystd.common.ExportFormat;
+import com.my.jjystd.common.ExportWriter;
+import com.my.jjystd.common.HistogramScope;
 import com.my.jjystd.common.Result;
+import com.my.jjystd.controller.dto.CourseRankDTO;
+import com.my.jjystd.controller.dto.CourseScoreStatsDTO;
+import com.my.jjystd.controller.dto.ImportReportDTO;
+import com.my.jjystd.controller.dto.ScoreHistogramDTO;
+import com.my.jjystd.controller.dto.ScoreImportRowDTO;
+import com.my.jjystd.controller.dto.ScoreViewDTO;
 import com.my.jjystd.entity.Score;
 import com.my.jjystd.service.ScoreService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -13,7 +25,12 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -22,11 +39,27 @@ import java.util.List;
 @RequestMapping("/api/score")
 public class ScoreController {
 
+    /**
+     * CSV导出列
+     */
+    private static final List<ExportWriter.Column<Score>> EXPORT_COLUMNS = List.of(
+            ExportWriter.column("id", Score::getId),
+            ExportWriter.column("studentId", Score::getStudentId),
+            ExportWriter.column("courseId", score -> score.getCourse() != null ? score.getCourse().getId() : null),
+            ExportWriter.column("courseName", score -> score.getCourse() != null ? score.getCourse().getName() : null),
+            ExportWriter.column("teacherId", score -> score.getTeacher() != null ? score.getTeacher().getId() : null),
+            ExportWriter.column("teacherName", score -> score.getTeacher() != null ? score.getTeacher().getName() : null),
+            ExportWriter.column("score", Score::getScore),
+            ExportWriter.column("remark", Score::getRemark),
+            ExportWriter.column("createTime", Score::getCreateTime));
+
     private final ScoreService scoreService;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public ScoreController(ScoreService scoreService) {
+    public ScoreController(ScoreService scoreService, ObjectMapper objectMapper) {
         this.scoreService = scoreService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -82,6 +115,62 @@ public class ScoreController {
         return Result.success(scores);
     }
     
+    /**
+     * 分片根据学生ID查询成绩
+     * @param studentId 学生ID
+     * @param pageable 分页参数
+     * @return 分片结果
+     */
+    @Operation(summary = "分片查询学生的成绩", description = "分片获取指定学生的成绩，多取一条判断hasNext，不执行COUNT")
+    @ApiResponse(responseCode = "200", description = "查询成功")
+    @GetMapping("/student/{studentId}/slice")
+    public Result<Slice<Score>> getSlicedScoresByStudentId(
+            @Parameter(description = "学生ID", required = true)
+            @PathVariable Integer studentId,
+            Pageable pageable) {
+        Slice<Score> scores = scoreService.findScoreSliceByStudentId(studentId, pageable);
+        return Result.success(scores);
+    }
+    
+    /**
+     * 游标分页根据学生ID查询成绩
+     * @param studentId 学生ID
+     * @param cursorRequest 游标分页参数
+     * @return 游标分页成绩列表
+     */
+    @Operation(summary = "游标分页查询学生的所有成绩", description = "按键集游标分页获取指定学生的课程成绩，参数after传入上一页返回的nextCursor，withTotal=true时才统计总数")
+    @ApiResponse(responseCode = "200", description = "查询成功")
+    @GetMapping("/student/{studentId}/cursor")
+    public Result<CursorPage<Score>> getCursorScoresByStudentId(
+            @Parameter(description = "学生ID", required = true)
+            @PathVariable Integer studentId,
+            CursorRequest cursorRequest) {
+        CursorPage<Score> scores = scoreService.findScoresByStudentId(studentId, cursorRequest);
+        return Result.success(scores);
+    }
+    
+    /**
+     * 查询学生在课程中的排名
+     * @param studentId 学生ID
+     * @param courseId 课程ID
+     * @return 排名及百分位
+     */
+    @Operation(summary = "查询学生课程排名", description = "获取学生在指定课程中的排名（同分并列）、参与人数和百分位，由内存排名索引直接计算")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "查询成功"),
+            @ApiResponse(responseCode = "404", description = "学生在该课程没有成绩")
+    })
+    @GetMapping("/student/{studentId}/course/{courseId}/rank")
+    public Result<CourseRankDTO> getCourseRank(
+            @Parameter(description = "学生ID", required = true)
+            @PathVariable Integer studentId,
+            @Parameter(description = "课程ID", required = true)
+            @PathVariable Integer courseId) {
+        return scoreService.getCourseRank(studentId, courseId)
+                .map(Result::success)
+                .orElse(Result.notFound());
+    }
+    
     /**
      * 根据课程ID查询成绩
      * @param courseId 课程ID
@@ -114,6 +203,55 @@ public class ScoreController {
         return Result.success(scores);
     }
     
+    /**
+     * 分片根据课程ID查询成绩
+     * @param courseId 课程ID
+     * @param pageable 分页参数
+     * @return 分片结果
+     */
+    @Operation(summary = "分片查询课程的成绩", description = "分片获取指定课程的成绩，多取一条判断hasNext，不执行COUNT")
+    @ApiResponse(responseCode = "200", description = "查询成功")
+    @GetMapping("/course/{courseId}/slice")
+    public Result<Slice<Score>> getSlicedScoresByCourseId(
+            @Parameter(description = "课程ID", required = true)
+            @PathVariable Integer courseId,
+            Pageable pageable) {
+        Slice<Score> scores = scoreService.findScoreSliceByCourseId(courseId, pageable);
+        return Result.success(scores);
+    }
+    
+    /**
+     * 游标分页根据课程ID查询成绩
+     * @param courseId 课程ID
+     * @param cursorRequest 游标分页参数
+     * @return 游标分页成绩列表
+     */
+    @Operation(summary = "游标分页查询课程的所有成绩", description = "按键集游标分页获取指定课程的学生成绩，参数after传入上一页返回的nextCursor，withTotal=true时才统计总数")
+    @ApiResponse(responseCode = "200", description = "查询成功")
+    @GetMapping("/course/{courseId}/cursor")
+    public Result<CursorPage<Score>> getCursorScoresByCourseId(
+            @Parameter(description = "课程ID", required = true)
+            @PathVariable Integer courseId,
+            CursorRequest cursorRequest) {
+        CursorPage<Score> scores = scoreService.findScoresByCourseId(courseId, cursorRequest);
+        return Result.success(scores);
+    }
+    
+    /**
+     * 获取课程成绩统计
+     * @param courseId 课程ID
+     * @return 统计结果
+     */
+    @Operation(summary = "查询课程成绩统计", description = "获取指定课程的成绩条数、平均分、最值、标准差和及格率")
+    @ApiResponse(responseCode = "200", description = "查询成功")
+    @GetMapping("/course/{courseId}/stats")
+    public Result<CourseScoreStatsDTO> getCourseScoreStats(
+            @Parameter(description = "课程ID", required = true)
+            @PathVariable Integer courseId) {
+        CourseScoreStatsDTO stats = scoreService.getCourseScoreStats(courseId);
+        return Result.success(stats);
+    }
+    
     /**
      * 根据教师ID查询成绩
      * @param teacherId 教师ID
@@ -146,6 +284,64 @@ public class ScoreController {
         return Result.success(scores);
     }
     
+    /**
+     * 分片根据教师ID查询成绩
+     * @param teacherId 教师ID
+     * @param pageable 分页参数
+     * @return 分片结果
+     */
+    @Operation(summary = "分片查询教师评定的成绩", description = "分片获取指定教师评定的成绩，多取一条判断hasNext，不执行COUNT")
+    @ApiResponse(responseCode = "200", description = "查询成功")
+    @GetMapping("/teacher/{teacherId}/slice")
+    public Result<Slice<Score>> getSlicedScoresByTeacherId(
+            @Parameter(description = "教师ID", required = true)
+            @PathVariable Integer teacherId,
+            Pageable pageable) {
+        Slice<Score> scores = scoreService.findScoreSliceByTeacherId(teacherId, pageable);
+        return Result.success(scores);
+    }
+    
+    /**
+     * 游标分页根据教师ID查询成绩
+     * @param teacherId 教师ID
+     * @param cursorRequest 游标分页参数
+     * @return 游标分页成绩列表
+     */
+    @Operation(summary = "游标分页查询教师的所有课程成绩", description = "按键集游标分页获取指定教师教授课程的学生成绩，参数after传入上一页返回的nextCursor，withTotal=true时才统计总数")
+    @ApiResponse(responseCode = "200", description = "查询成功")
+    @GetMapping("/teacher/{teacherId}/cursor")
+    public Result<CursorPage<Score>> getCursorScoresByTeacherId(
+            @Parameter(description = "教师ID", required = true)
+            @PathVariable Integer teacherId,
+            CursorRequest cursorRequest) {
+        CursorPage<Score> scores = scoreService.findScoresByTeacherId(teacherId, cursorRequest);
+        return Result.success(scores);
+    }
+    
+    /**
+     * 获取成绩分布直方图
+     * @param scope 统计范围（all/course/teacher）
+     * @param id 课程或教师ID
+     * @param width 分段宽度
+     * @return 直方图
+     */
+    @Operation(summary = "查询成绩分布", description = "按统计范围获取成绩分布直方图，不及格合并为一段，及格以上按分段宽度划分，结果缓存至该范围内成绩变更")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "查询成功"),
+            @ApiResponse(responseCode = "400", description = "统计范围或分段宽度不合法")
+    })
+    @GetMapping("/histogram")
+    public Result<ScoreHistogramDTO> getScoreHistogram(
+            @Parameter(description = "统计范围：all、course或teacher")
+            @RequestParam(defaultValue = "all") String scope,
+            @Parameter(description = "课程或教师ID，范围为course/teacher时必填")
+            @RequestParam(required = false) Integer id,
+            @Parameter(description = "分段宽度（1~100）")
+            @RequestParam(defaultValue = "10") Integer width) {
+        ScoreHistogramDTO histogram = scoreService.getScoreHistogram(HistogramScope.of(scope), id, width);
+        return Result.success(histogram);
+    }
+    
     /**
      * 获取所有成绩列表
      * @return 成绩列表
@@ -158,6 +354,151 @@ public class ScoreController {
         return Result.success(scores);
     }
     
+    /**
+     * 获取所有成绩视图
+     * @return 成绩视图列表
+     */
+    @Operation(summary = "获取所有成绩视图", description = "获取所有成绩，课程和教师只返回名称等展示字段，单条SQL完成")
+    @ApiResponse(responseCode = "200", description = "查询成功")
+    @GetMapping("/view/list")
+    public Result<List<ScoreViewDTO>> getAllScoreViews() {
+        List<ScoreViewDTO> scores = scoreService.findAllScoreViews();
+        return Result.success(scores);
+    }
+    
+    /**
+     * 分页获取所有成绩视图
+     * @param pageable 分页参数
+     * @return 分页成绩视图
+     */
+    @Operation(summary = "分页获取所有成绩视图", description = "分页获取成绩，课程和教师只返回名称等展示字段，每页一条内容查询（另加一条总数查询）")
+    @ApiResponse(responseCode = "200", description = "查询成功")
+    @GetMapping("/view/page")
+    public Result<Page<ScoreViewDTO>> getPagedScoreViews(Pageable pageable) {
+        Page<ScoreViewDTO> scores = scoreService.findAllScoreViews(pageable);
+        return Result.success(scores);
+    }
+    
+    /**
+     * 根据学生ID查询成绩视图
+     * @param studentId 学生ID
+     * @return 成绩视图列表
+     */
+    @Operation(summary = "查询学生的成绩视图", description = "获取指定学生的成绩，课程和教师只返回名称等展示字段，单条SQL完成")
+    @ApiResponse(responseCode = "200", description = "查询成功")
+    @GetMapping("/view/student/{studentId}")
+    public Result<List<ScoreViewDTO>> getScoreViewsByStudentId(
+            @Parameter(description = "学生ID", required = true)
+            @PathVariable Integer studentId) {
+        List<ScoreViewDTO> scores = scoreService.findScoreViewsByStudentId(studentId);
+        return Result.success(scores);
+    }
+    
+    /**
+     * 分页根据学生ID查询成绩视图
+     * @param studentId 学生ID
+     * @param pageable 分页参数
+     * @return 分页成绩视图
+     */
+    @Operation(summary = "分页查询学生的成绩视图", description = "分页获取指定学生的成绩，课程和教师只返回名称等展示字段")
+    @ApiResponse(responseCode = "200", description = "查询成功")
+    @GetMapping("/view/student/{studentId}/page")
+    public Result<Page<ScoreViewDTO>> getPagedScoreViewsByStudentId(
+            @Parameter(description = "学生ID", required = true)
+            @PathVariable Integer studentId,
+            Pageable pageable) {
+        Page<ScoreViewDTO> scores = scoreService.findScoreViewsByStudentId(studentId, pageable);
+        return Result.success(scores);
+    }
+    
+    /**
+     * 根据课程ID查询成绩视图
+     * @param courseId 课程ID
+     * @return 成绩视图列表
+     */
+    @Operation(summary = "查询课程的成绩视图", description = "获取指定课程的成绩，课程和教师只返回名称等展示字段，单条SQL完成")
+    @ApiResponse(responseCode = "200", description = "查询成功")
+    @GetMapping("/view/course/{courseId}")
+    public Result<List<ScoreViewDTO>> getScoreViewsByCourseId(
+            @Parameter(description = "课程ID", required = true)
+            @PathVariable Integer courseId) {
+        List<ScoreViewDTO> scores = scoreService.findScoreViewsByCourseId(courseId);
+        return Result.success(scores);
+    }
+    
+    /**
+     * 分页根据课程ID查询成绩视图
+     * @param courseId 课程ID
+     * @param pageable 分页参数
+     * @return 分页成绩视图
+     */
+    @Operation(summary = "分页查询课程的成绩视图", description = "分页获取指定课程的成绩，课程和教师只返回名称等展示字段")
+    @ApiResponse(responseCode = "200", description = "查询成功")
+    @GetMapping("/view/course/{courseId}/page")
+    public Result<Page<ScoreViewDTO>> getPagedScoreViewsByCourseId(
+            @Parameter(description = "课程ID", required = true)
+            @PathVariable Integer courseId,
+            Pageable pageable) {
+        Page<ScoreViewDTO> scores = scoreService.findScoreViewsByCourseId(courseId, pageable);
+        return Result.success(scores);
+    }
+    
+    /**
+     * 根据教师ID查询成绩视图
+     * @param teacherId 教师ID
+     * @return 成绩视图列表
+     */
+    @Operation(summary = "查询教师评定的成绩视图", description = "获取指定教师评定的成绩，课程和教师只返回名称等展示字段，单条SQL完成")
+    @ApiResponse(responseCode = "200", description = "查询成功")
+    @GetMapping("/view/teacher/{teacherId}")
+    public Result<List<ScoreViewDTO>> getScoreViewsByTeacherId(
+            @Parameter(description = "教师ID", required = true)
+            @PathVariable Integer teacherId) {
+        List<ScoreViewDTO> scores = scoreService.findScoreViewsByTeacherId(teacherId);
+        return Result.success(scores);
+    }
+    
+    /**
+     * 分页根据教师ID查询成绩视图
+     * @param teacherId 教师ID
+     * @param pageable 分页参数
+     * @return 分页成绩视图
+     */
+    @Operation(summary = "分页查询教师评定的成绩视图", description = "分页获取指定教师评定的成绩，课程和教师只返回名称等展示字段")
+    @ApiResponse(responseCode = "200", description = "查询成功")
+    @GetMapping("/view/teacher/{teacherId}/page")
+    public Result<Page<ScoreViewDTO>> getPagedScoreViewsByTeacherId(
+            @Parameter(description = "教师ID", required = true)
+            @PathVariable Integer teacherId,
+            Pageable pageable) {
+        Page<ScoreViewDTO> scores = scoreService.findScoreViewsByTeacherId(teacherId, pageable);
+        return Result.success(scores);
+    }
+    
+    /**
+     * 流式导出所有成绩
+     * @param format 导出格式（ndjson/csv）
+     * @return 逐行写出的响应体
+     */
+    @Operation(summary = "导出所有成绩", description = "以NDJSON或CSV格式流式导出所有成绩，数据逐行写出，内存占用与数据量无关")
+    @ApiResponse(responseCode = "200", description = "导出成功")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportScores(
+            @Parameter(description = "导出格式：ndjson或csv")
+            @RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.of(format);
+        StreamingResponseBody body = out -> {
+            try (ExportWriter<Score> writer = new ExportWriter<>(exportFormat, objectMapper, out, EXPORT_COLUMNS)) {
+                scoreService.exportScores(writer);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=scores." + exportFormat.getExtension())
+                .body(body);
+    }
+    
     /**
      * 分页获取所有成绩列表
      * @param pageable 分页参数
@@ -171,6 +512,32 @@ public class ScoreController {
         return Result.success(scores);
     }
     
+    /**
+     * 分片获取所有成绩
+     * @param pageable 分页参数
+     * @return 分片结果
+     */
+    @Operation(summary = "分片获取所有成绩", description = "分片获取成绩列表，多取一条判断hasNext，不执行COUNT，适用于加载更多")
+    @ApiResponse(responseCode = "200", description = "查询成功")
+    @GetMapping("/slice")
+    public Result<Slice<Score>> getSlicedScores(Pageable pageable) {
+        Slice<Score> scores = scoreService.findScoreSlice(pageable);
+        return Result.success(scores);
+    }
+    
+    /**
+     * 游标分页获取所有成绩列表
+     * @param cursorRequest 游标分页参数
+     * @return 游标分页成绩列表
+     */
+    @Operation(summary = "游标分页获取所有成绩", description = "按键集游标分页获取成绩列表，深翻页不随页码变慢，参数after传入上一页返回的nextCursor，withTotal=true时才统计总数")
+    @ApiResponse(responseCode = "200", description = "查询成功")
+    @GetMapping("/cursor")
+    public Result<CursorPage<Score>> getCursorScores(CursorRequest cursorRequest) {
+        CursorPage<Score> scores = scoreService.findAllScores(cursorRequest);
+        return Result.success(scores);
+    }
+    
     /**
      * 根据学生ID和课程ID查询成绩
      * @param studentId 学生ID
@@ -225,6 +592,40 @@ public class ScoreController {
         return Result.success(savedScore);
     }
     
+    /**
+     * 批量导入成绩（JSON数组）
+     * @param rows 成绩行
+     * @return 逐行导入结果
+     */
+    @Operation(summary = "批量导入成绩（JSON）", description = "按(学生ID, 课程ID)存在则更新、不存在则新增，同一批次中重复的组合以最后一行为准，返回逐行结果")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "导入完成"),
+            @ApiResponse(responseCode = "400", description = "超过单次导入行数上限")
+    })
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Result<ImportReportDTO> importScores(
+            @Parameter(description = "成绩行列表", required = true)
+            @RequestBody List<ScoreImportRowDTO> rows) {
+        return Result.success(scoreService.importScores(rows));
+    }
+    
+    /**
+     * 批量导入成绩（CSV）
+     * @param csv CSV文本，首行为表头
+     * @return 逐行导入结果
+     */
+    @Operation(summary = "批量导入成绩（CSV）", description = "CSV首行为表头，必需列studentId、courseId、score，可选列teacherId、remark，导出文件可直接导入")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "导入完成"),
+            @ApiResponse(responseCode = "400", description = "缺少必需列或超过单次导入行数上限")
+    })
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public Result<ImportReportDTO> importScoresCsv(
+            @Parameter(description = "CSV文本", required = true)
+            @RequestBody String csv) {
+        return Result.success(scoreService.importScoresCsv(csv));
+    }
+    
     /**
      * 更新成绩信息
      * @param id 成绩ID
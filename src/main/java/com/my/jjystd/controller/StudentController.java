@@ -1,9 +1,21 @@
 package com.my.jjystd.controller;
 
+import com.my.jjystd.common.BadRequestException;
+import com.my.jjystd.common.BatchIds;
+import com.my.jjystd.common.CursorPage;
+import com.my.jjystd.common.CursorRequest;
+import com.my.jjystd.common.ExportFormat;
+import com.my.jjystd.common.ExportWriter;
 import com.my.jjystd.common.Result;
+import com.my.jjystd.controller.dto.ImportRowResultDTO;
+import com.my.jjystd.controller.dto.StudentOnboardRowDTO;
 import com.my.jjystd.controller.dto.StudentQueryDTO;
+import com.my.jjystd.controller.dto.TranscriptDTO;
 import com.my.jjystd.entity.Student;
+import com.my.jjystd.service.OnboardingService;
+import com.my.jjystd.service.ScoreService;
 import com.my.jjystd.service.StudentService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -14,7 +26,12 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -23,11 +40,36 @@ import java.util.List;
 @RequestMapping("/api/student")
 public class StudentController {
 
+    /**
+     * CSV导出列
+     */
+    private static final List<ExportWriter.Column<Student>> EXPORT_COLUMNS = List.of(
+            ExportWriter.column("id", Student::getId),
+            ExportWriter.column("userId", Student::getUserId),
+            ExportWriter.column("studentNo", Student::getStudentNo),
+            ExportWriter.column("name", Student::getName),
+            ExportWriter.column("gender", Student::getGender),
+            ExportWriter.column("age", Student::getAge),
+            ExportWriter.column("className", Student::getClassName),
+            ExportWriter.column("department", Student::getDepartment),
+            ExportWriter.column("major", Student::getMajor),
+            ExportWriter.column("phone", Student::getPhone),
+            ExportWriter.column("email", Student::getEmail),
+            ExportWriter.column("address", Student::getAddress),
+            ExportWriter.column("createTime", Student::getCreateTime));
+
     private final StudentService studentService;
+    private final ScoreService scoreService;
+    private final OnboardingService onboardingService;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public StudentController(StudentService studentService) {
+    public StudentController(StudentService studentService, ScoreService scoreService,
+                             OnboardingService onboardingService, ObjectMapper objectMapper) {
         this.studentService = studentService;
+        this.scoreService = scoreService;
+        this.onboardingService = onboardingService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -51,6 +93,43 @@ public class StudentController {
                 .orElse(Result.notFound());
     }
     
+    /**
+     * 根据ID批量查询学生
+     * @param ids 学生ID列表
+     * @return 与ids顺序一致的学生列表，不存在的ID对应null
+     */
+    @Operation(summary = "根据ID批量查询学生", description = "一次查询返回多个学生，结果与ids顺序一致，不存在的ID对应null，ids最多" + BatchIds.MAX_SIZE + "个")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "查询成功"),
+            @ApiResponse(responseCode = "400", description = "ids为空或超过上限")
+    })
+    @GetMapping("/batch")
+    public Result<List<Student>> getStudentsByIds(
+            @Parameter(description = "学生ID列表，逗号分隔，如1,2,3", required = true)
+            @RequestParam List<Integer> ids) {
+        List<Student> students = studentService.findStudentsByIds(ids);
+        return Result.success(students);
+    }
+    
+    /**
+     * 获取学生成绩单
+     * @param id 学生ID
+     * @return 各课程成绩、学分及学分加权绩点
+     */
+    @Operation(summary = "查询学生成绩单", description = "获取学生各课程的分数、学分以及学分加权平均分和绩点")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "查询成功"),
+            @ApiResponse(responseCode = "404", description = "学生不存在")
+    })
+    @GetMapping("/{id}/transcript")
+    public Result<TranscriptDTO> getTranscript(
+            @Parameter(description = "学生ID", required = true)
+            @PathVariable Integer id) {
+        return scoreService.getTranscript(id)
+                .map(Result::success)
+                .orElse(Result.notFound());
+    }
+    
     /**
      * 获取所有学生列表
      * @return 学生列表
@@ -63,6 +142,30 @@ public class StudentController {
         return Result.success(students);
     }
     
+    /**
+     * 流式导出所有学生
+     * @param format 导出格式（ndjson/csv）
+     * @return 逐行写出的响应体
+     */
+    @Operation(summary = "导出所有学生", description = "以NDJSON或CSV格式流式导出所有学生，数据逐行写出，内存占用与数据量无关")
+    @ApiResponse(responseCode = "200", description = "导出成功")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportStudents(
+            @Parameter(description = "导出格式：ndjson或csv")
+            @RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.of(format);
+        StreamingResponseBody body = out -> {
+            try (ExportWriter<Student> writer = new ExportWriter<>(exportFormat, objectMapper, out, EXPORT_COLUMNS)) {
+                studentService.exportStudents(writer);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=students." + exportFormat.getExtension())
+                .body(body);
+    }
+    
     /**
      * 分页获取所有学生列表
      * @param pageable 分页参数
@@ -76,6 +179,32 @@ public class StudentController {
         return Result.success(students);
     }
     
+    /**
+     * 分片获取所有学生
+     * @param pageable 分页参数
+     * @return 分片结果
+     */
+    @Operation(summary = "分片获取所有学生", description = "分片获取学生列表，多取一条判断hasNext，不执行COUNT，适用于加载更多")
+    @ApiResponse(responseCode = "200", description = "查询成功")
+    @GetMapping("/slice")
+    public Result<Slice<Student>> getSlicedStudents(Pageable pageable) {
+        Slice<Student> students = studentService.findStudentSlice(pageable);
+        return Result.success(students);
+    }
+    
+    /**
+     * 游标分页获取所有学生列表
+     * @param cursorRequest 游标分页参数
+     * @return 游标分页学生列表
+     */
+    @Operation(summary = "游标分页获取所有学生", description = "按键集游标分页获取学生列表，参数after传入上一页返回的nextCursor，withTotal=true时才统计总数")
+    @ApiResponse(responseCode = "200", description = "查询成功")
+    @GetMapping("/cursor")
+    public Result<CursorPage<Student>> getCursorStudents(CursorRequest cursorRequest) {
+        CursorPage<Student> students = studentService.findAllStudents(cursorRequest);
+        return Result.success(students);
+    }
+    
     /**
      * 动态模糊查询学生信息
      * @param queryDTO 查询条件
@@ -108,6 +237,40 @@ public class StudentController {
         return Result.success(students);
     }
     
+    /**
+     * 分片动态模糊查询学生信息
+     * @param queryDTO 查询条件
+     * @param pageable 分页参数
+     * @return 分片结果
+     */
+    @Operation(summary = "分片动态模糊查询学生", description = "根据多个条件分片查询学生信息，多取一条判断hasNext，不执行COUNT，适用于加载更多")
+    @ApiResponse(responseCode = "200", description = "查询成功")
+    @PostMapping("/search/slice")
+    public Result<Slice<Student>> searchSlicedStudents(
+            @Parameter(description = "学生查询条件", required = true)
+            @RequestBody StudentQueryDTO queryDTO,
+            Pageable pageable) {
+        Slice<Student> students = studentService.findStudentSliceByCondition(queryDTO, pageable);
+        return Result.success(students);
+    }
+    
+    /**
+     * 游标分页动态模糊查询学生信息
+     * @param queryDTO 查询条件
+     * @param cursorRequest 游标分页参数
+     * @return 游标分页查询结果
+     */
+    @Operation(summary = "游标分页动态模糊查询学生", description = "根据多个条件按键集游标分页查询学生信息，参数after传入上一页返回的nextCursor，withTotal=true时才统计总数")
+    @ApiResponse(responseCode = "200", description = "查询成功")
+    @PostMapping("/search/cursor")
+    public Result<CursorPage<Student>> searchCursorStudents(
+            @Parameter(description = "学生查询条件", required = true)
+            @RequestBody StudentQueryDTO queryDTO,
+            CursorRequest cursorRequest) {
+        CursorPage<Student> students = studentService.findStudentsByCondition(queryDTO, cursorRequest);
+        return Result.success(students);
+    }
+    
     /**
      * 新增学生信息
      * @param student 学生信息
@@ -123,6 +286,35 @@ public class StudentController {
         return Result.success(savedStudent);
     }
     
+    /**
+     * 批量新增学生及其用户账号
+     * @param rows 学生数据
+     * @return 逐行结果（NDJSON）
+     */
+    @Operation(summary = "批量新增学生", description = "批量新增学生并创建用户账号（学号为用户名，默认密码123456），学号在一次查询中校验唯一，" +
+            "用户和学生分批批量插入，每批500行提交后以NDJSON逐行返回结果（CREATED/FAILED），最多" + OnboardingService.MAX_ROWS + "行")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "处理完成，逐行返回结果"),
+            @ApiResponse(responseCode = "400", description = "行数超过上限")
+    })
+    @PostMapping(value = "/onboard", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> onboardStudents(
+            @Parameter(description = "学生数据", required = true)
+            @RequestBody List<StudentOnboardRowDTO> rows) {
+        if (rows.size() > OnboardingService.MAX_ROWS) {
+            throw new BadRequestException("单次新增不能超过" + OnboardingService.MAX_ROWS + "行");
+        }
+        StreamingResponseBody body = out -> {
+            try (ExportWriter<ImportRowResultDTO> writer =
+                         new ExportWriter<>(ExportFormat.NDJSON, objectMapper, out, List.of())) {
+                onboardingService.onboardStudents(rows, writer);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(ExportFormat.NDJSON.getMediaType())
+                .body(body);
+    }
+    
     /**
      * 更新学生信息
      * @param id 学生ID
@@ -0,0 +1,51 @@
+package com.my.jjystd.controller;
+
+import com.my.jjystd.common.Result;
+import com.my.jjystd.common.SuggestType;
+import com.my.jjystd.controller.dto.SuggestionDTO;
+import com.my.jjystd.service.SuggestService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@Tag(name = "输入提示", description = "学生、教师、课程名称及编号的前缀提示API")
+@RestController
+@RequestMapping("/api/suggest")
+public class SuggestController {
+
+    private final SuggestService suggestService;
+
+    @Autowired
+    public SuggestController(SuggestService suggestService) {
+        this.suggestService = suggestService;
+    }
+
+    /**
+     * 按前缀获取输入提示
+     * @param type 对象类型（student/teacher/course）
+     * @param prefix 名称或编号前缀
+     * @param limit 最多返回条数
+     * @return 提示条目
+     */
+    @Operation(summary = "输入提示", description = "按名称或编号前缀（不区分大小写）匹配学生、教师或课程，由内存前缀索引返回前limit条")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "查询成功"),
+            @ApiResponse(responseCode = "400", description = "类型或返回条数不合法")
+    })
+    @GetMapping
+    public Result<List<SuggestionDTO>> suggest(
+            @Parameter(description = "类型：student、teacher或course", required = true)
+            @RequestParam String type,
+            @Parameter(description = "名称或编号前缀")
+            @RequestParam(defaultValue = "") String prefix,
+            @Parameter(description = "最多返回条数（1~50）")
+            @RequestParam(defaultValue = "10") Integer limit) {
+        return Result.success(suggestService.suggest(SuggestType.of(type), prefix, limit));
+    }
+}
@@ -1,9 +1,19 @@
 package com.my.jjystd.controller;
 
+import com.my.jjystd.common.BadRequestException;
+import com.my.jjystd.common.BatchIds;
+import com.my.jjystd.common.CursorPage;
+import com.my.jjystd.common.CursorRequest;
+import com.my.jjystd.common.ExportFormat;
+import com.my.jjystd.common.ExportWriter;
 import com.my.jjystd.common.Result;
+import com.my.jjystd.controller.dto.ImportRowResultDTO;
+import com.my.jjystd.controller.dto.TeacherOnboardRowDTO;
 import com.my.jjystd.controller.dto.TeacherQueryDTO;
 import com.my.jjystd.entity.Teacher;
+import com.my.jjystd.service.OnboardingService;
 import com.my.jjystd.service.TeacherService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -14,7 +24,11 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -24,10 +38,15 @@ import java.util.List;
 public class TeacherController {
 
     private final TeacherService teacherService;
+    private final OnboardingService onboardingService;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public TeacherController(TeacherService teacherService) {
+    public TeacherController(TeacherService teacherService, OnboardingService onboardingService,
+                             ObjectMapper objectMapper) {
         this.teacherService = teacherService;
+        this.onboardingService = onboardingService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -51,6 +70,24 @@ public class TeacherController {
                 .orElse(Result.notFound());
     }
     
+    /**
+     * 根据ID批量查询教师
+     * @param ids 教师ID列表
+     * @return 与ids顺序一致的教师列表，不存在的ID对应null
+     */
+    @Operation(summary = "根据ID批量查询教师", description = "一次查询返回多个教师，结果与ids顺序一致，不存在的ID对应null，ids最多" + BatchIds.MAX_SIZE + "个")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "查询成功"),
+            @ApiResponse(responseCode = "400", description = "ids为空或超过上限")
+    })
+    @GetMapping("/batch")
+    public Result<List<Teacher>> getTeachersByIds(
+            @Parameter(description = "教师ID列表，逗号分隔，如1,2,3", required = true)
+            @RequestParam List<Integer> ids) {
+        List<Teacher> teachers = teacherService.findTeachersByIds(ids);
+        return Result.success(teachers);
+    }
+    
     /**
      * 获取所有教师列表
      * @return 教师列表
@@ -76,6 +113,32 @@ public class TeacherController {
         return Result.success(teachers);
     }
     
+    /**
+     * 分片获取所有教师
+     * @param pageable 分页参数
+     * @return 分片结果
+     */
+    @Operation(summary = "分片获取所有教师", description = "分片获取教师列表，多取一条判断hasNext，不执行COUNT，适用于加载更多")
+    @ApiResponse(responseCode = "200", description = "查询成功")
+    @GetMapping("/slice")
+    public Result<Slice<Teacher>> getSlicedTeachers(Pageable pageable) {
+        Slice<Teacher> teachers = teacherService.findTeacherSlice(pageable);
+        return Result.success(teachers);
+    }
+    
+    /**
+     * 游标分页获取所有教师列表
+     * @param cursorRequest 游标分页参数
+     * @return 游标分页教师列表
+     */
+    @Operation(summary = "游标分页获取所有教师", description = "按键集游标分页获取教师列表，参数after传入上一页返回的nextCursor，withTotal=true时才统计总数")
+    @ApiResponse(responseCode = "200", description = "查询成功")
+    @GetMapping("/cursor")
+    public Result<CursorPage<Teacher>> getCursorTeachers(CursorRequest cursorRequest) {
+        CursorPage<Teacher> teachers = teacherService.findAllTeachers(cursorRequest);
+        return Result.success(teachers);
+    }
+    
     /**
      * 动态模糊查询教师信息
      * @param queryDTO 查询条件
@@ -108,6 +171,40 @@ public class TeacherController {
         return Result.success(teachers);
     }
     
+    /**
+     * 分片动态模糊查询教师信息
+     * @param queryDTO 查询条件
+     * @param pageable 分页参数
+     * @return 分片结果
+     */
+    @Operation(summary = "分片动态模糊查询教师", description = "根据多个条件分片查询教师信息，多取一条判断hasNext，不执行COUNT，适用于加载更多")
+    @ApiResponse(responseCode = "200", description = "查询成功")
+    @PostMapping("/search/slice")
+    public Result<Slice<Teacher>> searchSlicedTeachers(
+            @Parameter(description = "教师查询条件", required = true)
+            @RequestBody TeacherQueryDTO queryDTO,
+            Pageable pageable) {
+        Slice<Teacher> teachers = teacherService.findTeacherSliceByCondition(queryDTO, pageable);
+        return Result.success(teachers);
+    }
+    
+    /**
+     * 游标分页动态模糊查询教师信息
+     * @param queryDTO 查询条件
+     * @param cursorRequest 游标分页参数
+     * @return 游标分页查询结果
+     */
+    @Operation(summary = "游标分页动态模糊查询教师", description = "根据多个条件按键集游标分页查询教师信息，参数after传入上一页返回的nextCursor，withTotal=true时才统计总数")
+    @ApiResponse(responseCode = "200", description = "查询成功")
+    @PostMapping("/search/cursor")
+    public Result<CursorPage<Teacher>> searchCursorTeachers(
+            @Parameter(description = "教师查询条件", required = true)
+            @RequestBody TeacherQueryDTO queryDTO,
+            CursorRequest cursorRequest) {
+        CursorPage<Teacher> teachers = teacherService.findTeachersByCondition(queryDTO, cursorRequest);
+        return Result.success(teachers);
+    }
+    
     /**
      * 新增教师信息
      * @param teacher 教师信息
@@ -123,6 +220,35 @@ public class TeacherController {
         return Result.success(savedTeacher);
     }
     
+    /**
+     * 批量新增教师及其用户账号
+     * @param rows 教师数据
+     * @return 逐行结果（NDJSON）
+     */
+    @Operation(summary = "批量新增教师", description = "批量新增教师并创建用户账号（教师编号为用户名，默认密码123456），教师编号在一次查询中校验唯一，" +
+            "用户和教师分批批量插入，每批500行提交后以NDJSON逐行返回结果（CREATED/FAILED），最多" + OnboardingService.MAX_ROWS + "行")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "处理完成，逐行返回结果"),
+            @ApiResponse(responseCode = "400", description = "行数超过上限")
+    })
+    @PostMapping(value = "/onboard", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> onboardTeachers(
+            @Parameter(description = "教师数据", required = true)
+            @RequestBody List<TeacherOnboardRowDTO> rows) {
+        if (rows.size() > OnboardingService.MAX_ROWS) {
+            throw new BadRequestException("单次新增不能超过" + OnboardingService.MAX_ROWS + "行");
+        }
+        StreamingResponseBody body = out -> {
+            try (ExportWriter<ImportRowResultDTO> writer =
+                         new ExportWriter<>(ExportFormat.NDJSON, objectMapper, out, List.of())) {
+                onboardingService.onboardTeachers(rows, writer);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(ExportFormat.NDJSON.getMediaType())
+                .body(body);
+    }
+    
     /**
      * 更新教师信息
      * @param id 教师ID
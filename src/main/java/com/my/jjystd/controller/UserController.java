@@ -1,14 +1,15 @@
 package com.my.jjystd.controller;
 
+import com.my.jjystd.common.BatchIds;
+import com.my.jjystd.common.CursorPage;
+import com.my.jjystd.common.CursorRequest;
 import com.my.jjystd.common.Result;
+import com.my.jjystd.config.TokenAuthenticationFilter;
 import com.my.jjystd.controller.dto.LoginRequest;
 import com.my.jjystd.controller.dto.LoginResponse;
-import com.my.jjystd.entity.Student;
-import com.my.jjystd.entity.Teacher;
 import com.my.jjystd.entity.User;
-import com.my.jjystd.service.StudentService;
-import com.my.jjystd.service.TeacherService;
 import com.my.jjystd.service.UserService;
+import com.my.jjystd.service.security.TokenService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -22,7 +23,8 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
-import java.util.Optional;import jakarta.servlet.http.HttpServletRequest;
+import java.util.Objects;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
 
 @Tag(name = "用户管理", description = "用户信息管理API")
@@ -31,14 +33,12 @@ import jakarta.servlet.http.HttpSession;
 public class UserController {
 
     private final UserService userService;
-    private final StudentService studentService;
-    private final TeacherService teacherService;
+    private final TokenService tokenService;
 
     @Autowired
-    public UserController(UserService userService, StudentService studentService, TeacherService teacherService) {
+    public UserController(UserService userService, TokenService tokenService) {
         this.userService = userService;
-        this.studentService = studentService;
-        this.teacherService = teacherService;
+        this.tokenService = tokenService;
     }
 
     /**
@@ -46,7 +46,7 @@ public class UserController {
      * @param loginRequest 登录请求
      * @return 登录结果
      */
-    @Operation(summary = "用户登录", description = "通过用户名/学号/教师编号和密码验证用户身份")
+    @Operation(summary = "用户登录", description = "通过用户名/学号/教师编号和密码验证用户身份，成功后返回签名令牌")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "登录成功"),
             @ApiResponse(responseCode = "401", description = "用户名或密码错误")
@@ -55,88 +55,13 @@ public class UserController {
     public Result<LoginResponse> login(
             @Parameter(description = "登录信息", required = true)
             @RequestBody LoginRequest loginRequest) {
-        
-        // 首先尝试使用用户名和密码登录
-        Optional<User> userOpt = userService.login(loginRequest.getUsername(), loginRequest.getPassword());
-        
-        // 如果登录成功，根据角色进行不同处理
-        if (userOpt.isPresent()) {
-            User user = userOpt.get();
-            LoginResponse loginResponse;
-            
-            // 根据角色获取额外信息
-            switch (user.getRole()) {
-                case "student":
-                    // 查找关联的学生信息
-                    Optional<Student> studentOpt = studentService.findStudentByUserId(user.getId());
-                    loginResponse = studentOpt.isPresent() 
-                        ? LoginResponse.fromUserAndStudent(user, studentOpt.get())
-                        : LoginResponse.fromUser(user);
-                    break;
-                case "teacher":
-                    // 查找关联的教师信息
-                    Optional<Teacher> teacherOpt = teacherService.findTeacherByUserId(user.getId());
-                    loginResponse = teacherOpt.isPresent()
-                        ? LoginResponse.fromUserAndTeacher(user, teacherOpt.get())
-                        : LoginResponse.fromUser(user);
-                    break;
-                case "admin":
-                    // 管理员直接返回用户信息
-                    loginResponse = LoginResponse.fromUser(user);
-                    break;
-                default:
-                    loginResponse = LoginResponse.fromUser(user);
-            }
-            
-            return Result.success(loginResponse, "登录成功");
-        }
-        
-        // 如果用户名登录失败，尝试使用学号登录
-        Optional<Student> studentOpt = studentService.findStudentByStudentNo(loginRequest.getUsername());
-        if (studentOpt.isPresent()) {
-            Student student = studentOpt.get();
-            // 通过学生关联的userId查找用户
-            if (student.getUserId() != null) {
-                userOpt = userService.findUserById(student.getUserId())
-                        .filter(user -> 
-                            // 验证密码是否匹配
-                            user.getPassword().equals(loginRequest.getPassword()) &&
-                            // 验证用户是否激活
-                            user.getActive() != null && user.getActive()
-                        );
-                
-                if (userOpt.isPresent()) {
-                    // 登录成功，返回用户信息和学生信息
-                    LoginResponse loginResponse = LoginResponse.fromUserAndStudent(userOpt.get(), student);
-                    return Result.success(loginResponse, "登录成功");
-                }
-            }
-        }
-        
-        // 如果学号登录失败，尝试使用教师编号登录
-        Optional<Teacher> teacherOpt = teacherService.findTeacherByTeacherNo(loginRequest.getUsername());
-        if (teacherOpt.isPresent()) {
-            Teacher teacher = teacherOpt.get();
-            // 通过教师关联的userId查找用户
-            if (teacher.getUserId() != null) {
-                userOpt = userService.findUserById(teacher.getUserId())
-                        .filter(user -> 
-                            // 验证密码是否匹配
-                            user.getPassword().equals(loginRequest.getPassword()) &&
-                            // 验证用户是否激活
-                            user.getActive() != null && user.getActive()
-                        );
-                
-                if (userOpt.isPresent()) {
-                    // 登录成功，返回用户信息和教师信息
-                    LoginResponse loginResponse = LoginResponse.fromUserAndTeacher(userOpt.get(), teacher);
+        // 用户名、学号、教师编号一次查询匹配，密码正确且已激活即登录成功
+        return userService.loginByIdentifier(loginRequest.getUsername(), loginRequest.getPassword())
+                .map(loginResponse -> {
+                    tokenService.issue(loginResponse);
                     return Result.success(loginResponse, "登录成功");
-                }
-            }
-        }
-        
-        // 所有登录方式都失败
-        return Result.unauthorized("用户名或密码错误");
+                })
+                .orElse(Result.unauthorized("用户名或密码错误"));
     }
     
     /**
@@ -164,6 +89,26 @@ public class UserController {
                 .orElse(Result.notFound());
     }
     
+    /**
+     * 根据ID批量查询用户
+     * @param ids 用户ID列表
+     * @return 与ids顺序一致的用户列表，不存在的ID对应null
+     */
+    @Operation(summary = "根据ID批量查询用户", description = "一次查询返回多个用户（不包含密码），结果与ids顺序一致，不存在的ID对应null，ids最多" + BatchIds.MAX_SIZE + "个")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "查询成功"),
+            @ApiResponse(responseCode = "400", description = "ids为空或超过上限")
+    })
+    @GetMapping("/batch")
+    public Result<List<User>> getUsersByIds(
+            @Parameter(description = "用户ID列表，逗号分隔，如1,2,3", required = true)
+            @RequestParam List<Integer> ids) {
+        List<User> users = userService.findUsersByIds(ids);
+        // 出于安全考虑，返回前清除密码
+        users.stream().filter(Objects::nonNull).forEach(user -> user.setPassword(null));
+        return Result.success(users);
+    }
+    
     /**
      * 根据用户名查询用户
      * @param username 用户名
@@ -216,6 +161,21 @@ public class UserController {
         return Result.success(users);
     }
     
+    /**
+     * 游标分页获取所有用户列表
+     * @param cursorRequest 游标分页参数
+     * @return 游标分页用户列表
+     */
+    @Operation(summary = "游标分页获取所有用户", description = "按键集游标分页获取用户列表（不包含密码），参数after传入上一页返回的nextCursor，withTotal=true时才统计总数")
+    @ApiResponse(responseCode = "200", description = "查询成功")
+    @GetMapping("/cursor")
+    public Result<CursorPage<User>> getCursorUsers(CursorRequest cursorRequest) {
+        CursorPage<User> users = userService.findAllUsers(cursorRequest);
+        // 出于安全考虑，清除密码
+        users.getContent().forEach(user -> user.setPassword(null));
+        return Result.success(users);
+    }
+    
     /**
      * 新增用户
      * @param user 用户信息
@@ -281,10 +241,15 @@ public class UserController {
      * 用户退出登录
      * @return 退出结果
      */
-    @Operation(summary = "退出登录", description = "用户退出系统")
+    @Operation(summary = "退出登录", description = "用户退出系统，请求头携带的令牌将被注销")
     @ApiResponse(responseCode = "200", description = "退出成功")
     @PostMapping("/logout")
     public Result<Void> logout(HttpServletRequest request) {
+        // 注销令牌，各节点同步后均拒绝该令牌
+        String token = TokenAuthenticationFilter.resolveToken(request);
+        if (token != null) {
+            tokenService.revoke(token);
+        }
         // 清除session
         HttpSession session = request.getSession(false);
         if (session != null) {
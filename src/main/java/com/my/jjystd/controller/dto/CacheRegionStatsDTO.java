@@ -0,0 +1,28 @@
+package com.my.jjystd.controller.dto;
+
+import lombok.Data;
+
+/**
+ * 缓存区域命中统计DTO
+ */
+@Data
+public class CacheRegionStatsDTO {
+    private String region;          // 缓存区域名称
+    private Long hitCount;          // 命中次数
+    private Long missCount;         // 未命中次数
+    private Long putCount;          // 写入次数
+    private Double hitRatio;        // 命中率（0~1），尚无访问时为空
+    private Long size;              // 内存中的条目数，未知时为空
+
+    public static CacheRegionStatsDTO of(String region, long hitCount, long missCount, long putCount, Long size) {
+        CacheRegionStatsDTO stats = new CacheRegionStatsDTO();
+        stats.setRegion(region);
+        stats.setHitCount(hitCount);
+        stats.setMissCount(missCount);
+        stats.setPutCount(putCount);
+        long requests = hitCount + missCount;
+        stats.setHitRatio(requests > 0 ? (double) hitCount / requests : null);
+        stats.setSize(size);
+        return stats;
+    }
+}
@@ -0,0 +1,16 @@
+package com.my.jjystd.controller.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 缓存统计DTO
+ */
+@Data
+public class CacheStatsDTO {
+    private CacheRegionStatsDTO entityTotal;        // 实体缓存汇总
+    private CacheRegionStatsDTO queryTotal;         // 查询缓存汇总
+    private List<CacheRegionStatsDTO> regions;      // 各缓存区域
+    private List<CacheRegionStatsDTO> searchCaches; // 条件查询结果缓存
+}
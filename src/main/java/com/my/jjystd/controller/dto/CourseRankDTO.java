@@ -0,0 +1,16 @@
+package com.my.jjystd.controller.dto;
+
+import lombok.Data;
+
+/**
+ * 学生课程排名DTO
+ */
+@Data
+public class CourseRankDTO {
+    private Integer studentId;      // 学生ID
+    private Integer courseId;       // 课程ID
+    private Float score;            // 分数
+    private Integer rank;           // 排名（同分并列，从1开始）
+    private Integer total;          // 参与排名人数
+    private Double percentile;      // 百分位：分数低于该生的人数占比（0~100）
+}
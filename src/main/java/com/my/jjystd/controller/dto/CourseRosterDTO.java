@@ -0,0 +1,24 @@
+package com.my.jjystd.controller.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+/**
+ * 课程花名册DTO，成绩与学生信息由一条关联查询直接构造
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseRosterDTO {
+    private Integer scoreId;        // 成绩ID
+    private Integer studentId;      // 学生ID
+    private String studentNo;       // 学号
+    private String name;            // 学生姓名
+    private String className;       // 班级
+    private Float score;            // 分数
+    private String remark;          // 备注
+    private Date createTime;        // 成绩创建时间
+}
@@ -0,0 +1,17 @@
+package com.my.jjystd.controller.dto;
+
+import lombok.Data;
+
+/**
+ * 课程成绩统计DTO
+ */
+@Data
+public class CourseScoreStatsDTO {
+    private Integer courseId;       // 课程ID
+    private Long count;             // 成绩条数
+    private Double mean;            // 平均分
+    private Float min;              // 最低分
+    private Float max;              // 最高分
+    private Double stdDev;          // 标准差（总体）
+    private Double passRate;        // 及格率（0~1）
+}
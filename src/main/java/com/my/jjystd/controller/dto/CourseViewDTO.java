@@ -0,0 +1,25 @@
+package com.my.jjystd.controller.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+/**
+ * 课程列表视图DTO，教师只取展示所需的字段，由一条查询直接构造
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseViewDTO {
+    private Integer id;             // 课程ID
+    private String name;            // 课程名称
+    private String courseCode;      // 课程代码
+    private String description;     // 课程描述
+    private Float credit;           // 学分
+    private Integer status;         // 状态：1启用，0禁用
+    private Integer teacherId;      // 授课教师ID
+    private String teacherName;     // 授课教师姓名
+    private Date createTime;        // 创建时间
+}
@@ -0,0 +1,14 @@
+package com.my.jjystd.controller.dto;
+
+import lombok.Data;
+
+/**
+ * 成绩分布的单个分段DTO
+ */
+@Data
+public class HistogramBucketDTO {
+    private String label;           // 分段名称，如"60-69"
+    private Float lower;            // 下限（含）
+    private Float upper;            // 上限（最后一段含，其余不含）
+    private Long count;             // 成绩条数
+}
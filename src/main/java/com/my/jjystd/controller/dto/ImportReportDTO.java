@@ -0,0 +1,33 @@
+package com.my.jjystd.controller.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 批量导入报告DTO
+ */
+@Data
+public class ImportReportDTO {
+    private Integer total;                  // 总行数
+    private Integer created;                // 新增条数
+    private Integer updated;                // 更新条数
+    private Integer skipped;                // 跳过条数
+    private Integer failed;                 // 失败条数
+    private List<ImportRowResultDTO> rows;  // 逐行结果
+
+    public static ImportReportDTO of(List<ImportRowResultDTO> rows) {
+        ImportReportDTO report = new ImportReportDTO();
+        report.setTotal(rows.size());
+        report.setCreated(count(rows, ImportRowResultDTO.CREATED));
+        report.setUpdated(count(rows, ImportRowResultDTO.UPDATED));
+        report.setSkipped(count(rows, ImportRowResultDTO.SKIPPED));
+        report.setFailed(count(rows, ImportRowResultDTO.FAILED));
+        report.setRows(rows);
+        return report;
+    }
+
+    private static int count(List<ImportRowResultDTO> rows, String status) {
+        return (int) rows.stream().filter(row -> status.equals(row.getStatus())).count();
+    }
+}
@@ -0,0 +1,41 @@
+package com.my.jjystd.controller.dto;
+
+import lombok.Data;
+
+/**
+ * 批量导入单行处理结果DTO
+ */
+@Data
+public class ImportRowResultDTO {
+    /**
+     * 新增
+     */
+    public static final String CREATED = "CREATED";
+
+    /**
+     * 更新已有记录
+     */
+    public static final String UPDATED = "UPDATED";
+
+    /**
+     * 被同一批次中后面的行覆盖，未写入
+     */
+    public static final String SKIPPED = "SKIPPED";
+
+    /**
+     * 校验失败，未写入
+     */
+    public static final String FAILED = "FAILED";
+
+    private Integer row;            // 行号（从1开始，不含表头）
+    private String status;          // 处理结果
+    private String message;         // 说明
+
+    public static ImportRowResultDTO of(int row, String status, String message) {
+        ImportRowResultDTO result = new ImportRowResultDTO();
+        result.setRow(row);
+        result.setStatus(status);
+        result.setMessage(message);
+        return result;
+    }
+}
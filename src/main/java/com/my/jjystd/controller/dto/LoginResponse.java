@@ -50,6 +50,16 @@ public class LoginResponse {
      */
     private String realName;
     
+    /**
+     * 登录令牌，后续请求通过Authorization: Bearer携带
+     */
+    private String token;
+    
+    /**
+     * 令牌过期时间（毫秒时间戳）
+     */
+    private Long tokenExpiresAt;
+    
     /**
      * 从User实体创建LoginResponse
      * @param user 用户实体
@@ -0,0 +1,17 @@
+package com.my.jjystd.controller.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 成绩分布直方图DTO
+ */
+@Data
+public class ScoreHistogramDTO {
+    private String scope;                       // 统计范围（all/course/teacher）
+    private Integer scopeId;                    // 课程或教师ID，范围为all时为空
+    private Integer width;                      // 分段宽度
+    private Long total;                         // 成绩总条数
+    private List<HistogramBucketDTO> buckets;   // 各分段，不及格合并为一段
+}
@@ -0,0 +1,15 @@
+package com.my.jjystd.controller.dto;
+
+import lombok.Data;
+
+/**
+ * 批量导入成绩的单行数据DTO
+ */
+@Data
+public class ScoreImportRowDTO {
+    private Integer studentId;      // 学生ID
+    private Integer courseId;       // 课程ID
+    private Integer teacherId;      // 评定教师ID
+    private Float score;            // 分数
+    private String remark;          // 备注
+}
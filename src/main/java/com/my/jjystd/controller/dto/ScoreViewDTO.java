@@ -0,0 +1,26 @@
+package com.my.jjystd.controller.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+/**
+ * 成绩列表视图DTO，课程和教师只取展示所需的字段，由一条查询直接构造
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScoreViewDTO {
+    private Integer id;             // 成绩ID
+    private Integer studentId;      // 学生ID
+    private Integer courseId;       // 课程ID
+    private String courseName;      // 课程名称
+    private String courseCode;      // 课程代码
+    private Integer teacherId;      // 评定教师ID
+    private String teacherName;     // 评定教师姓名
+    private Float score;            // 分数
+    private String remark;          // 备注
+    private Date createTime;        // 创建时间
+}
@@ -0,0 +1,19 @@
+package com.my.jjystd.controller.dto;
+
+import lombok.Data;
+
+import java.util.Date;
+
+/**
+ * 慢SQL记录DTO
+ */
+@Data
+public class SlowQueryDTO {
+    private String sql;             // SQL语句，批量执行时为各语句以分号连接
+    private String parameterShape;  // 绑定参数形态（各参数的设置类型，不含参数值）
+    private Integer batchSize;      // 批量执行的参数组数，非批量为null
+    private Long elapsedMillis;     // 耗时（毫秒）
+    private Boolean success;        // 是否执行成功
+    private String thread;          // 执行线程
+    private Date executedAt;        // 完成时间
+}
@@ -0,0 +1,15 @@
+package com.my.jjystd.controller.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 慢SQL统计DTO
+ */
+@Data
+public class SlowQueryReportDTO {
+    private Long thresholdMillis;       // 记录阈值（毫秒）
+    private Long recordedCount;         // 启动以来记录的慢SQL总数
+    private List<SlowQueryDTO> entries; // 缓冲区内耗时最长的记录
+}
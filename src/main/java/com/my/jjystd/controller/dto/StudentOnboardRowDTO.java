@@ -0,0 +1,20 @@
+package com.my.jjystd.controller.dto;
+
+import lombok.Data;
+
+/**
+ * 批量新增学生的单行数据DTO
+ */
+@Data
+public class StudentOnboardRowDTO {
+    private String studentNo;   // 学号（同时作为登录用户名）
+    private String name;        // 姓名
+    private String gender;      // 性别
+    private Integer age;        // 年龄
+    private String className;   // 班级
+    private String department;  // 院系
+    private String major;       // 专业
+    private String phone;       // 电话
+    private String email;       // 邮箱
+    private String address;     // 地址
+}
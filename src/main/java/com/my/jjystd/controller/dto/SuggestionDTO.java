@@ -0,0 +1,17 @@
+package com.my.jjystd.controller.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 输入提示条目DTO
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SuggestionDTO {
+    private Integer id;     // 学生/教师/课程ID
+    private String name;    // 姓名或课程名称
+    private String code;    // 学号、教师编号或课程代码
+}
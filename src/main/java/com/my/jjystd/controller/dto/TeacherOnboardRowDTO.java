@@ -0,0 +1,18 @@
+package com.my.jjystd.controller.dto;
+
+import lombok.Data;
+
+/**
+ * 批量新增教师的单行数据DTO
+ */
+@Data
+public class TeacherOnboardRowDTO {
+    private String teacherNo;   // 教师编号（同时作为登录用户名）
+    private String name;        // 姓名
+    private String gender;      // 性别
+    private Integer age;        // 年龄
+    private String title;       // 职称
+    private String department;  // 院系
+    private String phone;       // 电话
+    private String email;       // 邮箱
+}
@@ -0,0 +1,18 @@
+package com.my.jjystd.controller.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 学生成绩单DTO
+ */
+@Data
+public class TranscriptDTO {
+    private Integer studentId;              // 学生ID
+    private List<TranscriptItemDTO> items;  // 各课程成绩
+    private Double totalCredits;            // 已修总学分
+    private Double earnedCredits;           // 已获得学分（及格课程）
+    private Double weightedAverage;         // 学分加权平均分
+    private Double gpa;                     // 学分加权绩点（4分制）
+}
@@ -0,0 +1,16 @@
+package com.my.jjystd.controller.dto;
+
+import lombok.Data;
+
+/**
+ * 成绩单课程条目DTO
+ */
+@Data
+public class TranscriptItemDTO {
+    private Integer courseId;       // 课程ID
+    private String courseName;      // 课程名称
+    private String courseCode;      // 课程代码
+    private Float credit;           // 学分
+    private Float score;            // 分数
+    private Double gradePoint;      // 绩点
+}
@@ -1,12 +1,17 @@
 package com.my.jjystd.entity;
 
+import com.my.jjystd.common.CacheRegions;
 import lombok.Data;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.Date;
 
 @Data
 @Entity
 @Table(name = "course")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.COURSE)
 public class Course {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
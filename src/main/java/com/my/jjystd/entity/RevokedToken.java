@@ -0,0 +1,31 @@
+package com.my.jjystd.entity;
+
+import lombok.Data;
+import jakarta.persistence.*;
+import java.util.Date;
+
+/**
+ * 已注销的令牌，各节点按创建时间定时拉取新增记录到本地布隆过滤器
+ */
+@Data
+@Entity
+@Table(name = "revoked_token", indexes = {
+        @Index(name = "idx_revoked_token_expires_at", columnList = "expires_at"),
+        @Index(name = "idx_revoked_token_create_time", columnList = "create_time")
+})
+public class RevokedToken {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "token_id", nullable = false, length = 32)
+    private String tokenId; // 令牌ID
+
+    @Column(name = "expires_at", nullable = false)
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date expiresAt; // 令牌过期时间，过期后记录可删除
+
+    @Column(name = "create_time")
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date createTime;
+}
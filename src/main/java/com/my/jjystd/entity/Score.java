@@ -6,7 +6,8 @@ import java.util.Date;
 
 @Data
 @Entity
-@Table(name = "score")
+@Table(name = "score", uniqueConstraints = @UniqueConstraint(name = "uk_score_student_course",
+        columnNames = {"student_id", "course_id"}))
 public class Score {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -6,7 +6,10 @@ import java.util.Date;
 
 @Data
 @Entity
-@Table(name = "student")
+@Table(name = "student", indexes = {
+        @Index(name = "uk_student_student_no", columnList = "studentNo", unique = true),
+        @Index(name = "idx_student_user_id", columnList = "userId")
+})
 public class Student {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
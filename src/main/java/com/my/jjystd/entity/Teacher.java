@@ -1,12 +1,20 @@
 package com.my.jjystd.entity;
 
+import com.my.jjystd.common.CacheRegions;
 import lombok.Data;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.Date;
 
 @Data
 @Entity
-@Table(name = "teacher")
+@Table(name = "teacher", indexes = {
+        @Index(name = "uk_teacher_teacher_no", columnList = "teacher_no", unique = true),
+        @Index(name = "idx_teacher_user_id", columnList = "userId")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.TEACHER)
 public class Teacher {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -1,18 +1,20 @@
 package com.my.jjystd.entity;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Data;
 import jakarta.persistence.*;
 import java.util.Date;
 
 @Data
 @Entity
-@Table(name = "user")
+@Table(name = "user", indexes = @Index(name = "uk_user_username", columnList = "username", unique = true))
 public class User {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer id;
     private String username;
-    private String password;
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
+    private String password;   // 只接收明文，不在响应中返回哈希
     private String role;
     private String phone;
     private String email;
@@ -1,15 +1,41 @@
 package com.my.jjystd.repository;
 
+import com.my.jjystd.common.CacheRegions;
+import com.my.jjystd.controller.dto.CourseViewDTO;
 import com.my.jjystd.entity.Course;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface CourseRepository extends JpaRepository<Course, Integer>, JpaSpecificationExecutor<Course> {
+    /**
+     * 课程列表视图查询，只选取展示字段，不加载教师实体
+     */
+    String VIEW_SELECT = "select new com.my.jjystd.controller.dto.CourseViewDTO(c.id, c.name, c.courseCode, " +
+            "c.description, c.credit, c.status, t.id, t.name, c.createTime) " +
+            "from Course c left join c.teacher t";
+    
+    /**
+     * 根据ID批量查询课程，授课教师在同一条语句中关联取出
+     * @param ids 课程ID
+     * @return 课程列表（顺序不定）
+     */
+    @EntityGraph(attributePaths = "teacher")
+    List<Course> findByIdIn(Collection<Integer> ids);
+    
     /**
      * 根据课程名称查询课程
      * @param name 课程名称
@@ -25,13 +51,36 @@ public interface CourseRepository extends JpaRepository<Course, Integer>, JpaSpe
      */
     Page<Course> findByNameContaining(String name, Pageable pageable);
     
+    /**
+     * 根据课程名称分片查询课程，不统计总数
+     * @param name 课程名称
+     * @param pageable 分页参数
+     * @return 课程分片
+     */
+    Slice<Course> findSliceByNameContaining(String name, Pageable pageable);
+    
     /**
      * 根据课程代码查询课程
      * @param courseCode 课程代码
      * @return 课程
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.COURSE_BY_CODE)
+    })
     Course findByCourseCode(String courseCode);
     
+    /**
+     * 查询所有课程，结果ID走查询缓存，实体走二级缓存
+     * @return 课程列表
+     */
+    @Override
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.COURSE_LIST)
+    })
+    List<Course> findAll();
+    
     /**
      * 根据教师ID查询课程
      * @param teacherId 教师ID
@@ -46,4 +95,63 @@ public interface CourseRepository extends JpaRepository<Course, Integer>, JpaSpe
      * @return 分页课程列表
      */
     Page<Course> findByTeacherId(Integer teacherId, Pageable pageable);
+    
+    /**
+     * 根据教师ID分片查询课程，不统计总数
+     * @param teacherId 教师ID
+     * @param pageable 分页参数
+     * @return 课程分片
+     */
+    Slice<Course> findSliceByTeacherId(Integer teacherId, Pageable pageable);
+    
+    /**
+     * 分片查询所有课程，不统计总数
+     * @param pageable 分页参数
+     * @return 课程分片
+     */
+    Slice<Course> findSliceBy(Pageable pageable);
+    
+    /**
+     * 查询所有课程视图
+     * @return 课程视图列表
+     */
+    @Query(VIEW_SELECT)
+    List<CourseViewDTO> findAllViews();
+    
+    /**
+     * 分页查询所有课程视图
+     * @param pageable 分页参数
+     * @return 分页课程视图
+     */
+    @Query(value = VIEW_SELECT, countQuery = "select count(c) from Course c")
+    Page<CourseViewDTO> findAllViews(Pageable pageable);
+    
+    /**
+     * 根据教师ID查询课程视图
+     * @param teacherId 教师ID
+     * @return 课程视图列表
+     */
+    @Query(VIEW_SELECT + " where t.id = :teacherId")
+    List<CourseViewDTO> findViewsByTeacherId(@Param("teacherId") Integer teacherId);
+    
+    /**
+     * 分页根据教师ID查询课程视图
+     * @param teacherId 教师ID
+     * @param pageable 分页参数
+     * @return 分页课程视图
+     */
+    @Query(value = VIEW_SELECT + " where t.id = :teacherId",
+            countQuery = "select count(c) from Course c where c.teacher.id = :teacherId")
+    Page<CourseViewDTO> findViewsByTeacherId(@Param("teacherId") Integer teacherId, Pageable pageable);
+    
+    /**
+     * 流式读取所有课程（用于导出），需在事务内消费并关闭
+     * @return 课程流
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select c from Course c left join fetch c.teacher")
+    Stream<Course> streamAllForExport();
 } 
\ No newline at end of file
@@ -0,0 +1,162 @@
+package com.my.jjystd.repository;
+
+import com.my.jjystd.entity.Student;
+import com.my.jjystd.entity.Teacher;
+import com.my.jjystd.entity.User;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * 学生、教师及其用户账号的批量写入
+ * 实体使用IDENTITY主键，Hibernate无法对其批量插入；这里直接使用JDBC批处理并通过getGeneratedKeys取回自增ID
+ * （MySQL驱动开启rewriteBatchedStatements后改写为多行INSERT，单条多行插入分配连续的自增ID）。
+ * 需在调用方事务内使用，与JPA共享同一连接
+ */
+@Repository
+public class OnboardingBulkRepository {
+
+    /**
+     * 每批提交的语句数
+     */
+    public static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_USER_SQL =
+            "insert into user (username, password, role, phone, email, is_active, create_time) values (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_STUDENT_SQL =
+            "insert into student (user_id, name, gender, age, student_no, class_name, phone, email, address, " +
+                    "department, major, create_time) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_TEACHER_SQL =
+            "insert into teacher (user_id, name, gender, age, teacher_no, title, department, phone, email, create_time) " +
+                    "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public OnboardingBulkRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * 一次查询找出已被占用的登录标识
+     * 登录时用户名、学号、教师编号按同一标识匹配，三者任一已存在即视为占用
+     * @param identifiers 待校验的学号或教师编号
+     * @return 已存在的标识
+     */
+    public Set<String> findTakenIdentifiers(Collection<String> identifiers) {
+        Set<String> taken = new HashSet<>();
+        if (identifiers.isEmpty()) {
+            return taken;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource("identifiers", identifiers);
+        jdbcTemplate.query("select username as identifier from user where username in (:identifiers) " +
+                "union all select student_no from student where student_no in (:identifiers) " +
+                "union all select teacher_no from teacher where teacher_no in (:identifiers)", params, rs -> {
+            taken.add(rs.getString(1));
+        });
+        return taken;
+    }
+
+    /**
+     * 批量插入用户，插入后回填ID
+     * @param users 用户
+     */
+    public void insertUsers(List<User> users) {
+        insert(INSERT_USER_SQL, users, (ps, user) -> {
+            ps.setString(1, user.getUsername());
+            ps.setString(2, user.getPassword());
+            ps.setString(3, user.getRole());
+            ps.setString(4, user.getPhone());
+            ps.setString(5, user.getEmail());
+            ps.setBoolean(6, Boolean.TRUE.equals(user.getActive()));
+            ps.setTimestamp(7, new Timestamp(user.getCreateTime().getTime()));
+        }, User::setId);
+    }
+
+    /**
+     * 批量插入学生，插入后回填ID
+     * @param students 学生
+     */
+    public void insertStudents(List<Student> students) {
+        insert(INSERT_STUDENT_SQL, students, (ps, student) -> {
+            ps.setInt(1, student.getUserId());
+            ps.setString(2, student.getName());
+            ps.setString(3, student.getGender());
+            ps.setObject(4, student.getAge(), Types.INTEGER);
+            ps.setString(5, student.getStudentNo());
+            ps.setString(6, student.getClassName());
+            ps.setString(7, student.getPhone());
+            ps.setString(8, student.getEmail());
+            ps.setString(9, student.getAddress());
+            ps.setString(10, student.getDepartment());
+            ps.setString(11, student.getMajor());
+            ps.setTimestamp(12, new Timestamp(student.getCreateTime().getTime()));
+        }, Student::setId);
+    }
+
+    /**
+     * 批量插入教师，插入后回填ID
+     * @param teachers 教师
+     */
+    public void insertTeachers(List<Teacher> teachers) {
+        insert(INSERT_TEACHER_SQL, teachers, (ps, teacher) -> {
+            ps.setInt(1, teacher.getUserId());
+            ps.setString(2, teacher.getName());
+            ps.setString(3, teacher.getGender());
+            ps.setObject(4, teacher.getAge(), Types.INTEGER);
+            ps.setString(5, teacher.getTeacherNo());
+            ps.setString(6, teacher.getTitle());
+            ps.setString(7, teacher.getDepartment());
+            ps.setString(8, teacher.getPhone());
+            ps.setString(9, teacher.getEmail());
+            ps.setTimestamp(10, new Timestamp(teacher.getCreateTime().getTime()));
+        }, Teacher::setId);
+    }
+
+    /**
+     * 按BATCH_SIZE分批执行插入，每批执行后按顺序读取自增ID
+     */
+    private <T> void insert(String sql, List<T> rows, ParameterizedPreparedStatementSetter<T> setter,
+                            BiConsumer<T, Integer> idSetter) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.getJdbcTemplate().execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+                    List<T> batch = rows.subList(from, Math.min(from + BATCH_SIZE, rows.size()));
+                    for (T row : batch) {
+                        setter.setValues(ps, row);
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+                    try (ResultSet keys = ps.getGeneratedKeys()) {
+                        for (T row : batch) {
+                            if (!keys.next()) {
+                                throw new IllegalStateException("批量插入未返回全部自增ID");
+                            }
+                            idSetter.accept(row, keys.getInt(1));
+                        }
+                    }
+                }
+            }
+            return null;
+        });
+    }
+}
@@ -0,0 +1,33 @@
+package com.my.jjystd.repository;
+
+import com.my.jjystd.entity.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Date;
+import java.util.List;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, Long> {
+    /**
+     * 查询指定时间之后创建的未过期注销记录
+     * @param since 创建时间下限（不含）
+     * @param now 当前时间
+     * @return 注销记录
+     */
+    List<RevokedToken> findByCreateTimeAfterAndExpiresAtAfter(Date since, Date now);
+    
+    /**
+     * 删除已过期的注销记录
+     * @param now 当前时间
+     * @return 删除条数
+     */
+    @Modifying
+    @Transactional
+    @Query("delete from RevokedToken r where r.expiresAt < :now")
+    int deleteExpired(@Param("now") Date now);
+}
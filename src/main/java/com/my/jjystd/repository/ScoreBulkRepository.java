@@ -0,0 +1,126 @@
+package com.my.jjystd.repository;
+
+import com.my.jjystd.controller.dto.ScoreImportRowDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 成绩批量读写，直接使用JDBC批处理，绕过逐条的实体持久化
+ * 需在调用方事务内使用，与JPA共享同一连接
+ */
+@Repository
+public class ScoreBulkRepository {
+
+    /**
+     * 每批提交的语句数
+     */
+    public static final int BATCH_SIZE = 500;
+
+    // 依赖(student_id, course_id)唯一键，已存在时更新；未提供的教师和备注保留原值，与单条更新的语义一致
+    private static final String UPSERT_SQL =
+            "insert into score (student_id, course_id, teacher_id, score, remark, create_time) values (?, ?, ?, ?, ?, ?) " +
+            "on duplicate key update score = values(score), teacher_id = coalesce(values(teacher_id), teacher_id), " +
+            "remark = coalesce(values(remark), remark)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public ScoreBulkRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * 一次查询校验课程和教师是否存在
+     * @param courseIds 待校验的课程ID
+     * @param teacherIds 待校验的教师ID
+     * @return 数据库中存在的课程和教师ID
+     */
+    public ExistingReferences findExistingReferences(Collection<Integer> courseIds, Collection<Integer> teacherIds) {
+        ExistingReferences references = new ExistingReferences(new HashSet<>(), new HashSet<>());
+        List<String> parts = new ArrayList<>(2);
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        if (!courseIds.isEmpty()) {
+            parts.add("select 'C' as kind, id from course where id in (:courseIds)");
+            params.addValue("courseIds", courseIds);
+        }
+        if (!teacherIds.isEmpty()) {
+            parts.add("select 'T' as kind, id from teacher where id in (:teacherIds)");
+            params.addValue("teacherIds", teacherIds);
+        }
+        if (parts.isEmpty()) {
+            return references;
+        }
+        jdbcTemplate.query(String.join(" union all ", parts), params, rs -> {
+            Set<Integer> target = "C".equals(rs.getString("kind")) ? references.courseIds() : references.teacherIds();
+            target.add(rs.getInt("id"));
+        });
+        return references;
+    }
+
+    /**
+     * 查询已存在的(学生, 课程)成绩ID，仅用于在导入结果中区分新增和更新，写入本身由唯一键保证
+     * @param studentIds 学生ID
+     * @param courseIds 课程ID
+     * @return (学生, 课程) -> 成绩ID
+     */
+    public Map<ScoreKey, Integer> findIdsByStudentAndCourse(Collection<Integer> studentIds, Collection<Integer> courseIds) {
+        Map<ScoreKey, Integer> ids = new HashMap<>();
+        if (studentIds.isEmpty() || courseIds.isEmpty()) {
+            return ids;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("studentIds", studentIds)
+                .addValue("courseIds", courseIds);
+        jdbcTemplate.query("select id, student_id, course_id from score " +
+                "where student_id in (:studentIds) and course_id in (:courseIds)", params, rs -> {
+            ids.put(new ScoreKey(rs.getInt("student_id"), rs.getInt("course_id")), rs.getInt("id"));
+        });
+        return ids;
+    }
+
+    /**
+     * 批量写入成绩，(学生, 课程)已存在时更新，不存在时新增，并发导入或与单条保存同时进行也不会产生重复成绩
+     * @param rows 成绩行，同一(学生, 课程)只能出现一次
+     * @param createTime 新增记录的创建时间
+     */
+    public void batchUpsert(List<ScoreImportRowDTO> rows, Date createTime) {
+        Timestamp timestamp = new Timestamp(createTime.getTime());
+        jdbcTemplate.getJdbcTemplate().batchUpdate(UPSERT_SQL, rows, BATCH_SIZE, (ps, row) -> {
+            ps.setInt(1, row.getStudentId());
+            ps.setInt(2, row.getCourseId());
+            ps.setObject(3, row.getTeacherId(), Types.INTEGER);
+            ps.setFloat(4, row.getScore());
+            ps.setString(5, row.getRemark());
+            ps.setTimestamp(6, timestamp);
+        });
+    }
+
+    /**
+     * 成绩的业务唯一键
+     * @param studentId 学生ID
+     * @param courseId 课程ID
+     */
+    public record ScoreKey(Integer studentId, Integer courseId) {
+    }
+
+    /**
+     * 数据库中存在的关联ID
+     * @param courseIds 课程ID
+     * @param teacherIds 教师ID
+     */
+    public record ExistingReferences(Set<Integer> courseIds, Set<Integer> teacherIds) {
+    }
+}
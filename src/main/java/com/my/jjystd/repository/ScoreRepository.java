@@ -1,14 +1,43 @@
 package com.my.jjystd.repository;
 
+import com.my.jjystd.controller.dto.CourseRosterDTO;
+import com.my.jjystd.controller.dto.ScoreViewDTO;
 import com.my.jjystd.entity.Score;
+import com.my.jjystd.repository.projection.CourseScoreAggregate;
+import com.my.jjystd.repository.projection.ScoreBucketCount;
+import com.my.jjystd.repository.projection.StudentCourseScore;
+import com.my.jjystd.repository.projection.TranscriptRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface ScoreRepository extends JpaRepository<Score, Integer> {
+public interface ScoreRepository extends JpaRepository<Score, Integer>, JpaSpecificationExecutor<Score> {
+    /**
+     * 成绩列表视图查询，只选取展示字段，不加载课程和教师实体
+     */
+    String VIEW_SELECT = "select new com.my.jjystd.controller.dto.ScoreViewDTO(s.id, s.studentId, c.id, c.name, " +
+            "c.courseCode, t.id, t.name, s.score, s.remark, s.createTime) " +
+            "from Score s left join s.course c left join s.teacher t";
+    
+    /**
+     * 课程花名册查询，成绩与学生按学生ID关联，只选取展示字段
+     * 排序字段需带别名（s为成绩，st为学生）
+     */
+    String ROSTER_SELECT = "select new com.my.jjystd.controller.dto.CourseRosterDTO(s.id, st.id, st.studentNo, " +
+            "st.name, st.className, s.score, s.remark, s.createTime) " +
+            "from Score s join Student st on st.id = s.studentId";
+    
     /**
      * 根据学生ID查询成绩
      * @param studentId 学生ID
@@ -24,6 +53,14 @@ public interface ScoreRepository extends JpaRepository<Score, Integer> {
      */
     Page<Score> findByStudentId(Integer studentId, Pageable pageable);
     
+    /**
+     * 根据学生ID分片查询成绩，多取一条判断是否有下一页，不统计总数
+     * @param studentId 学生ID
+     * @param pageable 分页参数
+     * @return 成绩分片
+     */
+    Slice<Score> findSliceByStudentId(Integer studentId, Pageable pageable);
+    
     /**
      * 根据课程ID查询成绩
      * @param courseId 课程ID
@@ -39,6 +76,14 @@ public interface ScoreRepository extends JpaRepository<Score, Integer> {
      */
     Page<Score> findByCourseId(Integer courseId, Pageable pageable);
     
+    /**
+     * 根据课程ID分片查询成绩，多取一条判断是否有下一页，不统计总数
+     * @param courseId 课程ID
+     * @param pageable 分页参数
+     * @return 成绩分片
+     */
+    Slice<Score> findSliceByCourseId(Integer courseId, Pageable pageable);
+    
     /**
      * 根据教师ID查询成绩
      * @param teacherId 教师ID
@@ -54,6 +99,14 @@ public interface ScoreRepository extends JpaRepository<Score, Integer> {
      */
     Page<Score> findByTeacherId(Integer teacherId, Pageable pageable);
     
+    /**
+     * 根据教师ID分片查询成绩，多取一条判断是否有下一页，不统计总数
+     * @param teacherId 教师ID
+     * @param pageable 分页参数
+     * @return 成绩分片
+     */
+    Slice<Score> findSliceByTeacherId(Integer teacherId, Pageable pageable);
+    
     /**
      * 根据学生ID和课程ID查询成绩
      * @param studentId 学生ID
@@ -78,4 +131,201 @@ public interface ScoreRepository extends JpaRepository<Score, Integer> {
      * @return 分页成绩列表
      */
     Page<Score> findByScoreBetween(Float minScore, Float maxScore, Pageable pageable);
+    
+    /**
+     * 分片查询所有成绩，不统计总数
+     * @param pageable 分页参数
+     * @return 成绩分片
+     */
+    Slice<Score> findSliceBy(Pageable pageable);
+    
+    /**
+     * 查询所有成绩视图
+     * @return 成绩视图列表
+     */
+    @Query(VIEW_SELECT)
+    List<ScoreViewDTO> findAllViews();
+    
+    /**
+     * 分页查询所有成绩视图
+     * @param pageable 分页参数
+     * @return 分页成绩视图
+     */
+    @Query(value = VIEW_SELECT, countQuery = "select count(s) from Score s")
+    Page<ScoreViewDTO> findAllViews(Pageable pageable);
+    
+    /**
+     * 根据学生ID查询成绩视图
+     * @param studentId 学生ID
+     * @return 成绩视图列表
+     */
+    @Query(VIEW_SELECT + " where s.studentId = :studentId")
+    List<ScoreViewDTO> findViewsByStudentId(@Param("studentId") Integer studentId);
+    
+    /**
+     * 分页根据学生ID查询成绩视图
+     * @param studentId 学生ID
+     * @param pageable 分页参数
+     * @return 分页成绩视图
+     */
+    @Query(value = VIEW_SELECT + " where s.studentId = :studentId",
+            countQuery = "select count(s) from Score s where s.studentId = :studentId")
+    Page<ScoreViewDTO> findViewsByStudentId(@Param("studentId") Integer studentId, Pageable pageable);
+    
+    /**
+     * 根据课程ID查询成绩视图
+     * @param courseId 课程ID
+     * @return 成绩视图列表
+     */
+    @Query(VIEW_SELECT + " where c.id = :courseId")
+    List<ScoreViewDTO> findViewsByCourseId(@Param("courseId") Integer courseId);
+    
+    /**
+     * 分页根据课程ID查询成绩视图
+     * @param courseId 课程ID
+     * @param pageable 分页参数
+     * @return 分页成绩视图
+     */
+    @Query(value = VIEW_SELECT + " where c.id = :courseId",
+            countQuery = "select count(s) from Score s where s.course.id = :courseId")
+    Page<ScoreViewDTO> findViewsByCourseId(@Param("courseId") Integer courseId, Pageable pageable);
+    
+    /**
+     * 根据教师ID查询成绩视图
+     * @param teacherId 教师ID
+     * @return 成绩视图列表
+     */
+    @Query(VIEW_SELECT + " where t.id = :teacherId")
+    List<ScoreViewDTO> findViewsByTeacherId(@Param("teacherId") Integer teacherId);
+    
+    /**
+     * 分页根据教师ID查询成绩视图
+     * @param teacherId 教师ID
+     * @param pageable 分页参数
+     * @return 分页成绩视图
+     */
+    @Query(value = VIEW_SELECT + " where t.id = :teacherId",
+            countQuery = "select count(s) from Score s where s.teacher.id = :teacherId")
+    Page<ScoreViewDTO> findViewsByTeacherId(@Param("teacherId") Integer teacherId, Pageable pageable);
+    
+    /**
+     * 分页查询课程花名册（成绩关联学生，一条查询）
+     * @param courseId 课程ID
+     * @param pageable 分页参数，排序字段需带别名
+     * @return 分页花名册
+     */
+    @Query(value = ROSTER_SELECT + " where s.course.id = :courseId",
+            countQuery = "select count(s) from Score s join Student st on st.id = s.studentId " +
+                    "where s.course.id = :courseId")
+    Page<CourseRosterDTO> findRosterByCourseId(@Param("courseId") Integer courseId, Pageable pageable);
+    
+    /**
+     * 查询课程中有成绩记录的学生ID（用于花名册缓存失效）
+     * @param courseId 课程ID
+     * @return 学生ID列表
+     */
+    @Query("select distinct s.studentId from Score s where s.course.id = :courseId and s.studentId is not null")
+    List<Integer> findStudentIdsByCourseId(@Param("courseId") Integer courseId);
+    
+    /**
+     * 按课程聚合成绩统计（条数、总和、平方和、最值、及格人数）
+     * @param passScore 及格分数线
+     * @return 各课程聚合结果
+     */
+    @Query("select s.course.id as courseId, count(s.score) as scoreCount, sum(s.score) as scoreSum, " +
+            "sum(s.score * s.score) as squareSum, min(s.score) as minScore, max(s.score) as maxScore, " +
+            "sum(case when s.score >= :passScore then 1 else 0 end) as passCount " +
+            "from Score s where s.course is not null group by s.course.id")
+    List<CourseScoreAggregate> aggregateByCourse(@Param("passScore") Float passScore);
+    
+    /**
+     * 聚合指定课程的成绩统计
+     * @param courseId 课程ID
+     * @param passScore 及格分数线
+     * @return 聚合结果，课程没有成绩时为空列表
+     */
+    @Query("select s.course.id as courseId, count(s.score) as scoreCount, sum(s.score) as scoreSum, " +
+            "sum(s.score * s.score) as squareSum, min(s.score) as minScore, max(s.score) as maxScore, " +
+            "sum(case when s.score >= :passScore then 1 else 0 end) as passCount " +
+            "from Score s where s.course.id = :courseId group by s.course.id")
+    List<CourseScoreAggregate> aggregateByCourseId(@Param("courseId") Integer courseId,
+                                                   @Param("passScore") Float passScore);
+    
+    /**
+     * 按分段统计所有成绩，低于及格线的归入-1段，其余按(分数 - 及格线) / 宽度向下取整分段
+     * @param passScore 及格分数线
+     * @param width 分段宽度
+     * @return 各分段计数
+     */
+    @Query(value = "select bucket, count(*) as scoreCount from (" +
+            "select case when score < :passScore then -1 else floor((score - :passScore) / :width) end as bucket " +
+            "from score where score is not null) t group by bucket", nativeQuery = true)
+    List<ScoreBucketCount> countByBucket(@Param("passScore") Float passScore, @Param("width") Integer width);
+    
+    /**
+     * 按分段统计指定课程的成绩
+     * @param courseId 课程ID
+     * @param passScore 及格分数线
+     * @param width 分段宽度
+     * @return 各分段计数
+     */
+    @Query(value = "select bucket, count(*) as scoreCount from (" +
+            "select case when score < :passScore then -1 else floor((score - :passScore) / :width) end as bucket " +
+            "from score where score is not null and course_id = :courseId) t group by bucket", nativeQuery = true)
+    List<ScoreBucketCount> countByBucketAndCourseId(@Param("courseId") Integer courseId,
+                                                    @Param("passScore") Float passScore,
+                                                    @Param("width") Integer width);
+    
+    /**
+     * 按分段统计指定教师评定的成绩
+     * @param teacherId 教师ID
+     * @param passScore 及格分数线
+     * @param width 分段宽度
+     * @return 各分段计数
+     */
+    @Query(value = "select bucket, count(*) as scoreCount from (" +
+            "select case when score < :passScore then -1 else floor((score - :passScore) / :width) end as bucket " +
+            "from score where score is not null and teacher_id = :teacherId) t group by bucket", nativeQuery = true)
+    List<ScoreBucketCount> countByBucketAndTeacherId(@Param("teacherId") Integer teacherId,
+                                                     @Param("passScore") Float passScore,
+                                                     @Param("width") Integer width);
+    
+    /**
+     * 查询所有课程中每个学生的成绩（用于构建排名索引）
+     * @return 成绩、课程、学生、分数
+     */
+    @Query("select s.id as id, s.course.id as courseId, s.studentId as studentId, s.score as score " +
+            "from Score s where s.course is not null and s.studentId is not null and s.score is not null")
+    List<StudentCourseScore> findAllStudentCourseScores();
+    
+    /**
+     * 查询指定课程中每个学生的成绩
+     * @param courseId 课程ID
+     * @return 成绩、课程、学生、分数
+     */
+    @Query("select s.id as id, s.course.id as courseId, s.studentId as studentId, s.score as score " +
+            "from Score s where s.course.id = :courseId and s.studentId is not null and s.score is not null")
+    List<StudentCourseScore> findStudentCourseScoresByCourseId(@Param("courseId") Integer courseId);
+    
+    /**
+     * 查询学生成绩单（仅取课程学分与分数，不加载关联实体）
+     * @param studentId 学生ID
+     * @return 成绩单行
+     */
+    @Query("select c.id as courseId, c.name as courseName, c.courseCode as courseCode, " +
+            "c.credit as credit, s.score as score " +
+            "from Score s join s.course c where s.studentId = :studentId order by c.id")
+    List<TranscriptRow> findTranscriptByStudentId(@Param("studentId") Integer studentId);
+    
+    /**
+     * 流式读取所有成绩（用于导出），需在事务内消费并关闭
+     * 关联的课程和教师一并抓取，避免逐行查询
+     * @return 成绩流
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select s from Score s left join fetch s.course c left join fetch c.teacher left join fetch s.teacher")
+    Stream<Score> streamAllForExport();
 } 
\ No newline at end of file
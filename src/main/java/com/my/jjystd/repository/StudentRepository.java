@@ -1,10 +1,17 @@
 package com.my.jjystd.repository;
 
 import com.my.jjystd.entity.Student;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface StudentRepository extends JpaRepository<Student, Integer>, JpaSpecificationExecutor<Student> {
@@ -23,4 +30,22 @@ public interface StudentRepository extends JpaRepository<Student, Integer>, JpaS
      * @return 学生信息
      */
     Optional<Student> findByUserId(Integer userId);
+    
+    /**
+     * 分片查询所有学生，多取一条判断是否有下一页，不统计总数
+     * @param pageable 分页参数
+     * @return 学生分片
+     */
+    Slice<Student> findSliceBy(Pageable pageable);
+    
+    /**
+     * 流式读取所有学生（用于导出），需在事务内消费并关闭
+     * @return 学生流
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select s from Student s")
+    Stream<Student> streamAllForExport();
 } 
\ No newline at end of file
@@ -1,9 +1,16 @@
 package com.my.jjystd.repository;
 
+import com.my.jjystd.common.CacheRegions;
 import com.my.jjystd.entity.Teacher;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -15,8 +22,30 @@ public interface TeacherRepository extends JpaRepository<Teacher, Integer>, JpaS
      * @param teacherNo 教师编号
      * @return 教师信息
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.TEACHER_BY_NO)
+    })
     Optional<Teacher> findByTeacherNo(String teacherNo);
     
+    /**
+     * 查询所有教师，结果ID走查询缓存，实体走二级缓存
+     * @return 教师列表
+     */
+    @Override
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.TEACHER_LIST)
+    })
+    List<Teacher> findAll();
+    
+    /**
+     * 分片查询所有教师，多取一条判断是否有下一页，不统计总数
+     * @param pageable 分页参数
+     * @return 教师分片
+     */
+    Slice<Teacher> findSliceBy(Pageable pageable);
+    
     /**
      * 根据用户ID查询教师
      * @param userId 用户ID
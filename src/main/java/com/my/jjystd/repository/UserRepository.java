@@ -1,16 +1,59 @@
 package com.my.jjystd.repository;
 
 import com.my.jjystd.entity.User;
+import com.my.jjystd.repository.projection.LoginIdentity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Integer> {
+public interface UserRepository extends JpaRepository<User, Integer>, JpaSpecificationExecutor<User> {
     /**
      * 根据用户名查询用户
      * @param username 用户名
      * @return 用户信息
      */
     Optional<User> findByUsername(String username);
-} 
\ No newline at end of file
+    
+    /**
+     * 按用户名、学号或教师编号一次查出所有候选登录身份，按匹配优先级排序
+     * 三个分支分别走user.username、student.student_no、teacher.teacher_no索引
+     * @param identifier 用户名、学号或教师编号
+     * @return 候选登录身份
+     */
+    @Query(value = "select 1 as priority, u.id as userId, u.username as username, u.password as password, " +
+            "u.role as role, u.phone as phone, u.email as email, u.is_active as active, " +
+            "coalesce(s.id, t.id) as profileId, coalesce(s.name, t.name) as realName " +
+            "from user u " +
+            "left join student s on u.role = 'student' and s.user_id = u.id " +
+            "left join teacher t on u.role = 'teacher' and t.user_id = u.id " +
+            "where u.username = :identifier " +
+            "union all " +
+            "select 2, u.id, u.username, u.password, u.role, u.phone, u.email, u.is_active, s.id, s.name " +
+            "from student s join user u on u.id = s.user_id where s.student_no = :identifier " +
+            "union all " +
+            "select 3, u.id, u.username, u.password, u.role, u.phone, u.email, u.is_active, t.id, t.name " +
+            "from teacher t join user u on u.id = t.user_id where t.teacher_no = :identifier " +
+            "order by priority", nativeQuery = true)
+    List<LoginIdentity> findLoginIdentities(@Param("identifier") String identifier);
+    
+    /**
+     * 替换密码，仅当当前存储值仍为oldPassword时生效，避免覆盖并发修改
+     * @param id 用户ID
+     * @param oldPassword 原存储值
+     * @param newPassword 新存储值
+     * @return 更新行数
+     */
+    @Modifying
+    @Transactional
+    @Query("update User u set u.password = :newPassword where u.id = :id and u.password = :oldPassword")
+    int replacePassword(@Param("id") Integer id,
+                        @Param("oldPassword") String oldPassword,
+                        @Param("newPassword") String newPassword);
+}
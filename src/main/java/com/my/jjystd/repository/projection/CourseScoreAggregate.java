@@ -0,0 +1,41 @@
+package com.my.jjystd.repository.projection;
+
+/**
+ * 课程成绩聚合结果投影
+ */
+public interface CourseScoreAggregate {
+    /**
+     * 课程ID
+     */
+    Integer getCourseId();
+
+    /**
+     * 有分数的成绩条数
+     */
+    Long getScoreCount();
+
+    /**
+     * 分数总和
+     */
+    Double getScoreSum();
+
+    /**
+     * 分数平方和
+     */
+    Double getSquareSum();
+
+    /**
+     * 最低分
+     */
+    Float getMinScore();
+
+    /**
+     * 最高分
+     */
+    Float getMaxScore();
+
+    /**
+     * 及格人数
+     */
+    Long getPassCount();
+}
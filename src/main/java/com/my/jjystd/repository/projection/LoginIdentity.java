@@ -0,0 +1,56 @@
+package com.my.jjystd.repository.projection;
+
+/**
+ * 登录身份投影：按用户名、学号或教师编号匹配到的用户及其档案
+ */
+public interface LoginIdentity {
+    /**
+     * 匹配优先级：1用户名，2学号，3教师编号
+     */
+    Integer getPriority();
+
+    /**
+     * 用户ID
+     */
+    Integer getUserId();
+
+    /**
+     * 用户名
+     */
+    String getUsername();
+
+    /**
+     * 密码
+     */
+    String getPassword();
+
+    /**
+     * 角色
+     */
+    String getRole();
+
+    /**
+     * 电话
+     */
+    String getPhone();
+
+    /**
+     * 邮箱
+     */
+    String getEmail();
+
+    /**
+     * 是否激活
+     */
+    Boolean getActive();
+
+    /**
+     * 学生或教师ID，没有档案时为空
+     */
+    Integer getProfileId();
+
+    /**
+     * 学生或教师姓名，没有档案时为空
+     */
+    String getRealName();
+}
@@ -0,0 +1,16 @@
+package com.my.jjystd.repository.projection;
+
+/**
+ * 成绩分段计数投影
+ */
+public interface ScoreBucketCount {
+    /**
+     * 分段序号，-1为不及格段
+     */
+    Long getBucket();
+
+    /**
+     * 该分段的成绩条数
+     */
+    Long getScoreCount();
+}
@@ -0,0 +1,26 @@
+package com.my.jjystd.repository.projection;
+
+/**
+ * 学生在某门课程上的成绩投影
+ */
+public interface StudentCourseScore {
+    /**
+     * 成绩ID
+     */
+    Integer getId();
+
+    /**
+     * 课程ID
+     */
+    Integer getCourseId();
+
+    /**
+     * 学生ID
+     */
+    Integer getStudentId();
+
+    /**
+     * 分数
+     */
+    Float getScore();
+}
@@ -0,0 +1,31 @@
+package com.my.jjystd.repository.projection;
+
+/**
+ * 成绩单行投影
+ */
+public interface TranscriptRow {
+    /**
+     * 课程ID
+     */
+    Integer getCourseId();
+
+    /**
+     * 课程名称
+     */
+    String getCourseName();
+
+    /**
+     * 课程代码
+     */
+    String getCourseCode();
+
+    /**
+     * 学分
+     */
+    Float getCredit();
+
+    /**
+     * 分数
+     */
+    Float getScore();
+}
@@ -0,0 +1,201 @@
+package com.my.jjystd.repository.support;
+
+import com.my.jjystd.common.BadRequestException;
+import com.my.jjystd.common.CursorPage;
+import com.my.jjystd.common.CursorRequest;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+
+import java.beans.PropertyDescriptor;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 键集（seek）分页工具
+ * 以“排序字段值 + id”作为游标，下一页通过 WHERE 条件定位，而不是 LIMIT offset，
+ * 查询多取一条用于判断是否有下一页，只有调用方要求时才执行 COUNT
+ * 空值按 MySQL 默认规则处理：升序时排在最前，降序时排在最后
+ */
+public final class KeysetPagination {
+
+    private static final String ID = "id";
+    private static final String SEPARATOR = "\n";
+    private static final String NULL_MARK = "N";
+    private static final String VALUE_MARK = "V";
+
+    private KeysetPagination() {
+    }
+
+    /**
+     * 执行游标分页查询
+     * @param executor Specification执行器
+     * @param domainClass 实体类型
+     * @param sortProperties 允许作为排序字段的属性（id始终允许），排序字段值会写入游标，不能包含敏感字段
+     * @param baseSpec 基础查询条件，可为空
+     * @param request 游标分页请求
+     * @return 游标分页结果
+     */
+    public static <T> CursorPage<T> fetch(JpaSpecificationExecutor<T> executor, Class<T> domainClass,
+                                          Set<String> sortProperties, Specification<T> baseSpec,
+                                          CursorRequest request) {
+        Sort.Order order = resolveOrder(domainClass, sortProperties, request.getSort());
+        // id作为次级排序，保证排序字段值相同时顺序稳定
+        Sort sort = ID.equals(order.getProperty())
+                ? Sort.by(order)
+                : Sort.by(order, new Sort.Order(order.getDirection(), ID));
+
+        Specification<T> base = baseSpec != null ? baseSpec : unrestricted();
+        Specification<T> spec = base;
+        if (request.getAfter() != null && !request.getAfter().isEmpty()) {
+            Cursor cursor = Cursor.decode(request.getAfter());
+            if (!cursor.property.equals(order.getProperty()) || cursor.direction != order.getDirection()) {
+                throw new BadRequestException("游标与当前排序条件不匹配");
+            }
+            Object value = cursor.value == null ? null : convert(domainClass, cursor.property, cursor.value);
+            spec = spec.and(seekAfter(cursor.property, order.getDirection(), value, cursor.id));
+        }
+
+        int size = request.getSize();
+        List<T> rows = executor.<T, List<T>>findBy(spec, query -> query.sortBy(sort).limit(size + 1).all());
+
+        CursorPage<T> page = new CursorPage<>();
+        page.setSize(size);
+        boolean hasNext = rows.size() > size;
+        List<T> content = hasNext ? rows.subList(0, size) : rows;
+        page.setContent(content);
+        page.setHasNext(hasNext);
+        if (hasNext) {
+            page.setNextCursor(Cursor.encode(content.get(content.size() - 1), order));
+        }
+        if (request.isWithTotal()) {
+            page.setTotalElements(executor.count(base));
+        }
+        return page;
+    }
+
+    private static <T> Specification<T> unrestricted() {
+        return (root, query, cb) -> null;
+    }
+
+    /**
+     * 解析排序字段，只支持白名单中实体自身的简单类型属性
+     */
+    private static Sort.Order resolveOrder(Class<?> domainClass, Set<String> sortProperties, Sort sort) {
+        if (sort == null || sort.isUnsorted()) {
+            return Sort.Order.asc(ID);
+        }
+        List<Sort.Order> orders = sort.toList();
+        if (orders.size() > 1) {
+            throw new BadRequestException("游标分页仅支持一个排序字段");
+        }
+        Sort.Order order = orders.get(0);
+        if (!ID.equals(order.getProperty()) && !sortProperties.contains(order.getProperty())) {
+            throw new BadRequestException("不支持的排序字段：" + order.getProperty());
+        }
+        PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(domainClass, order.getProperty());
+        if (descriptor == null || !BeanUtils.isSimpleValueType(descriptor.getPropertyType())
+                || !Comparable.class.isAssignableFrom(descriptor.getPropertyType())) {
+            throw new BadRequestException("不支持的排序字段：" + order.getProperty());
+        }
+        return order;
+    }
+
+    /**
+     * 构建“位于游标之后”的条件
+     * 升序：(v > x) or (v = x and id > lastId)；空值在前
+     * 降序：(v < x) or (v = x and id < lastId)；空值在后
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <T> Specification<T> seekAfter(String property, Sort.Direction direction,
+                                                  Object value, Integer lastId) {
+        return (root, query, cb) -> {
+            Path<Integer> id = root.get(ID);
+            boolean asc = direction.isAscending();
+            Predicate idAfter = asc ? cb.greaterThan(id, lastId) : cb.lessThan(id, lastId);
+            if (ID.equals(property)) {
+                return idAfter;
+            }
+            Path<Comparable> path = root.get(property);
+            if (value == null) {
+                Predicate sameNull = cb.and(cb.isNull(path), idAfter);
+                // 升序时空值之后还有全部非空值
+                return asc ? cb.or(sameNull, cb.isNotNull(path)) : sameNull;
+            }
+            Comparable comparable = (Comparable) value;
+            Predicate beyond = asc ? cb.greaterThan(path, comparable) : cb.lessThan(path, comparable);
+            Predicate tie = cb.and(cb.equal(path, comparable), idAfter);
+            // 降序时非空值之后还有全部空值
+            return asc ? cb.or(beyond, tie) : cb.or(beyond, tie, cb.isNull(path));
+        };
+    }
+
+    private static Object convert(Class<?> domainClass, String property, String raw) {
+        Class<?> type = BeanUtils.getPropertyDescriptor(domainClass, property).getPropertyType();
+        try {
+            if (Date.class.isAssignableFrom(type)) {
+                return new Date(Long.parseLong(raw));
+            }
+            return DefaultConversionService.getSharedInstance().convert(raw, type);
+        } catch (RuntimeException e) {
+            throw new BadRequestException("无效的游标", e);
+        }
+    }
+
+    /**
+     * 游标内容：排序字段、方向、最后一行的id和排序字段值
+     */
+    private static final class Cursor {
+        private final String property;
+        private final Sort.Direction direction;
+        private final Integer id;
+        private final String value;
+
+        private Cursor(String property, Sort.Direction direction, Integer id, String value) {
+            this.property = property;
+            this.direction = direction;
+            this.id = id;
+            this.value = value;
+        }
+
+        static String encode(Object row, Sort.Order order) {
+            BeanWrapper wrapper = PropertyAccessorFactory.forBeanPropertyAccess(row);
+            Object id = wrapper.getPropertyValue(ID);
+            Object value = wrapper.getPropertyValue(order.getProperty());
+            String raw;
+            if (value == null) {
+                raw = NULL_MARK;
+            } else if (value instanceof Date date) {
+                raw = VALUE_MARK + date.getTime();
+            } else {
+                raw = VALUE_MARK + value;
+            }
+            String text = order.getProperty() + SEPARATOR + order.getDirection() + SEPARATOR + id + SEPARATOR + raw;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(text.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String token) {
+            try {
+                String text = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+                // 值放在最后，允许其中包含分隔符
+                String[] parts = text.split(SEPARATOR, 4);
+                if (parts.length != 4 || parts[3].isEmpty()) {
+                    throw new BadRequestException("无效的游标");
+                }
+                String value = parts[3].startsWith(VALUE_MARK) ? parts[3].substring(1) : null;
+                return new Cursor(parts[0], Sort.Direction.valueOf(parts[1]), Integer.valueOf(parts[2]), value);
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("无效的游标", e);
+            }
+        }
+    }
+}
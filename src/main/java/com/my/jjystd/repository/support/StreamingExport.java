@@ -0,0 +1,43 @@
+package com.my.jjystd.repository.support;
+
+import jakarta.persistence.EntityManager;
+
+import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * 流式导出工具
+ * 逐行读取查询结果交给调用方，每处理固定条数清空一次持久化上下文，
+ * 需要在只读事务中调用，以保持结果集游标打开
+ */
+public final class StreamingExport {
+
+    /**
+     * 每处理多少条清空一次持久化上下文
+     */
+    private static final int CLEAR_INTERVAL = 1000;
+
+    private StreamingExport() {
+    }
+
+    /**
+     * 逐行处理查询结果，处理完毕后关闭结果流
+     * @param entityManager 实体管理器
+     * @param rows 查询结果流
+     * @param consumer 逐行处理函数
+     */
+    public static <T> void forEach(EntityManager entityManager, Stream<T> rows, Consumer<T> consumer) {
+        try (rows) {
+            Iterator<T> iterator = rows.iterator();
+            int count = 0;
+            while (iterator.hasNext()) {
+                consumer.accept(iterator.next());
+                // 定期清空持久化上下文，保持内存占用平稳
+                if (++count % CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+}
@@ -1,11 +1,17 @@
 package com.my.jjystd.service;
 
+import com.my.jjystd.common.CursorPage;
+import com.my.jjystd.common.CursorRequest;
 import com.my.jjystd.controller.dto.CourseQueryDTO;
+import com.my.jjystd.controller.dto.CourseRosterDTO;
+import com.my.jjystd.controller.dto.CourseViewDTO;
 import com.my.jjystd.entity.Course;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface CourseService {
     /**
@@ -15,6 +21,13 @@ public interface CourseService {
      */
     Optional<Course> findCourseById(Integer id);
     
+    /**
+     * 根据ID批量查询课程，一次IN查询
+     * @param ids 课程ID列表，最多200个
+     * @return 与ids一一对应的课程，不存在的为null
+     */
+    List<Course> findCoursesByIds(List<Integer> ids);
+    
     /**
      * 根据课程名称查询课程
      * @param name 课程名称
@@ -30,6 +43,22 @@ public interface CourseService {
      */
     Page<Course> findCoursesByName(String name, Pageable pageable);
     
+    /**
+     * 分片根据课程名称查询课程，不统计总数
+     * @param name 课程名称
+     * @param pageable 分页参数
+     * @return 分片结果
+     */
+    Slice<Course> findCourseSliceByName(String name, Pageable pageable);
+    
+    /**
+     * 游标分页根据课程名称查询课程
+     * @param name 课程名称
+     * @param cursorRequest 游标分页参数
+     * @return 游标分页课程列表
+     */
+    CursorPage<Course> findCoursesByName(String name, CursorRequest cursorRequest);
+    
     /**
      * 根据课程代码查询课程
      * @param courseCode 课程代码
@@ -52,6 +81,22 @@ public interface CourseService {
      */
     Page<Course> findCoursesByTeacherId(Integer teacherId, Pageable pageable);
     
+    /**
+     * 分片根据教师ID查询课程，不统计总数
+     * @param teacherId 教师ID
+     * @param pageable 分页参数
+     * @return 分片结果
+     */
+    Slice<Course> findCourseSliceByTeacherId(Integer teacherId, Pageable pageable);
+    
+    /**
+     * 游标分页根据教师ID查询课程
+     * @param teacherId 教师ID
+     * @param cursorRequest 游标分页参数
+     * @return 游标分页课程列表
+     */
+    CursorPage<Course> findCoursesByTeacherId(Integer teacherId, CursorRequest cursorRequest);
+    
     /**
      * 动态模糊查询课程信息
      * @param queryDTO 查询条件
@@ -67,6 +112,22 @@ public interface CourseService {
      */
     Page<Course> findCoursesByCondition(CourseQueryDTO queryDTO, Pageable pageable);
     
+    /**
+     * 分片动态模糊查询课程信息，不统计总数
+     * @param queryDTO 查询条件
+     * @param pageable 分页参数
+     * @return 分片结果
+     */
+    Slice<Course> findCourseSliceByCondition(CourseQueryDTO queryDTO, Pageable pageable);
+    
+    /**
+     * 游标分页动态模糊查询课程信息
+     * @param queryDTO 查询条件
+     * @param cursorRequest 游标分页参数
+     * @return 游标分页查询结果
+     */
+    CursorPage<Course> findCoursesByCondition(CourseQueryDTO queryDTO, CursorRequest cursorRequest);
+    
     /**
      * 获取所有课程
      * @return 课程列表
@@ -80,6 +141,63 @@ public interface CourseService {
      */
     Page<Course> findAllCourses(Pageable pageable);
     
+    /**
+     * 分片获取所有课程，不统计总数
+     * @param pageable 分页参数
+     * @return 分片结果
+     */
+    Slice<Course> findCourseSlice(Pageable pageable);
+    
+    /**
+     * 获取所有课程视图（含教师姓名，一条查询）
+     * @return 课程视图列表
+     */
+    List<CourseViewDTO> findAllCourseViews();
+    
+    /**
+     * 分页获取所有课程视图
+     * @param pageable 分页参数
+     * @return 分页课程视图
+     */
+    Page<CourseViewDTO> findAllCourseViews(Pageable pageable);
+    
+    /**
+     * 根据教师ID查询课程视图
+     * @param teacherId 教师ID
+     * @return 课程视图列表
+     */
+    List<CourseViewDTO> findCourseViewsByTeacherId(Integer teacherId);
+    
+    /**
+     * 分页根据教师ID查询课程视图
+     * @param teacherId 教师ID
+     * @param pageable 分页参数
+     * @return 分页课程视图
+     */
+    Page<CourseViewDTO> findCourseViewsByTeacherId(Integer teacherId, Pageable pageable);
+    
+    /**
+     * 分页查询课程花名册（学生信息与成绩，一条关联查询），结果按课程缓存
+     * 支持按name、studentNo、className、score、createTime排序
+     * @param courseId 课程ID
+     * @param pageable 分页参数
+     * @return 分页花名册，课程不存在时为空
+     */
+    Optional<Page<CourseRosterDTO>> findCourseRoster(Integer courseId, Pageable pageable);
+    
+    /**
+     * 流式导出所有课程，逐条交给consumer处理，不在内存中累积
+     * @param consumer 课程处理函数
+     */
+    void exportCourses(Consumer<Course> consumer);
+    
+    /**
+     * 游标分页获取所有课程
+     * @param cursorRequest 游标分页参数
+     * @return 游标分页课程列表
+     */
+    CursorPage<Course> findAllCourses(CursorRequest cursorRequest);
+    
     /**
      * 新增课程
      * @param course 课程信息
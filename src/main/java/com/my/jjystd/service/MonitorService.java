@@ -0,0 +1,19 @@
+package com.my.jjystd.service;
+
+import com.my.jjystd.controller.dto.CacheStatsDTO;
+import com.my.jjystd.controller.dto.SlowQueryReportDTO;
+
+public interface MonitorService {
+    /**
+     * 获取课程、教师二级缓存、查询缓存及条件查询结果缓存的命中统计
+     * @return 缓存统计
+     */
+    CacheStatsDTO getCacheStats();
+    
+    /**
+     * 获取最近记录的慢SQL中耗时最长的若干条
+     * @param limit 返回条数上限
+     * @return 慢SQL统计
+     */
+    SlowQueryReportDTO getSlowQueries(int limit);
+}
@@ -0,0 +1,31 @@
+package com.my.jjystd.service;
+
+import com.my.jjystd.controller.dto.ImportRowResultDTO;
+import com.my.jjystd.controller.dto.StudentOnboardRowDTO;
+import com.my.jjystd.controller.dto.TeacherOnboardRowDTO;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface OnboardingService {
+    /**
+     * 单次批量新增的行数上限
+     */
+    int MAX_ROWS = 20000;
+    
+    /**
+     * 批量新增学生及其用户账号（学号为用户名，默认密码123456）
+     * 按批提交，每批提交后把该批的逐行结果交给consumer
+     * @param rows 学生行
+     * @param consumer 逐行结果处理函数
+     */
+    void onboardStudents(List<StudentOnboardRowDTO> rows, Consumer<ImportRowResultDTO> consumer);
+    
+    /**
+     * 批量新增教师及其用户账号（教师编号为用户名，默认密码123456）
+     * 按批提交，每批提交后把该批的逐行结果交给consumer
+     * @param rows 教师行
+     * @param consumer 逐行结果处理函数
+     */
+    void onboardTeachers(List<TeacherOnboardRowDTO> rows, Consumer<ImportRowResultDTO> consumer);
+}
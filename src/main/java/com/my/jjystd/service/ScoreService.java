@@ -1,10 +1,22 @@
 package com.my.jjystd.service;
 
+import com.my.jjystd.common.CursorPage;
+import com.my.jjystd.common.CursorRequest;
+import com.my.jjystd.common.HistogramScope;
+import com.my.jjystd.controller.dto.CourseRankDTO;
+import com.my.jjystd.controller.dto.CourseScoreStatsDTO;
+import com.my.jjystd.controller.dto.ImportReportDTO;
+import com.my.jjystd.controller.dto.ScoreHistogramDTO;
+import com.my.jjystd.controller.dto.ScoreImportRowDTO;
+import com.my.jjystd.controller.dto.ScoreViewDTO;
+import com.my.jjystd.controller.dto.TranscriptDTO;
 import com.my.jjystd.entity.Score;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface ScoreService {
     /**
@@ -29,6 +41,22 @@ public interface ScoreService {
      */
     Page<Score> findScoresByStudentId(Integer studentId, Pageable pageable);
     
+    /**
+     * 分片根据学生ID查询成绩，不统计总数
+     * @param studentId 学生ID
+     * @param pageable 分页参数
+     * @return 分片结果
+     */
+    Slice<Score> findScoreSliceByStudentId(Integer studentId, Pageable pageable);
+    
+    /**
+     * 游标分页根据学生ID查询成绩
+     * @param studentId 学生ID
+     * @param cursorRequest 游标分页参数
+     * @return 游标分页成绩列表
+     */
+    CursorPage<Score> findScoresByStudentId(Integer studentId, CursorRequest cursorRequest);
+    
     /**
      * 根据课程ID查询成绩
      * @param courseId 课程ID
@@ -44,6 +72,22 @@ public interface ScoreService {
      */
     Page<Score> findScoresByCourseId(Integer courseId, Pageable pageable);
     
+    /**
+     * 分片根据课程ID查询成绩，不统计总数
+     * @param courseId 课程ID
+     * @param pageable 分页参数
+     * @return 分片结果
+     */
+    Slice<Score> findScoreSliceByCourseId(Integer courseId, Pageable pageable);
+    
+    /**
+     * 游标分页根据课程ID查询成绩
+     * @param courseId 课程ID
+     * @param cursorRequest 游标分页参数
+     * @return 游标分页成绩列表
+     */
+    CursorPage<Score> findScoresByCourseId(Integer courseId, CursorRequest cursorRequest);
+    
     /**
      * 根据教师ID查询成绩
      * @param teacherId 教师ID
@@ -59,6 +103,22 @@ public interface ScoreService {
      */
     Page<Score> findScoresByTeacherId(Integer teacherId, Pageable pageable);
     
+    /**
+     * 分片根据教师ID查询成绩，不统计总数
+     * @param teacherId 教师ID
+     * @param pageable 分页参数
+     * @return 分片结果
+     */
+    Slice<Score> findScoreSliceByTeacherId(Integer teacherId, Pageable pageable);
+    
+    /**
+     * 游标分页根据教师ID查询成绩
+     * @param teacherId 教师ID
+     * @param cursorRequest 游标分页参数
+     * @return 游标分页成绩列表
+     */
+    CursorPage<Score> findScoresByTeacherId(Integer teacherId, CursorRequest cursorRequest);
+    
     /**
      * 根据学生ID和课程ID查询成绩
      * @param studentId 学生ID
@@ -97,6 +157,115 @@ public interface ScoreService {
      */
     Page<Score> findAllScores(Pageable pageable);
     
+    /**
+     * 分片获取所有成绩，不统计总数
+     * @param pageable 分页参数
+     * @return 分片结果
+     */
+    Slice<Score> findScoreSlice(Pageable pageable);
+    
+    /**
+     * 游标分页获取所有成绩
+     * @param cursorRequest 游标分页参数
+     * @return 游标分页成绩列表
+     */
+    CursorPage<Score> findAllScores(CursorRequest cursorRequest);
+    
+    /**
+     * 获取课程成绩统计（平均分、最值、标准差、及格率）
+     * @param courseId 课程ID
+     * @return 统计结果
+     */
+    CourseScoreStatsDTO getCourseScoreStats(Integer courseId);
+    
+    /**
+     * 获取所有成绩视图（含课程名称、代码和教师姓名，一条查询）
+     * @return 成绩视图列表
+     */
+    List<ScoreViewDTO> findAllScoreViews();
+    
+    /**
+     * 分页获取所有成绩视图
+     * @param pageable 分页参数
+     * @return 分页成绩视图
+     */
+    Page<ScoreViewDTO> findAllScoreViews(Pageable pageable);
+    
+    /**
+     * 根据学生ID查询成绩视图
+     * @param studentId 学生ID
+     * @return 成绩视图列表
+     */
+    List<ScoreViewDTO> findScoreViewsByStudentId(Integer studentId);
+    
+    /**
+     * 分页根据学生ID查询成绩视图
+     * @param studentId 学生ID
+     * @param pageable 分页参数
+     * @return 分页成绩视图
+     */
+    Page<ScoreViewDTO> findScoreViewsByStudentId(Integer studentId, Pageable pageable);
+    
+    /**
+     * 根据课程ID查询成绩视图
+     * @param courseId 课程ID
+     * @return 成绩视图列表
+     */
+    List<ScoreViewDTO> findScoreViewsByCourseId(Integer courseId);
+    
+    /**
+     * 分页根据课程ID查询成绩视图
+     * @param courseId 课程ID
+     * @param pageable 分页参数
+     * @return 分页成绩视图
+     */
+    Page<ScoreViewDTO> findScoreViewsByCourseId(Integer courseId, Pageable pageable);
+    
+    /**
+     * 根据教师ID查询成绩视图
+     * @param teacherId 教师ID
+     * @return 成绩视图列表
+     */
+    List<ScoreViewDTO> findScoreViewsByTeacherId(Integer teacherId);
+    
+    /**
+     * 分页根据教师ID查询成绩视图
+     * @param teacherId 教师ID
+     * @param pageable 分页参数
+     * @return 分页成绩视图
+     */
+    Page<ScoreViewDTO> findScoreViewsByTeacherId(Integer teacherId, Pageable pageable);
+    
+    /**
+     * 获取成绩分布直方图，不及格合并为一段，及格以上按分段宽度划分
+     * @param scope 统计范围
+     * @param scopeId 课程或教师ID，范围为ALL时忽略
+     * @param width 分段宽度（1~100）
+     * @return 直方图
+     */
+    ScoreHistogramDTO getScoreHistogram(HistogramScope scope, Integer scopeId, Integer width);
+    
+    /**
+     * 获取学生在课程中的排名和百分位
+     * @param studentId 学生ID
+     * @param courseId 课程ID
+     * @return 排名，学生在该课程没有成绩时为空
+     */
+    Optional<CourseRankDTO> getCourseRank(Integer studentId, Integer courseId);
+    
+    /**
+     * 流式导出所有成绩，逐条交给consumer处理，不在内存中累积
+     * @param consumer 成绩处理函数
+     */
+    void exportScores(Consumer<Score> consumer);
+    
+    /**
+     * 获取学生成绩单及学分加权绩点
+     * @param studentId 学生ID
+     * @return 成绩单，学生不存在时为空
+     */
+    Optional<TranscriptDTO> getTranscript(Integer studentId);
+    
     /**
      * 新增成绩
      * @param score 成绩信息
@@ -104,6 +273,20 @@ public interface ScoreService {
      */
     Score saveScore(Score score);
     
+    /**
+     * 批量导入成绩，按(学生, 课程)存在则更新、不存在则新增
+     * @param rows 成绩行
+     * @return 逐行导入结果
+     */
+    ImportReportDTO importScores(List<ScoreImportRowDTO> rows);
+    
+    /**
+     * 批量导入CSV格式的成绩，首行为表头（studentId,courseId,teacherId,score,remark）
+     * @param csv CSV文本
+     * @return 逐行导入结果
+     */
+    ImportReportDTO importScoresCsv(String csv);
+    
     /**
      * 更新成绩信息
      * @param id 成绩ID
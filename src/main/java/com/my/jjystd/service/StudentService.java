@@ -1,11 +1,15 @@
 package com.my.jjystd.service;
 
+import com.my.jjystd.common.CursorPage;
+import com.my.jjystd.common.CursorRequest;
 import com.my.jjystd.controller.dto.StudentQueryDTO;
 import com.my.jjystd.entity.Student;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface StudentService {
     /**
@@ -15,6 +19,13 @@ public interface StudentService {
      */
     Optional<Student> findStudentById(Integer id);
     
+    /**
+     * 根据ID批量查询学生，一次IN查询
+     * @param ids 学生ID列表，最多200个
+     * @return 与ids一一对应的学生，不存在的为null
+     */
+    List<Student> findStudentsByIds(List<Integer> ids);
+    
     /**
      * 根据学号查询学生信息
      * @param studentNo 学号
@@ -42,6 +53,26 @@ public interface StudentService {
      */
     Page<Student> findAllStudents(Pageable pageable);
     
+    /**
+     * 分片获取所有学生，不统计总数
+     * @param pageable 分页参数
+     * @return 分片结果
+     */
+    Slice<Student> findStudentSlice(Pageable pageable);
+    
+    /**
+     * 流式导出所有学生，逐条交给consumer处理，不在内存中累积
+     * @param consumer 学生处理函数
+     */
+    void exportStudents(Consumer<Student> consumer);
+    
+    /**
+     * 游标分页获取所有学生列表
+     * @param cursorRequest 游标分页参数
+     * @return 游标分页学生列表
+     */
+    CursorPage<Student> findAllStudents(CursorRequest cursorRequest);
+    
     /**
      * 动态模糊查询学生信息
      * @param queryDTO 查询条件
@@ -57,6 +88,22 @@ public interface StudentService {
      */
     Page<Student> findStudentsByCondition(StudentQueryDTO queryDTO, Pageable pageable);
     
+    /**
+     * 分片动态模糊查询学生信息，不统计总数
+     * @param queryDTO 查询条件
+     * @param pageable 分页参数
+     * @return 分片结果
+     */
+    Slice<Student> findStudentSliceByCondition(StudentQueryDTO queryDTO, Pageable pageable);
+    
+    /**
+     * 游标分页动态模糊查询学生信息
+     * @param queryDTO 查询条件
+     * @param cursorRequest 游标分页参数
+     * @return 游标分页查询结果
+     */
+    CursorPage<Student> findStudentsByCondition(StudentQueryDTO queryDTO, CursorRequest cursorRequest);
+    
     /**
      * 新增学生信息
      * @param student 学生信息
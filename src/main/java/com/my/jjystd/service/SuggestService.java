@@ -0,0 +1,17 @@
+package com.my.jjystd.service;
+
+import com.my.jjystd.common.SuggestType;
+import com.my.jjystd.controller.dto.SuggestionDTO;
+
+import java.util.List;
+
+public interface SuggestService {
+    /**
+     * 按前缀获取输入提示
+     * @param type 对象类型
+     * @param prefix 名称或编号前缀
+     * @param limit 最多返回条数
+     * @return 提示条目
+     */
+    List<SuggestionDTO> suggest(SuggestType type, String prefix, Integer limit);
+}
@@ -1,9 +1,12 @@
 package com.my.jjystd.service;
 
+import com.my.jjystd.common.CursorPage;
+import com.my.jjystd.common.CursorRequest;
 import com.my.jjystd.controller.dto.TeacherQueryDTO;
 import com.my.jjystd.entity.Teacher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,6 +18,13 @@ public interface TeacherService {
      */
     Optional<Teacher> findTeacherById(Integer id);
     
+    /**
+     * 根据ID批量查询教师，一次IN查询
+     * @param ids 教师ID列表，最多200个
+     * @return 与ids一一对应的教师，不存在的为null
+     */
+    List<Teacher> findTeachersByIds(List<Integer> ids);
+    
     /**
      * 根据教师编号查询教师信息
      * @param teacherNo 教师编号
@@ -42,6 +52,20 @@ public interface TeacherService {
      */
     Page<Teacher> findAllTeachers(Pageable pageable);
     
+    /**
+     * 分片获取所有教师，不统计总数
+     * @param pageable 分页参数
+     * @return 分片结果
+     */
+    Slice<Teacher> findTeacherSlice(Pageable pageable);
+    
+    /**
+     * 游标分页获取所有教师列表
+     * @param cursorRequest 游标分页参数
+     * @return 游标分页教师列表
+     */
+    CursorPage<Teacher> findAllTeachers(CursorRequest cursorRequest);
+    
     /**
      * 动态模糊查询教师信息
      * @param queryDTO 查询条件
@@ -57,6 +81,22 @@ public interface TeacherService {
      */
     Page<Teacher> findTeachersByCondition(TeacherQueryDTO queryDTO, Pageable pageable);
     
+    /**
+     * 分片动态模糊查询教师信息，不统计总数
+     * @param queryDTO 查询条件
+     * @param pageable 分页参数
+     * @return 分片结果
+     */
+    Slice<Teacher> findTeacherSliceByCondition(TeacherQueryDTO queryDTO, Pageable pageable);
+    
+    /**
+     * 游标分页动态模糊查询教师信息
+     * @param queryDTO 查询条件
+     * @param cursorRequest 游标分页参数
+     * @return 游标分页查询结果
+     */
+    CursorPage<Teacher> findTeachersByCondition(TeacherQueryDTO queryDTO, CursorRequest cursorRequest);
+    
     /**
      * 新增教师信息
      * @param teacher 教师信息
@@ -1,5 +1,8 @@
 package com.my.jjystd.service;
 
+import com.my.jjystd.common.CursorPage;
+import com.my.jjystd.common.CursorRequest;
+import com.my.jjystd.controller.dto.LoginResponse;
 import com.my.jjystd.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -14,6 +17,13 @@ public interface UserService {
      */
     Optional<User> findUserById(Integer id);
     
+    /**
+     * 根据ID批量查询用户，一次IN查询
+     * @param ids 用户ID列表，最多200个
+     * @return 与ids一一对应的用户，不存在的为null
+     */
+    List<User> findUsersByIds(List<Integer> ids);
+    
     /**
      * 根据用户名查询用户信息
      * @param username 用户名
@@ -34,6 +44,13 @@ public interface UserService {
      */
     Page<User> findAllUsers(Pageable pageable);
     
+    /**
+     * 游标分页获取所有用户列表
+     * @param cursorRequest 游标分页参数
+     * @return 游标分页用户列表
+     */
+    CursorPage<User> findAllUsers(CursorRequest cursorRequest);
+    
     /**
      * 新增用户
      * @param user 用户信息
@@ -63,4 +80,13 @@ public interface UserService {
      * @return 登录成功返回用户信息，失败返回空
      */
     Optional<User> login(String username, String password);
+    
+    /**
+     * 按用户名、学号或教师编号登录，一次查询取得用户及学生/教师档案
+     * 匹配顺序为用户名、学号、教师编号，取第一个密码正确且已激活的身份
+     * @param identifier 用户名、学号或教师编号
+     * @param password 密码
+     * @return 登录成功返回登录信息，失败返回空
+     */
+    Optional<LoginResponse> loginByIdentifier(String identifier, String password);
 } 
\ No newline at end of file
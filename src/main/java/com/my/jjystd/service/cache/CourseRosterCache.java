@@ -0,0 +1,196 @@
+package com.my.jjystd.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.my.jjystd.controller.dto.CacheRegionStatsDTO;
+import com.my.jjystd.controller.dto.CourseRosterDTO;
+import com.my.jjystd.repository.CourseRepository;
+import com.my.jjystd.repository.ScoreRepository;
+import com.my.jjystd.service.event.CourseChangedEvent;
+import com.my.jjystd.service.event.ScoreChangedEvent;
+import com.my.jjystd.service.event.ScoreSnapshot;
+import com.my.jjystd.service.event.ScoresImportedEvent;
+import com.my.jjystd.service.event.StudentChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 课程花名册缓存
+ * 按课程缓存各分页结果，同时记录课程中全部学生ID（升序数组）和课程是否存在，
+ * 命中时（包括课程不存在）不再访问数据库；
+ * 成绩变更或导入时失效所在课程，学生信息变更时只失效包含该学生的课程，
+ * 学生可能影响任意一页的排序，因此整门课程一起失效；课程新增、修改、删除时失效该课程
+ */
+@Component
+public class CourseRosterCache {
+
+    /**
+     * 统计中显示的缓存名称
+     */
+    public static final String NAME = "course-roster";
+
+    /**
+     * 每门课程最多缓存的分页数，超出后直接查询不再缓存
+     */
+    private static final int MAX_PAGES_PER_COURSE = 64;
+
+    private final CourseRepository courseRepository;
+    private final ScoreRepository scoreRepository;
+    private final Cache<Integer, CourseRoster> rosters;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+
+    @Autowired
+    public CourseRosterCache(CourseRepository courseRepository, ScoreRepository scoreRepository,
+                             @Value("${course.roster.cache.spec:maximumSize=200,expireAfterAccess=10m}") String spec) {
+        this.courseRepository = courseRepository;
+        this.scoreRepository = scoreRepository;
+        this.rosters = Caffeine.from(spec).build();
+    }
+
+    /**
+     * 获取课程花名册的一页，未缓存时通过loader查询
+     * @param courseId 课程ID
+     * @param pageable 分页参数（作为缓存键）
+     * @param loader 查询函数
+     * @return 分页花名册，课程不存在时为空
+     */
+    public Optional<Page<CourseRosterDTO>> get(Integer courseId, Pageable pageable,
+                                               Supplier<Page<CourseRosterDTO>> loader) {
+        CourseRoster roster = rosters.get(courseId, this::loadRoster);
+        if (roster == CourseRoster.MISSING) {
+            hits.increment();
+            return Optional.empty();
+        }
+        Page<CourseRosterDTO> page = roster.pages.get(pageable);
+        if (page != null) {
+            hits.increment();
+            return Optional.of(page);
+        }
+        misses.increment();
+        page = loader.get();
+        // 查询期间课程被失效时，roster已从缓存移除，写入不会被读到
+        if (roster.pages.size() < MAX_PAGES_PER_COURSE) {
+            roster.pages.put(pageable, page);
+            puts.increment();
+        }
+        return Optional.of(page);
+    }
+
+    /**
+     * 失效指定课程的花名册
+     * @param courseId 课程ID
+     */
+    public void evict(Integer courseId) {
+        if (courseId != null) {
+            rosters.invalidate(courseId);
+        }
+    }
+
+    /**
+     * 成绩变更后失效变更前后所在课程
+     * @param event 成绩变更事件
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScoreChanged(ScoreChangedEvent event) {
+        evictCourseOf(event.before());
+        evictCourseOf(event.after());
+    }
+
+    /**
+     * 成绩批量导入后失效受影响的课程
+     * @param event 成绩批量导入事件
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScoresImported(ScoresImportedEvent event) {
+        rosters.invalidateAll(event.courseIds());
+    }
+
+    /**
+     * 学生信息变更后失效包含该学生的课程，只查内存中的学生ID，不访问数据库
+     * @param event 学生信息变更事件
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentChanged(StudentChangedEvent event) {
+        Integer studentId = event.studentId();
+        if (studentId == null) {
+            return;
+        }
+        for (Map.Entry<Integer, CourseRoster> entry : rosters.asMap().entrySet()) {
+            if (entry.getValue().contains(studentId)) {
+                rosters.invalidate(entry.getKey());
+            }
+        }
+    }
+
+    /**
+     * 课程新增、修改、删除后失效其花名册，新增时清除之前缓存的“课程不存在”
+     * @param event 课程信息变更事件
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        evict(event.courseId());
+    }
+
+    /**
+     * 获取花名册缓存的命中统计（按分页计）
+     * @return 缓存统计
+     */
+    public CacheRegionStatsDTO getStats() {
+        long size = 0;
+        for (CourseRoster roster : rosters.asMap().values()) {
+            size += roster.pages.size();
+        }
+        return CacheRegionStatsDTO.of(NAME, hits.sum(), misses.sum(), puts.sum(), size);
+    }
+
+    private void evictCourseOf(ScoreSnapshot snapshot) {
+        if (snapshot != null) {
+            evict(snapshot.courseId());
+        }
+    }
+
+    private CourseRoster loadRoster(Integer courseId) {
+        List<Integer> studentIds = scoreRepository.findStudentIdsByCourseId(courseId);
+        // 有成绩即说明课程存在，只有空课程才需要再确认一次
+        if (studentIds.isEmpty() && !courseRepository.existsById(courseId)) {
+            return CourseRoster.MISSING;
+        }
+        int[] sorted = studentIds.stream().mapToInt(Integer::intValue).sorted().toArray();
+        return new CourseRoster(sorted);
+    }
+
+    /**
+     * 单门课程的缓存内容
+     */
+    private static final class CourseRoster {
+        // 课程不存在
+        static final CourseRoster MISSING = new CourseRoster(new int[0]);
+
+        // 课程中的学生ID，升序
+        private final int[] studentIds;
+        // 分页参数 -> 分页结果
+        private final Map<Pageable, Page<CourseRosterDTO>> pages = new ConcurrentHashMap<>();
+
+        private CourseRoster(int[] studentIds) {
+            this.studentIds = studentIds;
+        }
+
+        boolean contains(int studentId) {
+            return Arrays.binarySearch(studentIds, studentId) >= 0;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.my.jjystd.service.cache;
+
+import com.my.jjystd.common.CacheRegions;
+import com.my.jjystd.controller.dto.CacheRegionStatsDTO;
+import com.my.jjystd.controller.dto.CacheStatsDTO;
+import com.my.jjystd.entity.Course;
+import com.my.jjystd.entity.Teacher;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 课程、教师基础数据的二级缓存管理
+ * Hibernate在实体写入时会更新实体缓存并使相关查询缓存过期，
+ * 这里在业务写入提交后再主动失效一次，覆盖绕过Hibernate的修改，并提供命中率统计
+ */
+@Component
+public class ReferenceDataCache {
+
+    private static final List<String> ENTITY_REGIONS = List.of(CacheRegions.COURSE, CacheRegions.TEACHER);
+
+    private static final List<String> QUERY_REGIONS = List.of(
+            CacheRegions.COURSE_BY_CODE, CacheRegions.COURSE_LIST,
+            CacheRegions.TEACHER_BY_NO, CacheRegions.TEACHER_LIST);
+
+    private final SessionFactory sessionFactory;
+
+    @Autowired
+    public ReferenceDataCache(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    /**
+     * 课程写入后失效课程缓存及课程相关查询缓存
+     * @param courseId 课程ID，新增时可为空
+     */
+    public void evictCourse(Integer courseId) {
+        afterCommit(() -> {
+            Cache cache = sessionFactory.getCache();
+            if (courseId != null) {
+                cache.evictEntityData(Course.class, courseId);
+            }
+            cache.evictQueryRegion(CacheRegions.COURSE_BY_CODE);
+            cache.evictQueryRegion(CacheRegions.COURSE_LIST);
+        });
+    }
+
+    /**
+     * 教师写入后失效教师缓存及教师相关查询缓存
+     * @param teacherId 教师ID，新增时可为空
+     */
+    public void evictTeacher(Integer teacherId) {
+        afterCommit(() -> {
+            Cache cache = sessionFactory.getCache();
+            if (teacherId != null) {
+                cache.evictEntityData(Teacher.class, teacherId);
+            }
+            cache.evictQueryRegion(CacheRegions.TEACHER_BY_NO);
+            cache.evictQueryRegion(CacheRegions.TEACHER_LIST);
+        });
+    }
+
+    /**
+     * 获取二级缓存和查询缓存的命中统计
+     * @return 缓存统计
+     */
+    public CacheStatsDTO getStats() {
+        Statistics statistics = sessionFactory.getStatistics();
+        List<CacheRegionStatsDTO> regions = new ArrayList<>();
+        for (String region : ENTITY_REGIONS) {
+            regions.add(toStats(region, statistics.getDomainDataRegionStatistics(region)));
+        }
+        for (String region : QUERY_REGIONS) {
+            // 查询缓存区域在第一次使用时才创建
+            regions.add(toStats(region, statistics.getQueryRegionStatistics(region)));
+        }
+
+        CacheStatsDTO stats = new CacheStatsDTO();
+        stats.setEntityTotal(CacheRegionStatsDTO.of("entity",
+                statistics.getSecondLevelCacheHitCount(),
+                statistics.getSecondLevelCacheMissCount(),
+                statistics.getSecondLevelCachePutCount(), null));
+        stats.setQueryTotal(CacheRegionStatsDTO.of("query",
+                statistics.getQueryCacheHitCount(),
+                statistics.getQueryCacheMissCount(),
+                statistics.getQueryCachePutCount(), null));
+        stats.setRegions(regions);
+        return stats;
+    }
+
+    private static CacheRegionStatsDTO toStats(String region, CacheRegionStatistics statistics) {
+        if (statistics == null) {
+            return CacheRegionStatsDTO.of(region, 0, 0, 0, null);
+        }
+        long size = statistics.getElementCountInMemory();
+        return CacheRegionStatsDTO.of(region, statistics.getHitCount(), statistics.getMissCount(),
+                statistics.getPutCount(), size >= 0 ? size : null);
+    }
+
+    /**
+     * 存在事务时在提交后执行，避免失效后、提交前被并发读取重新缓存旧数据
+     */
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
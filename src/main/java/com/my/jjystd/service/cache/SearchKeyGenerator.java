@@ -0,0 +1,83 @@
+package com.my.jjystd.service.cache;
+
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.domain.Pageable;
+import org.springframework.util.StringUtils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 条件查询缓存键
+ * 查询DTO按属性名归一化为有序映射，空白字符串与null等价（与查询时的hasText判断一致）；
+ * 分页参数取页码、每页条数和排序；
+ * 键中带有所在缓存的代数，缓存清空后代数递增，清空前已开始的查询写回的旧键不会再被命中
+ */
+public class SearchKeyGenerator implements KeyGenerator {
+
+    private final SearchResultCache searchResultCache;
+
+    public SearchKeyGenerator(SearchResultCache searchResultCache) {
+        this.searchResultCache = searchResultCache;
+    }
+
+    @Override
+    public Object generate(Object target, Method method, Object... params) {
+        Object[] parts = new Object[params.length + 2];
+        parts[0] = method.getName();
+        parts[1] = generations(target, method);
+        for (int i = 0; i < params.length; i++) {
+            parts[i + 2] = normalize(params[i]);
+        }
+        return new SimpleKey(parts);
+    }
+
+    private List<Long> generations(Object target, Method method) {
+        Method specific = AopUtils.getMostSpecificMethod(method, AopUtils.getTargetClass(target));
+        Cacheable cacheable = AnnotatedElementUtils.findMergedAnnotation(specific, Cacheable.class);
+        if (cacheable == null) {
+            return List.of();
+        }
+        return Arrays.stream(cacheable.cacheNames()).map(searchResultCache::generation).toList();
+    }
+
+    private static Object normalize(Object param) {
+        if (param == null) {
+            return null;
+        }
+        if (param instanceof Pageable pageable) {
+            return pageable.isPaged()
+                    ? List.of(pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort().toString())
+                    : List.of("unpaged", pageable.getSort().toString());
+        }
+        if (param instanceof CharSequence || param instanceof Number || param instanceof Boolean) {
+            return param;
+        }
+        BeanWrapper wrapper = new BeanWrapperImpl(param);
+        Map<String, Object> properties = new TreeMap<>();
+        for (PropertyDescriptor descriptor : wrapper.getPropertyDescriptors()) {
+            String name = descriptor.getName();
+            if ("class".equals(name) || !wrapper.isReadableProperty(name)) {
+                continue;
+            }
+            Object value = wrapper.getPropertyValue(name);
+            if (value instanceof String text && !StringUtils.hasText(text)) {
+                value = null;
+            }
+            if (value != null) {
+                properties.put(name, value);
+            }
+        }
+        return List.of(param.getClass().getName(), properties);
+    }
+}
@@ -0,0 +1,103 @@
+package com.my.jjystd.service.cache;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.my.jjystd.common.SearchCaches;
+import com.my.jjystd.controller.dto.CacheRegionStatsDTO;
+import com.my.jjystd.service.event.CourseChangedEvent;
+import com.my.jjystd.service.event.StudentChangedEvent;
+import com.my.jjystd.service.event.TeacherChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 学生、教师、课程条件查询结果缓存的失效与统计
+ * 对应实体保存、修改、删除的事务提交后清空该类型的全部查询结果；
+ * 每个缓存有一个代数，清空时递增并写入缓存键，清空前已开始的查询写回的结果不会再被命中
+ */
+@Component
+public class SearchResultCache {
+
+    private final CacheManager cacheManager;
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    @Autowired
+    public SearchResultCache(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * 学生信息变更后清空学生查询缓存
+     * @param event 学生信息变更事件
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentChanged(StudentChangedEvent event) {
+        clear(SearchCaches.STUDENT);
+    }
+
+    /**
+     * 教师信息变更后清空教师查询缓存，课程查询可按教师姓名过滤，一并清空
+     * @param event 教师信息变更事件
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTeacherChanged(TeacherChangedEvent event) {
+        clear(SearchCaches.TEACHER);
+        clear(SearchCaches.COURSE);
+    }
+
+    /**
+     * 课程信息变更后清空课程查询缓存
+     * @param event 课程信息变更事件
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        clear(SearchCaches.COURSE);
+    }
+
+    /**
+     * 获取各查询缓存的命中统计
+     * @return 缓存统计
+     */
+    public List<CacheRegionStatsDTO> getStats() {
+        List<CacheRegionStatsDTO> stats = new ArrayList<>();
+        for (String name : SearchCaches.ALL) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache instanceof CaffeineCache caffeineCache) {
+                com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = caffeineCache.getNativeCache();
+                CacheStats cacheStats = nativeCache.stats();
+                // @Cacheable未命中后写入结果，写入次数即未命中次数
+                stats.add(CacheRegionStatsDTO.of(name, cacheStats.hitCount(), cacheStats.missCount(),
+                        cacheStats.missCount(), nativeCache.estimatedSize()));
+            } else {
+                stats.add(CacheRegionStatsDTO.of(name, 0, 0, 0, null));
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * 缓存当前的代数，由缓存键生成器写入键中
+     * @param name 缓存名称
+     * @return 代数
+     */
+    public long generation(String name) {
+        return generations.computeIfAbsent(name, key -> new AtomicLong()).get();
+    }
+
+    private void clear(String name) {
+        generations.computeIfAbsent(name, key -> new AtomicLong()).incrementAndGet();
+        Cache cache = cacheManager.getCache(name);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.my.jjystd.service.event;
+
+import com.my.jjystd.entity.Course;
+
+/**
+ * 课程信息变更事件
+ * @param courseId 课程ID
+ * @param course 变更后的课程信息，删除时为空
+ */
+public record CourseChangedEvent(Integer courseId, Course course) implements EntityChangedEvent<Course> {
+
+    @Override
+    public Class<Course> entityType() {
+        return Course.class;
+    }
+
+    @Override
+    public Integer entityId() {
+        return courseId;
+    }
+
+    @Override
+    public Course entity() {
+        return course;
+    }
+}
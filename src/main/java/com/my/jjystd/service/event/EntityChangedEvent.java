@@ -0,0 +1,23 @@
+package com.my.jjystd.service.event;
+
+/**
+ * 学生、教师、课程等基础数据变更事件的公共视图，供内存索引统一处理
+ * @param <T> 实体类型
+ */
+public interface EntityChangedEvent<T> {
+
+    /**
+     * 实体类型
+     */
+    Class<T> entityType();
+
+    /**
+     * 实体ID
+     */
+    Integer entityId();
+
+    /**
+     * 变更后的实体，删除时为空
+     */
+    T entity();
+}
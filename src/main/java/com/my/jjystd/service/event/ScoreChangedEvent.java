@@ -0,0 +1,10 @@
+package com.my.jjystd.service.event;
+
+/**
+ * 成绩变更事件
+ * 新增时before为空，删除时after为空
+ * @param before 变更前的成绩
+ * @param after 变更后的成绩
+ */
+public record ScoreChangedEvent(ScoreSnapshot before, ScoreSnapshot after) {
+}
@@ -0,0 +1,28 @@
+package com.my.jjystd.service.event;
+
+import com.my.jjystd.entity.Score;
+
+/**
+ * 成绩快照，记录变更前后的关键字段
+ * @param id 成绩ID
+ * @param studentId 学生ID
+ * @param courseId 课程ID
+ * @param teacherId 教师ID
+ * @param score 分数
+ */
+public record ScoreSnapshot(Integer id, Integer studentId, Integer courseId, Integer teacherId, Float score) {
+
+    /**
+     * 从Score实体创建快照
+     * @param score 成绩实体
+     * @return 成绩快照
+     */
+    public static ScoreSnapshot of(Score score) {
+        return new ScoreSnapshot(
+                score.getId(),
+                score.getStudentId(),
+                score.getCourse() != null ? score.getCourse().getId() : null,
+                score.getTeacher() != null ? score.getTeacher().getId() : null,
+                score.getScore());
+    }
+}
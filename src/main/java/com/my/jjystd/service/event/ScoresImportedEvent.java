@@ -0,0 +1,10 @@
+package com.my.jjystd.service.event;
+
+import java.util.Set;
+
+/**
+ * 成绩批量写入事件，批量导入绕过了逐条的成绩变更事件
+ * @param courseIds 受影响的课程ID
+ */
+public record ScoresImportedEvent(Set<Integer> courseIds) {
+}
@@ -0,0 +1,26 @@
+package com.my.jjystd.service.event;
+
+import com.my.jjystd.entity.Student;
+
+/**
+ * 学生信息变更事件
+ * @param studentId 学生ID
+ * @param student 变更后的学生信息，删除时为空
+ */
+public record StudentChangedEvent(Integer studentId, Student student) implements EntityChangedEvent<Student> {
+
+    @Override
+    public Class<Student> entityType() {
+        return Student.class;
+    }
+
+    @Override
+    public Integer entityId() {
+        return studentId;
+    }
+
+    @Override
+    public Student entity() {
+        return student;
+    }
+}
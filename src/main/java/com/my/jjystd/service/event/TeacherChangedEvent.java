@@ -0,0 +1,26 @@
+package com.my.jjystd.service.event;
+
+import com.my.jjystd.entity.Teacher;
+
+/**
+ * 教师信息变更事件
+ * @param teacherId 教师ID
+ * @param teacher 变更后的教师信息，删除时为空
+ */
+public record TeacherChangedEvent(Integer teacherId, Teacher teacher) implements EntityChangedEvent<Teacher> {
+
+    @Override
+    public Class<Teacher> entityType() {
+        return Teacher.class;
+    }
+
+    @Override
+    public Integer entityId() {
+        return teacherId;
+    }
+
+    @Override
+    public Teacher entity() {
+        return teacher;
+    }
+}
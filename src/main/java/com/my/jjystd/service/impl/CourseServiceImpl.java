@@ -1,32 +1,83 @@
 package com.my.jjystd.service.impl;
 
+import com.my.jjystd.common.BadRequestException;
+import com.my.jjystd.common.BatchIds;
+import com.my.jjystd.common.CursorPage;
+import com.my.jjystd.common.CursorRequest;
+import com.my.jjystd.common.SearchCaches;
 import com.my.jjystd.controller.dto.CourseQueryDTO;
+import com.my.jjystd.controller.dto.CourseRosterDTO;
+import com.my.jjystd.controller.dto.CourseViewDTO;
 import com.my.jjystd.entity.Course;
 import com.my.jjystd.repository.CourseRepository;
+import com.my.jjystd.repository.ScoreRepository;
+import com.my.jjystd.repository.support.KeysetPagination;
+import com.my.jjystd.repository.support.StreamingExport;
 import com.my.jjystd.service.CourseService;
+import com.my.jjystd.service.cache.CourseRosterCache;
+import com.my.jjystd.service.cache.ReferenceDataCache;
+import com.my.jjystd.service.event.CourseChangedEvent;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.JpaSort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.criteria.Join;
 import jakarta.persistence.criteria.JoinType;
 import jakarta.persistence.criteria.Predicate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.Date;
+import java.util.function.Consumer;
 
 @Service
 public class CourseServiceImpl implements CourseService {
     
+    /**
+     * 游标分页可排序字段，排序字段值会写入游标
+     */
+    private static final Set<String> CURSOR_SORT_PROPERTIES = Set.of("name", "courseCode", "credit", "status", "createTime");
+    
+    /**
+     * 花名册可排序字段 -> 查询中的带别名路径
+     */
+    private static final Map<String, String> ROSTER_SORT_PATHS = Map.of(
+            "name", "st.name",
+            "studentNo", "st.studentNo",
+            "className", "st.className",
+            "score", "s.score",
+            "createTime", "s.createTime");
+    
     private final CourseRepository courseRepository;
+    private final ScoreRepository scoreRepository;
+    private final EntityManager entityManager;
+    private final ReferenceDataCache referenceDataCache;
+    private final CourseRosterCache courseRosterCache;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Autowired
-    public CourseServiceImpl(CourseRepository courseRepository) {
+    public CourseServiceImpl(CourseRepository courseRepository, ScoreRepository scoreRepository,
+                             EntityManager entityManager, ReferenceDataCache referenceDataCache,
+                             CourseRosterCache courseRosterCache, ApplicationEventPublisher eventPublisher) {
         this.courseRepository = courseRepository;
+        this.scoreRepository = scoreRepository;
+        this.entityManager = entityManager;
+        this.referenceDataCache = referenceDataCache;
+        this.courseRosterCache = courseRosterCache;
+        this.eventPublisher = eventPublisher;
     }
     
     @Override
@@ -34,6 +85,11 @@ public class CourseServiceImpl implements CourseService {
         return courseRepository.findById(id);
     }
     
+    @Override
+    public List<Course> findCoursesByIds(List<Integer> ids) {
+        return BatchIds.inRequestOrder(ids, courseRepository.findByIdIn(BatchIds.distinct(ids)), Course::getId);
+    }
+    
     @Override
     public List<Course> findCoursesByName(String name) {
         return courseRepository.findByNameContaining(name);
@@ -44,6 +100,18 @@ public class CourseServiceImpl implements CourseService {
         return courseRepository.findByNameContaining(name, pageable);
     }
     
+    @Override
+    public Slice<Course> findCourseSliceByName(String name, Pageable pageable) {
+        return courseRepository.findSliceByNameContaining(name, pageable);
+    }
+    
+    @Override
+    public CursorPage<Course> findCoursesByName(String name, CursorRequest cursorRequest) {
+        Specification<Course> spec = (root, query, criteriaBuilder) ->
+                criteriaBuilder.like(root.get("name"), "%" + name + "%");
+        return KeysetPagination.fetch(courseRepository, Course.class, CURSOR_SORT_PROPERTIES, spec, cursorRequest);
+    }
+    
     @Override
     public Course findByCourseCode(String courseCode) {
         return courseRepository.findByCourseCode(courseCode);
@@ -59,6 +127,18 @@ public class CourseServiceImpl implements CourseService {
         return courseRepository.findByTeacherId(teacherId, pageable);
     }
     
+    @Override
+    public Slice<Course> findCourseSliceByTeacherId(Integer teacherId, Pageable pageable) {
+        return courseRepository.findSliceByTeacherId(teacherId, pageable);
+    }
+    
+    @Override
+    public CursorPage<Course> findCoursesByTeacherId(Integer teacherId, CursorRequest cursorRequest) {
+        Specification<Course> spec = (root, query, criteriaBuilder) ->
+                criteriaBuilder.equal(root.get("teacher").get("id"), teacherId);
+        return KeysetPagination.fetch(courseRepository, Course.class, CURSOR_SORT_PROPERTIES, spec, cursorRequest);
+    }
+    
     @Override
     public List<Course> findAllCourses() {
         return courseRepository.findAll();
@@ -69,13 +149,83 @@ public class CourseServiceImpl implements CourseService {
         return courseRepository.findAll(pageable);
     }
     
+    @Override
+    public Slice<Course> findCourseSlice(Pageable pageable) {
+        return courseRepository.findSliceBy(pageable);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public void exportCourses(Consumer<Course> consumer) {
+        StreamingExport.forEach(entityManager, courseRepository.streamAllForExport(), consumer);
+    }
+    
+    @Override
+    public List<CourseViewDTO> findAllCourseViews() {
+        return courseRepository.findAllViews();
+    }
+    
+    @Override
+    public Page<CourseViewDTO> findAllCourseViews(Pageable pageable) {
+        return courseRepository.findAllViews(pageable);
+    }
+    
+    @Override
+    public List<CourseViewDTO> findCourseViewsByTeacherId(Integer teacherId) {
+        return courseRepository.findViewsByTeacherId(teacherId);
+    }
+    
+    @Override
+    public Page<CourseViewDTO> findCourseViewsByTeacherId(Integer teacherId, Pageable pageable) {
+        return courseRepository.findViewsByTeacherId(teacherId, pageable);
+    }
+    
+    @Override
+    public Optional<Page<CourseRosterDTO>> findCourseRoster(Integer courseId, Pageable pageable) {
+        // 先校验排序字段，非法请求不进入缓存
+        Pageable query = toRosterQuery(pageable);
+        return courseRosterCache.get(courseId, pageable,
+                () -> scoreRepository.findRosterByCourseId(courseId, query));
+    }
+    
+    /**
+     * 将接口排序字段转换为花名册查询的带别名路径，并追加成绩ID保证分页顺序稳定
+     * @param pageable 分页参数
+     * @return 查询用分页参数
+     */
+    static Pageable toRosterQuery(Pageable pageable) {
+        JpaSort sort = null;
+        for (Sort.Order order : pageable.getSort()) {
+            String path = ROSTER_SORT_PATHS.get(order.getProperty());
+            if (path == null) {
+                throw new BadRequestException("不支持的排序字段：" + order.getProperty());
+            }
+            sort = sort == null ? JpaSort.unsafe(order.getDirection(), path)
+                    : sort.andUnsafe(order.getDirection(), path);
+        }
+        sort = sort == null ? JpaSort.unsafe(Sort.Direction.ASC, "s.id")
+                : sort.andUnsafe(Sort.Direction.ASC, "s.id");
+        if (pageable.isUnpaged()) {
+            return PageRequest.of(0, Integer.MAX_VALUE, sort);
+        }
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort);
+    }
+    
+    @Override
+    public CursorPage<Course> findAllCourses(CursorRequest cursorRequest) {
+        return KeysetPagination.fetch(courseRepository, Course.class, CURSOR_SORT_PROPERTIES, null, cursorRequest);
+    }
+    
     @Override
     public Course saveCourse(Course course) {
         // 设置创建时间
         if (course.getCreateTime() == null) {
             course.setCreateTime(new Date());
         }
-        return courseRepository.save(course);
+        Course savedCourse = courseRepository.save(course);
+        referenceDataCache.evictCourse(savedCourse.getId());
+        eventPublisher.publishEvent(new CourseChangedEvent(savedCourse.getId(), savedCourse));
+        return savedCourse;
     }
     
     @Override
@@ -101,7 +251,10 @@ public class CourseServiceImpl implements CourseService {
                 existingCourse.setStatus(courseDetails.getStatus());
             }
             // 保存更新后的课程信息
-            return courseRepository.save(existingCourse);
+            Course savedCourse = courseRepository.save(existingCourse);
+            referenceDataCache.evictCourse(id);
+            eventPublisher.publishEvent(new CourseChangedEvent(id, savedCourse));
+            return savedCourse;
         });
     }
     
@@ -109,28 +262,45 @@ public class CourseServiceImpl implements CourseService {
     public boolean deleteCourse(Integer id) {
         return courseRepository.findById(id).map(course -> {
             courseRepository.delete(course);
+            referenceDataCache.evictCourse(id);
+            eventPublisher.publishEvent(new CourseChangedEvent(id, null));
             return true;
         }).orElse(false);
     }
     
     @Override
+    @Cacheable(cacheNames = SearchCaches.COURSE, keyGenerator = "searchKeyGenerator")
     public List<Course> findCoursesByCondition(CourseQueryDTO queryDTO) {
         Specification<Course> spec = buildSpecification(queryDTO);
         return courseRepository.findAll(spec);
     }
     
     @Override
+    @Cacheable(cacheNames = SearchCaches.COURSE, keyGenerator = "searchKeyGenerator")
     public Page<Course> findCoursesByCondition(CourseQueryDTO queryDTO, Pageable pageable) {
         Specification<Course> spec = buildSpecification(queryDTO);
         return courseRepository.findAll(spec, pageable);
     }
     
+    @Override
+    @Cacheable(cacheNames = SearchCaches.COURSE, keyGenerator = "searchKeyGenerator")
+    public Slice<Course> findCourseSliceByCondition(CourseQueryDTO queryDTO, Pageable pageable) {
+        Specification<Course> spec = buildSpecification(queryDTO);
+        return courseRepository.findBy(spec, query -> query.sortBy(pageable.getSort()).slice(pageable));
+    }
+    
+    @Override
+    public CursorPage<Course> findCoursesByCondition(CourseQueryDTO queryDTO, CursorRequest cursorRequest) {
+        Specification<Course> spec = buildSpecification(queryDTO);
+        return KeysetPagination.fetch(courseRepository, Course.class, CURSOR_SORT_PROPERTIES, spec, cursorRequest);
+    }
+    
     /**
-     * 构建动态查询条件
+     * 构建动态查询条件，不依赖实例状态，包内可见供基准测试直接调用
      * @param queryDTO 查询参数
      * @return 查询条件Specification
      */
-    private Specification<Course> buildSpecification(CourseQueryDTO queryDTO) {
+    static Specification<Course> buildSpecification(CourseQueryDTO queryDTO) {
         return (root, query, criteriaBuilder) -> {
             List<Predicate> predicates = new ArrayList<>();
             
@@ -0,0 +1,50 @@
+package com.my.jjystd.service.impl;
+
+import com.my.jjystd.controller.dto.CacheRegionStatsDTO;
+import com.my.jjystd.controller.dto.CacheStatsDTO;
+import com.my.jjystd.controller.dto.SlowQueryReportDTO;
+import com.my.jjystd.service.MonitorService;
+import com.my.jjystd.service.cache.CourseRosterCache;
+import com.my.jjystd.service.cache.ReferenceDataCache;
+import com.my.jjystd.service.cache.SearchResultCache;
+import com.my.jjystd.service.monitor.SlowQueryLog;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+public class MonitorServiceImpl implements MonitorService {
+    
+    private final ReferenceDataCache referenceDataCache;
+    private final SearchResultCache searchResultCache;
+    private final CourseRosterCache courseRosterCache;
+    private final SlowQueryLog slowQueryLog;
+    
+    @Autowired
+    public MonitorServiceImpl(ReferenceDataCache referenceDataCache, SearchResultCache searchResultCache,
+                              CourseRosterCache courseRosterCache, SlowQueryLog slowQueryLog) {
+        this.referenceDataCache = referenceDataCache;
+        this.searchResultCache = searchResultCache;
+        this.courseRosterCache = courseRosterCache;
+        this.slowQueryLog = slowQueryLog;
+    }
+    
+    @Override
+    public CacheStatsDTO getCacheStats() {
+        CacheStatsDTO stats = referenceDataCache.getStats();
+        List<CacheRegionStatsDTO> searchCaches = searchResultCache.getStats();
+        searchCaches.add(courseRosterCache.getStats());
+        stats.setSearchCaches(searchCaches);
+        return stats;
+    }
+    
+    @Override
+    public SlowQueryReportDTO getSlowQueries(int limit) {
+        SlowQueryReportDTO report = new SlowQueryReportDTO();
+        report.setThresholdMillis(slowQueryLog.getThresholdMillis());
+        report.setRecordedCount(slowQueryLog.getRecordedCount());
+        report.setEntries(slowQueryLog.getSlowest(limit));
+        return report;
+    }
+}
@@ -0,0 +1,296 @@
+package com.my.jjystd.service.impl;
+
+import com.my.jjystd.common.BadRequestException;
+import com.my.jjystd.controller.dto.ImportRowResultDTO;
+import com.my.jjystd.controller.dto.StudentOnboardRowDTO;
+import com.my.jjystd.controller.dto.TeacherOnboardRowDTO;
+import com.my.jjystd.entity.Student;
+import com.my.jjystd.entity.Teacher;
+import com.my.jjystd.entity.User;
+import com.my.jjystd.repository.OnboardingBulkRepository;
+import com.my.jjystd.service.OnboardingService;
+import com.my.jjystd.service.cache.ReferenceDataCache;
+import com.my.jjystd.service.event.StudentChangedEvent;
+import com.my.jjystd.service.event.TeacherChangedEvent;
+import com.my.jjystd.service.security.PasswordHasher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+@Service
+public class OnboardingServiceImpl implements OnboardingService {
+    
+    /**
+     * 每个事务处理的行数，提交后即输出该批结果
+     */
+    private static final int CHUNK_SIZE = OnboardingBulkRepository.BATCH_SIZE;
+    
+    /**
+     * 新账号的默认密码，与单条新增学生、教师一致
+     */
+    private static final String DEFAULT_PASSWORD = "123456";
+    
+    private final OnboardingBulkRepository onboardingBulkRepository;
+    private final PasswordHasher passwordHasher;
+    private final ReferenceDataCache referenceDataCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    public OnboardingServiceImpl(OnboardingBulkRepository onboardingBulkRepository, PasswordHasher passwordHasher,
+                                 ReferenceDataCache referenceDataCache, ApplicationEventPublisher eventPublisher,
+                                 PlatformTransactionManager transactionManager) {
+        this.onboardingBulkRepository = onboardingBulkRepository;
+        this.passwordHasher = passwordHasher;
+        this.referenceDataCache = referenceDataCache;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+    
+    @Override
+    public void onboardStudents(List<StudentOnboardRowDTO> rows, Consumer<ImportRowResultDTO> consumer) {
+        onboard(rows, StudentOnboardRowDTO::getStudentNo, "学号", OnboardingServiceImpl::validateStudent,
+                this::insertStudents, consumer);
+    }
+    
+    @Override
+    public void onboardTeachers(List<TeacherOnboardRowDTO> rows, Consumer<ImportRowResultDTO> consumer) {
+        onboard(rows, TeacherOnboardRowDTO::getTeacherNo, "教师编号", OnboardingServiceImpl::validateTeacher,
+                this::insertTeachers, consumer);
+    }
+    
+    /**
+     * 分批处理：逐行校验、同批次内去重，一次查询校验标识是否已被占用，再批量写入用户和档案；
+     * 用户名、学号、教师编号上有唯一索引，预检查之后被并发写入占用的标识由唯一索引拦截，该批逐行重试并逐行报告
+     * @param rows 数据行
+     * @param identifier 登录标识（学号或教师编号）
+     * @param identifierName 标识名称，用于提示信息
+     * @param validator 必填字段校验，通过返回null
+     * @param inserter 批量写入，返回与输入一一对应的档案ID
+     * @param consumer 逐行结果处理函数
+     */
+    private <R> void onboard(List<R> rows, Function<R, String> identifier, String identifierName,
+                             Function<R, String> validator, Inserter<R> inserter,
+                             Consumer<ImportRowResultDTO> consumer) {
+        if (rows.size() > MAX_ROWS) {
+            throw new BadRequestException("单次新增不能超过" + MAX_ROWS + "行");
+        }
+        // 所有账号的默认密码相同，只计算一次哈希
+        String passwordHash = passwordHasher.hash(DEFAULT_PASSWORD);
+        Map<String, Integer> firstRowByIdentifier = new HashMap<>();
+        for (int from = 0; from < rows.size(); from += CHUNK_SIZE) {
+            List<R> chunk = rows.subList(from, Math.min(from + CHUNK_SIZE, rows.size()));
+            ImportRowResultDTO[] results = new ImportRowResultDTO[chunk.size()];
+            List<Integer> candidates = new ArrayList<>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                int rowNumber = from + i + 1;
+                R row = chunk.get(i);
+                String error = row == null ? "空行" : validator.apply(row);
+                if (error == null) {
+                    Integer previous = firstRowByIdentifier.putIfAbsent(identifier.apply(row), rowNumber);
+                    if (previous != null) {
+                        error = identifierName + "与第" + previous + "行重复";
+                    }
+                }
+                if (error != null) {
+                    results[i] = ImportRowResultDTO.of(rowNumber, ImportRowResultDTO.FAILED, error);
+                } else {
+                    candidates.add(i);
+                }
+            }
+            
+            int offset = from;
+            List<Integer> inserting = new ArrayList<>(candidates.size());
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    Set<String> identifiers = new LinkedHashSet<>();
+                    candidates.forEach(i -> identifiers.add(identifier.apply(chunk.get(i))));
+                    Set<String> taken = onboardingBulkRepository.findTakenIdentifiers(identifiers);
+                    List<R> toInsert = new ArrayList<>(candidates.size());
+                    for (int i : candidates) {
+                        String value = identifier.apply(chunk.get(i));
+                        if (taken.contains(value)) {
+                            results[i] = ImportRowResultDTO.of(offset + i + 1, ImportRowResultDTO.FAILED,
+                                    identifierName + "已存在：" + value);
+                        } else {
+                            toInsert.add(chunk.get(i));
+                            inserting.add(i);
+                        }
+                    }
+                    List<Integer> ids = inserter.insert(toInsert, passwordHash, new Date());
+                    for (int k = 0; k < inserting.size(); k++) {
+                        int i = inserting.get(k);
+                        results[i] = ImportRowResultDTO.of(offset + i + 1, ImportRowResultDTO.CREATED, "ID：" + ids.get(k));
+                    }
+                });
+            } catch (DataIntegrityViolationException e) {
+                // 预检查之后其他请求写入了相同的标识，唯一索引拒绝了整批；逐行重试，只有冲突的行失败
+                for (int i : inserting) {
+                    results[i] = insertOne(chunk.get(i), offset + i + 1, identifier, identifierName, inserter, passwordHash);
+                }
+            } catch (DataAccessException | TransactionException e) {
+                // 本批回滚，未写入的行标记失败，后续批次继续处理
+                String message = "写入失败：" + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+                for (int i : inserting.isEmpty() ? candidates : inserting) {
+                    results[i] = ImportRowResultDTO.of(offset + i + 1, ImportRowResultDTO.FAILED, message);
+                }
+            }
+            for (ImportRowResultDTO result : results) {
+                consumer.accept(result);
+            }
+        }
+    }
+    
+    /**
+     * 在独立事务中写入单行，违反唯一索引时报告标识已存在
+     */
+    private <R> ImportRowResultDTO insertOne(R row, int rowNumber, Function<R, String> identifier, String identifierName,
+                                             Inserter<R> inserter, String passwordHash) {
+        try {
+            List<Integer> ids = transactionTemplate.execute(status -> inserter.insert(List.of(row), passwordHash, new Date()));
+            return ImportRowResultDTO.of(rowNumber, ImportRowResultDTO.CREATED, "ID：" + ids.get(0));
+        } catch (DataIntegrityViolationException e) {
+            return ImportRowResultDTO.of(rowNumber, ImportRowResultDTO.FAILED,
+                    identifierName + "已存在：" + identifier.apply(row));
+        } catch (DataAccessException | TransactionException e) {
+            return ImportRowResultDTO.of(rowNumber, ImportRowResultDTO.FAILED,
+                    "写入失败：" + NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+        }
+    }
+    
+    private List<Integer> insertStudents(List<StudentOnboardRowDTO> rows, String passwordHash, Date now) {
+        List<User> users = new ArrayList<>(rows.size());
+        for (StudentOnboardRowDTO row : rows) {
+            users.add(newUser(row.getStudentNo(), "student", row.getPhone(), row.getEmail(), passwordHash, now));
+        }
+        onboardingBulkRepository.insertUsers(users);
+        
+        List<Student> students = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            StudentOnboardRowDTO row = rows.get(i);
+            Student student = new Student();
+            student.setUserId(users.get(i).getId());
+            student.setStudentNo(row.getStudentNo());
+            student.setName(row.getName());
+            student.setGender(row.getGender());
+            student.setAge(row.getAge());
+            student.setClassName(row.getClassName());
+            student.setDepartment(row.getDepartment());
+            student.setMajor(row.getMajor());
+            student.setPhone(row.getPhone());
+            student.setEmail(row.getEmail());
+            student.setAddress(row.getAddress());
+            student.setCreateTime(now);
+            students.add(student);
+        }
+        onboardingBulkRepository.insertStudents(students);
+        
+        List<Integer> ids = new ArrayList<>(students.size());
+        for (Student student : students) {
+            // 提交后更新搜索索引、输入提示和查询缓存
+            eventPublisher.publishEvent(new StudentChangedEvent(student.getId(), student));
+            ids.add(student.getId());
+        }
+        return ids;
+    }
+    
+    private List<Integer> insertTeachers(List<TeacherOnboardRowDTO> rows, String passwordHash, Date now) {
+        List<User> users = new ArrayList<>(rows.size());
+        for (TeacherOnboardRowDTO row : rows) {
+            users.add(newUser(row.getTeacherNo(), "teacher", row.getPhone(), row.getEmail(), passwordHash, now));
+        }
+        onboardingBulkRepository.insertUsers(users);
+        
+        List<Teacher> teachers = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            TeacherOnboardRowDTO row = rows.get(i);
+            Teacher teacher = new Teacher();
+            teacher.setUserId(users.get(i).getId());
+            teacher.setTeacherNo(row.getTeacherNo());
+            teacher.setName(row.getName());
+            teacher.setGender(row.getGender());
+            teacher.setAge(row.getAge());
+            teacher.setTitle(row.getTitle());
+            teacher.setDepartment(row.getDepartment());
+            teacher.setPhone(row.getPhone());
+            teacher.setEmail(row.getEmail());
+            teacher.setCreateTime(now);
+            teachers.add(teacher);
+        }
+        onboardingBulkRepository.insertTeachers(teachers);
+        
+        // JDBC写入不经过Hibernate，需手动失效教师相关的查询缓存
+        if (!teachers.isEmpty()) {
+            referenceDataCache.evictTeacher(null);
+        }
+        List<Integer> ids = new ArrayList<>(teachers.size());
+        for (Teacher teacher : teachers) {
+            eventPublisher.publishEvent(new TeacherChangedEvent(teacher.getId(), teacher));
+            ids.add(teacher.getId());
+        }
+        return ids;
+    }
+    
+    private static User newUser(String username, String role, String phone, String email, String passwordHash, Date now) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword(passwordHash);
+        user.setRole(role);
+        user.setPhone(phone);
+        user.setEmail(email);
+        user.setActive(true);
+        user.setCreateTime(now);
+        return user;
+    }
+    
+    private static String validateStudent(StudentOnboardRowDTO row) {
+        if (!StringUtils.hasText(row.getStudentNo())) {
+            return "学号不能为空";
+        }
+        if (!StringUtils.hasText(row.getName())) {
+            return "姓名不能为空";
+        }
+        if (row.getAge() != null && row.getAge() < 0) {
+            return "年龄不能为负数";
+        }
+        return null;
+    }
+    
+    private static String validateTeacher(TeacherOnboardRowDTO row) {
+        if (!StringUtils.hasText(row.getTeacherNo())) {
+            return "教师编号不能为空";
+        }
+        if (!StringUtils.hasText(row.getName())) {
+            return "姓名不能为空";
+        }
+        if (row.getAge() != null && row.getAge() < 0) {
+            return "年龄不能为负数";
+        }
+        return null;
+    }
+    
+    /**
+     * 批量写入用户和档案
+     */
+    @FunctionalInterface
+    private interface Inserter<R> {
+        List<Integer> insert(List<R> rows, String passwordHash, Date now);
+    }
+}
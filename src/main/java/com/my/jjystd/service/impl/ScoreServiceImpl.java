@@ -1,25 +1,104 @@
 package com.my.jjystd.service.impl;
 
+import com.my.jjystd.common.BadRequestException;
+import com.my.jjystd.common.CsvReader;
+import com.my.jjystd.common.CursorPage;
+import com.my.jjystd.common.CursorRequest;
+import com.my.jjystd.common.HistogramScope;
+import com.my.jjystd.controller.dto.CourseRankDTO;
+import com.my.jjystd.controller.dto.CourseScoreStatsDTO;
+import com.my.jjystd.controller.dto.ImportReportDTO;
+import com.my.jjystd.controller.dto.ImportRowResultDTO;
+import com.my.jjystd.controller.dto.ScoreHistogramDTO;
+import com.my.jjystd.controller.dto.ScoreImportRowDTO;
+import com.my.jjystd.controller.dto.ScoreViewDTO;
+import com.my.jjystd.controller.dto.TranscriptDTO;
+import com.my.jjystd.controller.dto.TranscriptItemDTO;
 import com.my.jjystd.entity.Score;
+import com.my.jjystd.repository.ScoreBulkRepository;
+import com.my.jjystd.repository.ScoreBulkRepository.ExistingReferences;
+import com.my.jjystd.repository.ScoreBulkRepository.ScoreKey;
 import com.my.jjystd.repository.ScoreRepository;
+import com.my.jjystd.repository.StudentRepository;
+import com.my.jjystd.repository.projection.TranscriptRow;
+import com.my.jjystd.repository.support.KeysetPagination;
+import com.my.jjystd.repository.support.StreamingExport;
 import com.my.jjystd.service.ScoreService;
+import com.my.jjystd.service.event.ScoreChangedEvent;
+import com.my.jjystd.service.event.ScoreSnapshot;
+import com.my.jjystd.service.event.ScoresImportedEvent;
+import com.my.jjystd.service.index.CourseRankIndex;
+import com.my.jjystd.service.index.CourseScoreStatsIndex;
+import com.my.jjystd.service.index.ScoreHistogramCache;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Date;
+import java.util.Set;
+import java.util.function.Consumer;
 
 @Service
 public class ScoreServiceImpl implements ScoreService {
     
+    /**
+     * 游标分页可排序字段，排序字段值会写入游标
+     */
+    private static final Set<String> CURSOR_SORT_PROPERTIES = Set.of("studentId", "score", "createTime");
+    
+    /**
+     * 单次导入的最大行数
+     */
+    private static final int IMPORT_MAX_ROWS = 20000;
+    
+    /**
+     * 百分制满分，及格线到满分之间划分绩点档位
+     */
+    private static final float FULL_SCORE = 100F;
+    
     private final ScoreRepository scoreRepository;
+    private final ScoreBulkRepository scoreBulkRepository;
+    private final StudentRepository studentRepository;
+    private final CourseScoreStatsIndex courseScoreStatsIndex;
+    private final CourseRankIndex courseRankIndex;
+    private final ScoreHistogramCache scoreHistogramCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+    private final float passScore;
     
     @Autowired
-    public ScoreServiceImpl(ScoreRepository scoreRepository) {
+    public ScoreServiceImpl(ScoreRepository scoreRepository,
+                            ScoreBulkRepository scoreBulkRepository,
+                            StudentRepository studentRepository,
+                            CourseScoreStatsIndex courseScoreStatsIndex,
+                            CourseRankIndex courseRankIndex,
+                            ScoreHistogramCache scoreHistogramCache,
+                            ApplicationEventPublisher eventPublisher,
+                            EntityManager entityManager,
+                            @Value("${score.pass-score:60}") float passScore) {
         this.scoreRepository = scoreRepository;
+        this.scoreBulkRepository = scoreBulkRepository;
+        this.studentRepository = studentRepository;
+        this.courseScoreStatsIndex = courseScoreStatsIndex;
+        this.courseRankIndex = courseRankIndex;
+        this.scoreHistogramCache = scoreHistogramCache;
+        this.eventPublisher = eventPublisher;
+        this.entityManager = entityManager;
+        this.passScore = passScore;
     }
     
     @Override
@@ -37,6 +116,18 @@ public class ScoreServiceImpl implements ScoreService {
         return scoreRepository.findByStudentId(studentId, pageable);
     }
     
+    @Override
+    public Slice<Score> findScoreSliceByStudentId(Integer studentId, Pageable pageable) {
+        return scoreRepository.findSliceByStudentId(studentId, pageable);
+    }
+    
+    @Override
+    public CursorPage<Score> findScoresByStudentId(Integer studentId, CursorRequest cursorRequest) {
+        Specification<Score> spec = (root, query, criteriaBuilder) ->
+                criteriaBuilder.equal(root.get("studentId"), studentId);
+        return KeysetPagination.fetch(scoreRepository, Score.class, CURSOR_SORT_PROPERTIES, spec, cursorRequest);
+    }
+    
     @Override
     public List<Score> findScoresByCourseId(Integer courseId) {
         return scoreRepository.findByCourseId(courseId);
@@ -47,6 +138,18 @@ public class ScoreServiceImpl implements ScoreService {
         return scoreRepository.findByCourseId(courseId, pageable);
     }
     
+    @Override
+    public Slice<Score> findScoreSliceByCourseId(Integer courseId, Pageable pageable) {
+        return scoreRepository.findSliceByCourseId(courseId, pageable);
+    }
+    
+    @Override
+    public CursorPage<Score> findScoresByCourseId(Integer courseId, CursorRequest cursorRequest) {
+        Specification<Score> spec = (root, query, criteriaBuilder) ->
+                criteriaBuilder.equal(root.get("course").get("id"), courseId);
+        return KeysetPagination.fetch(scoreRepository, Score.class, CURSOR_SORT_PROPERTIES, spec, cursorRequest);
+    }
+    
     @Override
     public List<Score> findScoresByTeacherId(Integer teacherId) {
         return scoreRepository.findByTeacherId(teacherId);
@@ -57,6 +160,18 @@ public class ScoreServiceImpl implements ScoreService {
         return scoreRepository.findByTeacherId(teacherId, pageable);
     }
     
+    @Override
+    public Slice<Score> findScoreSliceByTeacherId(Integer teacherId, Pageable pageable) {
+        return scoreRepository.findSliceByTeacherId(teacherId, pageable);
+    }
+    
+    @Override
+    public CursorPage<Score> findScoresByTeacherId(Integer teacherId, CursorRequest cursorRequest) {
+        Specification<Score> spec = (root, query, criteriaBuilder) ->
+                criteriaBuilder.equal(root.get("teacher").get("id"), teacherId);
+        return KeysetPagination.fetch(scoreRepository, Score.class, CURSOR_SORT_PROPERTIES, spec, cursorRequest);
+    }
+    
     @Override
     public Score findScoreByStudentIdAndCourseId(Integer studentId, Integer courseId) {
         return scoreRepository.findByStudentIdAndCourseId(studentId, courseId);
@@ -82,18 +197,304 @@ public class ScoreServiceImpl implements ScoreService {
         return scoreRepository.findAll(pageable);
     }
     
+    @Override
+    public Slice<Score> findScoreSlice(Pageable pageable) {
+        return scoreRepository.findSliceBy(pageable);
+    }
+    
+    @Override
+    public CursorPage<Score> findAllScores(CursorRequest cursorRequest) {
+        return KeysetPagination.fetch(scoreRepository, Score.class, CURSOR_SORT_PROPERTIES, null, cursorRequest);
+    }
+    
+    @Override
+    public List<ScoreViewDTO> findAllScoreViews() {
+        return scoreRepository.findAllViews();
+    }
+    
+    @Override
+    public Page<ScoreViewDTO> findAllScoreViews(Pageable pageable) {
+        return scoreRepository.findAllViews(pageable);
+    }
+    
+    @Override
+    public List<ScoreViewDTO> findScoreViewsByStudentId(Integer studentId) {
+        return scoreRepository.findViewsByStudentId(studentId);
+    }
+    
+    @Override
+    public Page<ScoreViewDTO> findScoreViewsByStudentId(Integer studentId, Pageable pageable) {
+        return scoreRepository.findViewsByStudentId(studentId, pageable);
+    }
+    
+    @Override
+    public List<ScoreViewDTO> findScoreViewsByCourseId(Integer courseId) {
+        return scoreRepository.findViewsByCourseId(courseId);
+    }
+    
+    @Override
+    public Page<ScoreViewDTO> findScoreViewsByCourseId(Integer courseId, Pageable pageable) {
+        return scoreRepository.findViewsByCourseId(courseId, pageable);
+    }
+    
+    @Override
+    public List<ScoreViewDTO> findScoreViewsByTeacherId(Integer teacherId) {
+        return scoreRepository.findViewsByTeacherId(teacherId);
+    }
+    
+    @Override
+    public Page<ScoreViewDTO> findScoreViewsByTeacherId(Integer teacherId, Pageable pageable) {
+        return scoreRepository.findViewsByTeacherId(teacherId, pageable);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public void exportScores(Consumer<Score> consumer) {
+        StreamingExport.forEach(entityManager, scoreRepository.streamAllForExport(), consumer);
+    }
+    
+    @Override
+    public CourseScoreStatsDTO getCourseScoreStats(Integer courseId) {
+        return courseScoreStatsIndex.getStats(courseId);
+    }
+    
+    @Override
+    public ScoreHistogramDTO getScoreHistogram(HistogramScope scope, Integer scopeId, Integer width) {
+        if (width == null || width < 1 || width > 100) {
+            throw new BadRequestException("分段宽度必须在1到100之间");
+        }
+        if (scope != HistogramScope.ALL && scopeId == null) {
+            throw new BadRequestException("统计范围为" + scope.getValue() + "时必须指定ID");
+        }
+        return scoreHistogramCache.getHistogram(scope, scopeId, width);
+    }
+    
+    @Override
+    public Optional<CourseRankDTO> getCourseRank(Integer studentId, Integer courseId) {
+        return courseRankIndex.getRank(studentId, courseId);
+    }
+    
+    @Override
+    public Optional<TranscriptDTO> getTranscript(Integer studentId) {
+        List<TranscriptRow> rows = scoreRepository.findTranscriptByStudentId(studentId);
+        // 没有成绩时才确认学生是否存在，有成绩的请求仍只执行一次查询
+        if (rows.isEmpty() && !studentRepository.existsById(studentId)) {
+            return Optional.empty();
+        }
+        List<TranscriptItemDTO> items = new ArrayList<>(rows.size());
+        double totalCredits = 0;
+        double earnedCredits = 0;
+        double weightedScore = 0;
+        double weightedGradePoint = 0;
+        for (TranscriptRow row : rows) {
+            TranscriptItemDTO item = new TranscriptItemDTO();
+            item.setCourseId(row.getCourseId());
+            item.setCourseName(row.getCourseName());
+            item.setCourseCode(row.getCourseCode());
+            item.setCredit(row.getCredit());
+            item.setScore(row.getScore());
+            if (row.getScore() != null) {
+                double gradePoint = toGradePoint(row.getScore());
+                item.setGradePoint(gradePoint);
+                // 只有学分和分数都存在的课程参与加权
+                if (row.getCredit() != null) {
+                    double credit = row.getCredit();
+                    totalCredits += credit;
+                    weightedScore += credit * row.getScore();
+                    weightedGradePoint += credit * gradePoint;
+                    if (gradePoint > 0) {
+                        earnedCredits += credit;
+                    }
+                }
+            }
+            items.add(item);
+        }
+        
+        TranscriptDTO transcript = new TranscriptDTO();
+        transcript.setStudentId(studentId);
+        transcript.setItems(items);
+        transcript.setTotalCredits(totalCredits);
+        transcript.setEarnedCredits(earnedCredits);
+        if (totalCredits > 0) {
+            transcript.setWeightedAverage(weightedScore / totalCredits);
+            transcript.setGpa(weightedGradePoint / totalCredits);
+        }
+        return Optional.of(transcript);
+    }
+    
+    /**
+     * 百分制分数换算为4分制绩点
+     * 及格线到满分等分为四档，依次为1.0~4.0，及格线为60时即60、70、80、90分起算
+     * @param score 分数
+     * @return 绩点
+     */
+    private double toGradePoint(float score) {
+        if (score < passScore) {
+            return 0.0;
+        }
+        float bandWidth = (FULL_SCORE - passScore) / 4;
+        if (bandWidth <= 0) {
+            return 4.0;
+        }
+        return Math.min(4.0, 1.0 + Math.floor((score - passScore) / bandWidth));
+    }
+    
     @Override
     public Score saveScore(Score score) {
         // 设置创建时间
         if (score.getCreateTime() == null) {
             score.setCreateTime(new Date());
         }
-        return scoreRepository.save(score);
+        // 带ID保存时会覆盖已有成绩，需要记录原值
+        ScoreSnapshot before = score.getId() == null ? null
+                : scoreRepository.findById(score.getId()).map(ScoreSnapshot::of).orElse(null);
+        Score savedScore = scoreRepository.save(score);
+        eventPublisher.publishEvent(new ScoreChangedEvent(before, ScoreSnapshot.of(savedScore)));
+        return savedScore;
+    }
+    
+    @Override
+    @Transactional
+    public ImportReportDTO importScores(List<ScoreImportRowDTO> rows) {
+        return doImport(rows, new String[rows.size()]);
+    }
+    
+    @Override
+    @Transactional
+    public ImportReportDTO importScoresCsv(String csv) {
+        List<Map<String, String>> records = CsvReader.readWithHeader(csv);
+        if (!records.isEmpty()) {
+            for (String column : List.of("studentid", "courseid", "score")) {
+                if (!records.get(0).containsKey(column)) {
+                    throw new BadRequestException("CSV缺少必需列：" + column);
+                }
+            }
+        }
+        List<ScoreImportRowDTO> rows = new ArrayList<>(records.size());
+        String[] errors = new String[records.size()];
+        for (int i = 0; i < records.size(); i++) {
+            Map<String, String> record = records.get(i);
+            ScoreImportRowDTO row = new ScoreImportRowDTO();
+            try {
+                row.setStudentId(parseInteger(record.get("studentid")));
+                row.setCourseId(parseInteger(record.get("courseid")));
+                row.setTeacherId(parseInteger(record.get("teacherid")));
+                String score = record.get("score");
+                row.setScore(StringUtils.hasText(score) ? Float.valueOf(score.trim()) : null);
+            } catch (NumberFormatException e) {
+                errors[i] = "数字格式错误：" + e.getMessage();
+            }
+            String remark = record.get("remark");
+            row.setRemark(StringUtils.hasText(remark) ? remark : null);
+            rows.add(row);
+        }
+        return doImport(rows, errors);
+    }
+    
+    private static Integer parseInteger(String value) {
+        return StringUtils.hasText(value) ? Integer.valueOf(value.trim()) : null;
+    }
+    
+    /**
+     * 执行批量导入：逐行校验，一次查询校验课程和教师，
+     * 同一(学生, 课程)以文件中最后一行为准，再以一组批量upsert写入
+     * @param rows 成绩行
+     * @param errors 解析阶段的错误，与rows一一对应，无错误为null
+     * @return 逐行导入结果
+     */
+    private ImportReportDTO doImport(List<ScoreImportRowDTO> rows, String[] errors) {
+        if (rows.size() > IMPORT_MAX_ROWS) {
+            throw new BadRequestException("单次导入不能超过" + IMPORT_MAX_ROWS + "行");
+        }
+        ImportRowResultDTO[] results = new ImportRowResultDTO[rows.size()];
+        Set<Integer> courseIds = new HashSet<>();
+        Set<Integer> teacherIds = new HashSet<>();
+        for (int i = 0; i < rows.size(); i++) {
+            String error = errors[i] != null ? errors[i] : validateImportRow(rows.get(i));
+            if (error != null) {
+                results[i] = ImportRowResultDTO.of(i + 1, ImportRowResultDTO.FAILED, error);
+                continue;
+            }
+            courseIds.add(rows.get(i).getCourseId());
+            if (rows.get(i).getTeacherId() != null) {
+                teacherIds.add(rows.get(i).getTeacherId());
+            }
+        }
+        
+        ExistingReferences references = scoreBulkRepository.findExistingReferences(courseIds, teacherIds);
+        Map<ScoreKey, Integer> lastRowByKey = new LinkedHashMap<>();
+        for (int i = 0; i < rows.size(); i++) {
+            if (results[i] != null) {
+                continue;
+            }
+            ScoreImportRowDTO row = rows.get(i);
+            if (!references.courseIds().contains(row.getCourseId())) {
+                results[i] = ImportRowResultDTO.of(i + 1, ImportRowResultDTO.FAILED, "课程不存在：" + row.getCourseId());
+                continue;
+            }
+            if (row.getTeacherId() != null && !references.teacherIds().contains(row.getTeacherId())) {
+                results[i] = ImportRowResultDTO.of(i + 1, ImportRowResultDTO.FAILED, "教师不存在：" + row.getTeacherId());
+                continue;
+            }
+            Integer previous = lastRowByKey.put(new ScoreKey(row.getStudentId(), row.getCourseId()), i);
+            if (previous != null) {
+                results[previous] = ImportRowResultDTO.of(previous + 1, ImportRowResultDTO.SKIPPED, "被第" + (i + 1) + "行覆盖");
+            }
+        }
+        
+        Set<Integer> studentIds = new HashSet<>();
+        Set<Integer> touchedCourseIds = new HashSet<>();
+        for (ScoreKey key : lastRowByKey.keySet()) {
+            studentIds.add(key.studentId());
+            touchedCourseIds.add(key.courseId());
+        }
+        Map<ScoreKey, Integer> existingIds = scoreBulkRepository.findIdsByStudentAndCourse(studentIds, touchedCourseIds);
+        List<ScoreImportRowDTO> upserts = new ArrayList<>(lastRowByKey.size());
+        for (Map.Entry<ScoreKey, Integer> entry : lastRowByKey.entrySet()) {
+            int i = entry.getValue();
+            upserts.add(rows.get(i));
+            Integer existingId = existingIds.get(entry.getKey());
+            results[i] = existingId != null
+                    ? ImportRowResultDTO.of(i + 1, ImportRowResultDTO.UPDATED, "成绩ID：" + existingId)
+                    : ImportRowResultDTO.of(i + 1, ImportRowResultDTO.CREATED, null);
+        }
+        if (!upserts.isEmpty()) {
+            scoreBulkRepository.batchUpsert(upserts, new Date());
+        }
+        if (!touchedCourseIds.isEmpty()) {
+            eventPublisher.publishEvent(new ScoresImportedEvent(touchedCourseIds));
+        }
+        return ImportReportDTO.of(List.of(results));
+    }
+    
+    /**
+     * 校验导入行的必填字段和分数范围
+     * @param row 成绩行
+     * @return 错误信息，校验通过返回null
+     */
+    private static String validateImportRow(ScoreImportRowDTO row) {
+        if (row == null) {
+            return "空行";
+        }
+        if (row.getStudentId() == null) {
+            return "学生ID不能为空";
+        }
+        if (row.getCourseId() == null) {
+            return "课程ID不能为空";
+        }
+        if (row.getScore() == null) {
+            return "分数不能为空";
+        }
+        if (!(row.getScore() >= 0 && row.getScore() <= 100)) {
+            return "分数必须在0到100之间";
+        }
+        return null;
     }
     
     @Override
     public Optional<Score> updateScore(Integer id, Score scoreDetails) {
         return scoreRepository.findById(id).map(existingScore -> {
+            ScoreSnapshot before = ScoreSnapshot.of(existingScore);
             // 更新成绩信息，但保留ID和创建时间
             if (scoreDetails.getStudentId() != null) {
                 existingScore.setStudentId(scoreDetails.getStudentId());
@@ -111,14 +512,18 @@ public class ScoreServiceImpl implements ScoreService {
                 existingScore.setRemark(scoreDetails.getRemark());
             }
             // 保存更新后的成绩信息
-            return scoreRepository.save(existingScore);
+            Score savedScore = scoreRepository.save(existingScore);
+            eventPublisher.publishEvent(new ScoreChangedEvent(before, ScoreSnapshot.of(savedScore)));
+            return savedScore;
         });
     }
     
     @Override
     public boolean deleteScore(Integer id) {
         return scoreRepository.findById(id).map(score -> {
+            ScoreSnapshot before = ScoreSnapshot.of(score);
             scoreRepository.delete(score);
+            eventPublisher.publishEvent(new ScoreChangedEvent(before, null));
             return true;
         }).orElse(false);
     }
@@ -1,35 +1,63 @@
 package com.my.jjystd.service.impl;
 
+import com.my.jjystd.common.BatchIds;
+import com.my.jjystd.common.CursorPage;
+import com.my.jjystd.common.CursorRequest;
+import com.my.jjystd.common.SearchCaches;
 import com.my.jjystd.controller.dto.StudentQueryDTO;
 import com.my.jjystd.entity.Student;
 import com.my.jjystd.entity.User;
 import com.my.jjystd.repository.StudentRepository;
+import com.my.jjystd.repository.support.KeysetPagination;
+import com.my.jjystd.repository.support.StreamingExport;
 import com.my.jjystd.service.StudentService;
 import com.my.jjystd.service.UserService;
+import com.my.jjystd.service.event.StudentChangedEvent;
+import com.my.jjystd.service.index.StudentSearchIndex;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.criteria.Predicate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.Date;
+import java.util.function.Consumer;
 
 @Service
 public class StudentServiceImpl implements StudentService {
     
+    /**
+     * 游标分页可排序字段，排序字段值会写入游标
+     */
+    private static final Set<String> CURSOR_SORT_PROPERTIES = Set.of(
+            "name", "studentNo", "gender", "age", "className", "department", "major", "createTime");
+    
     private final StudentRepository studentRepository;
     private final UserService userService;
+    private final EntityManager entityManager;
+    private final StudentSearchIndex studentSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Autowired
-    public StudentServiceImpl(StudentRepository studentRepository, UserService userService) {
+    public StudentServiceImpl(StudentRepository studentRepository, UserService userService,
+                              EntityManager entityManager, StudentSearchIndex studentSearchIndex,
+                              ApplicationEventPublisher eventPublisher) {
         this.studentRepository = studentRepository;
         this.userService = userService;
+        this.entityManager = entityManager;
+        this.studentSearchIndex = studentSearchIndex;
+        this.eventPublisher = eventPublisher;
     }
     
     @Override
@@ -37,6 +65,11 @@ public class StudentServiceImpl implements StudentService {
         return studentRepository.findById(id);
     }
     
+    @Override
+    public List<Student> findStudentsByIds(List<Integer> ids) {
+        return BatchIds.inRequestOrder(ids, studentRepository.findAllById(BatchIds.distinct(ids)), Student::getId);
+    }
+    
     @Override
     public Optional<Student> findStudentByStudentNo(String studentNo) {
         return studentRepository.findByStudentNo(studentNo);
@@ -58,23 +91,54 @@ public class StudentServiceImpl implements StudentService {
     }
     
     @Override
+    public Slice<Student> findStudentSlice(Pageable pageable) {
+        return studentRepository.findSliceBy(pageable);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public void exportStudents(Consumer<Student> consumer) {
+        StreamingExport.forEach(entityManager, studentRepository.streamAllForExport(), consumer);
+    }
+    
+    @Override
+    public CursorPage<Student> findAllStudents(CursorRequest cursorRequest) {
+        return KeysetPagination.fetch(studentRepository, Student.class, CURSOR_SORT_PROPERTIES, null, cursorRequest);
+    }
+    
+    @Override
+    @Cacheable(cacheNames = SearchCaches.STUDENT, keyGenerator = "searchKeyGenerator")
     public List<Student> findStudentsByCondition(StudentQueryDTO queryDTO) {
-        Specification<Student> spec = buildSpecification(queryDTO);
+        Specification<Student> spec = studentSearchIndex.narrow(queryDTO, buildSpecification(queryDTO));
         return studentRepository.findAll(spec);
     }
     
     @Override
+    @Cacheable(cacheNames = SearchCaches.STUDENT, keyGenerator = "searchKeyGenerator")
     public Page<Student> findStudentsByCondition(StudentQueryDTO queryDTO, Pageable pageable) {
-        Specification<Student> spec = buildSpecification(queryDTO);
+        Specification<Student> spec = studentSearchIndex.narrow(queryDTO, buildSpecification(queryDTO));
         return studentRepository.findAll(spec, pageable);
     }
     
+    @Override
+    @Cacheable(cacheNames = SearchCaches.STUDENT, keyGenerator = "searchKeyGenerator")
+    public Slice<Student> findStudentSliceByCondition(StudentQueryDTO queryDTO, Pageable pageable) {
+        Specification<Student> spec = studentSearchIndex.narrow(queryDTO, buildSpecification(queryDTO));
+        return studentRepository.findBy(spec, query -> query.sortBy(pageable.getSort()).slice(pageable));
+    }
+    
+    @Override
+    public CursorPage<Student> findStudentsByCondition(StudentQueryDTO queryDTO, CursorRequest cursorRequest) {
+        Specification<Student> spec = buildSpecification(queryDTO);
+        return KeysetPagination.fetch(studentRepository, Student.class, CURSOR_SORT_PROPERTIES, spec, cursorRequest);
+    }
+    
     /**
-     * 构建动态查询条件
+     * 构建动态查询条件，不依赖实例状态，包内可见供基准测试直接调用
      * @param queryDTO 查询参数
      * @return 查询条件Specification
      */
-    private Specification<Student> buildSpecification(StudentQueryDTO queryDTO) {
+    static Specification<Student> buildSpecification(StudentQueryDTO queryDTO) {
         return (root, query, criteriaBuilder) -> {
             List<Predicate> predicates = new ArrayList<>();
             
@@ -146,7 +210,9 @@ public class StudentServiceImpl implements StudentService {
             student.setUserId(savedUser.getId());
         }
         
-        return studentRepository.save(student);
+        Student savedStudent = studentRepository.save(student);
+        eventPublisher.publishEvent(new StudentChangedEvent(savedStudent.getId(), savedStudent));
+        return savedStudent;
     }
     
     @Override
@@ -187,7 +253,9 @@ public class StudentServiceImpl implements StudentService {
                 existingStudent.setMajor(studentDetails.getMajor());
             }
             // 保存更新后的学生信息
-            return studentRepository.save(existingStudent);
+            Student savedStudent = studentRepository.save(existingStudent);
+            eventPublisher.publishEvent(new StudentChangedEvent(id, savedStudent));
+            return savedStudent;
         });
     }
     
@@ -198,6 +266,7 @@ public class StudentServiceImpl implements StudentService {
             // 可以选择是否同时删除关联的用户账号
             // 这里暂不删除用户账号，只删除学生信息
             studentRepository.delete(student);
+            eventPublisher.publishEvent(new StudentChangedEvent(id, null));
             return true;
         }).orElse(false);
     }
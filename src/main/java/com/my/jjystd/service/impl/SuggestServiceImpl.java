@@ -0,0 +1,39 @@
+package com.my.jjystd.service.impl;
+
+import com.my.jjystd.common.BadRequestException;
+import com.my.jjystd.common.SuggestType;
+import com.my.jjystd.controller.dto.SuggestionDTO;
+import com.my.jjystd.service.SuggestService;
+import com.my.jjystd.service.index.SuggestIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.util.List;
+
+@Service
+public class SuggestServiceImpl implements SuggestService {
+
+    /**
+     * 单次最多返回的提示条数
+     */
+    private static final int MAX_LIMIT = 50;
+
+    private final SuggestIndex suggestIndex;
+
+    @Autowired
+    public SuggestServiceImpl(SuggestIndex suggestIndex) {
+        this.suggestIndex = suggestIndex;
+    }
+
+    @Override
+    public List<SuggestionDTO> suggest(SuggestType type, String prefix, Integer limit) {
+        if (limit == null || limit < 1 || limit > MAX_LIMIT) {
+            throw new BadRequestException("返回条数必须在1到" + MAX_LIMIT + "之间");
+        }
+        if (!StringUtils.hasText(prefix)) {
+            return List.of();
+        }
+        return suggestIndex.search(type, prefix.trim(), limit);
+    }
+}
@@ -1,14 +1,25 @@
 package com.my.jjystd.service.impl;
 
+import com.my.jjystd.common.BatchIds;
+import com.my.jjystd.common.CursorPage;
+import com.my.jjystd.common.CursorRequest;
+import com.my.jjystd.common.SearchCaches;
 import com.my.jjystd.controller.dto.TeacherQueryDTO;
 import com.my.jjystd.entity.Teacher;
 import com.my.jjystd.entity.User;
 import com.my.jjystd.repository.TeacherRepository;
+import com.my.jjystd.repository.support.KeysetPagination;
 import com.my.jjystd.service.TeacherService;
 import com.my.jjystd.service.UserService;
+import com.my.jjystd.service.cache.ReferenceDataCache;
+import com.my.jjystd.service.event.TeacherChangedEvent;
+import com.my.jjystd.service.index.TeacherSearchIndex;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -18,18 +29,33 @@ import jakarta.persistence.criteria.Predicate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.Date;
 
 @Service
 public class TeacherServiceImpl implements TeacherService {
     
+    /**
+     * 游标分页可排序字段，排序字段值会写入游标
+     */
+    private static final Set<String> CURSOR_SORT_PROPERTIES = Set.of(
+            "name", "teacherNo", "gender", "age", "title", "department", "createTime");
+    
     private final TeacherRepository teacherRepository;
     private final UserService userService;
+    private final ReferenceDataCache referenceDataCache;
+    private final TeacherSearchIndex teacherSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Autowired
-    public TeacherServiceImpl(TeacherRepository teacherRepository, UserService userService) {
+    public TeacherServiceImpl(TeacherRepository teacherRepository, UserService userService,
+                              ReferenceDataCache referenceDataCache, TeacherSearchIndex teacherSearchIndex,
+                              ApplicationEventPublisher eventPublisher) {
         this.teacherRepository = teacherRepository;
         this.userService = userService;
+        this.referenceDataCache = referenceDataCache;
+        this.teacherSearchIndex = teacherSearchIndex;
+        this.eventPublisher = eventPublisher;
     }
     
     @Override
@@ -37,6 +63,11 @@ public class TeacherServiceImpl implements TeacherService {
         return teacherRepository.findById(id);
     }
     
+    @Override
+    public List<Teacher> findTeachersByIds(List<Integer> ids) {
+        return BatchIds.inRequestOrder(ids, teacherRepository.findAllById(BatchIds.distinct(ids)), Teacher::getId);
+    }
+    
     @Override
     public Optional<Teacher> findTeacherByTeacherNo(String teacherNo) {
         return teacherRepository.findByTeacherNo(teacherNo);
@@ -58,17 +89,42 @@ public class TeacherServiceImpl implements TeacherService {
     }
     
     @Override
+    public Slice<Teacher> findTeacherSlice(Pageable pageable) {
+        return teacherRepository.findSliceBy(pageable);
+    }
+    
+    @Override
+    public CursorPage<Teacher> findAllTeachers(CursorRequest cursorRequest) {
+        return KeysetPagination.fetch(teacherRepository, Teacher.class, CURSOR_SORT_PROPERTIES, null, cursorRequest);
+    }
+    
+    @Override
+    @Cacheable(cacheNames = SearchCaches.TEACHER, keyGenerator = "searchKeyGenerator")
     public List<Teacher> findTeachersByCondition(TeacherQueryDTO queryDTO) {
-        Specification<Teacher> spec = buildSpecification(queryDTO);
+        Specification<Teacher> spec = teacherSearchIndex.narrow(queryDTO, buildSpecification(queryDTO));
         return teacherRepository.findAll(spec);
     }
     
     @Override
+    @Cacheable(cacheNames = SearchCaches.TEACHER, keyGenerator = "searchKeyGenerator")
     public Page<Teacher> findTeachersByCondition(TeacherQueryDTO queryDTO, Pageable pageable) {
-        Specification<Teacher> spec = buildSpecification(queryDTO);
+        Specification<Teacher> spec = teacherSearchIndex.narrow(queryDTO, buildSpecification(queryDTO));
         return teacherRepository.findAll(spec, pageable);
     }
     
+    @Override
+    @Cacheable(cacheNames = SearchCaches.TEACHER, keyGenerator = "searchKeyGenerator")
+    public Slice<Teacher> findTeacherSliceByCondition(TeacherQueryDTO queryDTO, Pageable pageable) {
+        Specification<Teacher> spec = teacherSearchIndex.narrow(queryDTO, buildSpecification(queryDTO));
+        return teacherRepository.findBy(spec, query -> query.sortBy(pageable.getSort()).slice(pageable));
+    }
+    
+    @Override
+    public CursorPage<Teacher> findTeachersByCondition(TeacherQueryDTO queryDTO, CursorRequest cursorRequest) {
+        Specification<Teacher> spec = buildSpecification(queryDTO);
+        return KeysetPagination.fetch(teacherRepository, Teacher.class, CURSOR_SORT_PROPERTIES, spec, cursorRequest);
+    }
+    
     /**
      * 构建动态查询条件
      * @param queryDTO 查询参数
@@ -141,7 +197,10 @@ public class TeacherServiceImpl implements TeacherService {
             teacher.setUserId(savedUser.getId());
         }
         
-        return teacherRepository.save(teacher);
+        Teacher savedTeacher = teacherRepository.save(teacher);
+        referenceDataCache.evictTeacher(savedTeacher.getId());
+        eventPublisher.publishEvent(new TeacherChangedEvent(savedTeacher.getId(), savedTeacher));
+        return savedTeacher;
     }
     
     @Override
@@ -176,7 +235,10 @@ public class TeacherServiceImpl implements TeacherService {
                 existingTeacher.setEmail(teacherDetails.getEmail());
             }
             // 保存更新后的教师信息
-            return teacherRepository.save(existingTeacher);
+            Teacher savedTeacher = teacherRepository.save(existingTeacher);
+            referenceDataCache.evictTeacher(id);
+            eventPublisher.publishEvent(new TeacherChangedEvent(id, savedTeacher));
+            return savedTeacher;
         });
     }
     
@@ -187,6 +249,8 @@ public class TeacherServiceImpl implements TeacherService {
             // 可以选择是否同时删除关联的用户账号
             // 这里暂不删除用户账号，只删除教师信息
             teacherRepository.delete(teacher);
+            referenceDataCache.evictTeacher(id);
+            eventPublisher.publishEvent(new TeacherChangedEvent(id, null));
             return true;
         }).orElse(false);
     }
@@ -1,8 +1,15 @@
 package com.my.jjystd.service.impl;
 
+import com.my.jjystd.common.BatchIds;
+import com.my.jjystd.common.CursorPage;
+import com.my.jjystd.common.CursorRequest;
+import com.my.jjystd.controller.dto.LoginResponse;
 import com.my.jjystd.entity.User;
 import com.my.jjystd.repository.UserRepository;
+import com.my.jjystd.repository.projection.LoginIdentity;
+import com.my.jjystd.repository.support.KeysetPagination;
 import com.my.jjystd.service.UserService;
+import com.my.jjystd.service.security.PasswordHasher;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -10,16 +17,24 @@ import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.Date;
 
 @Service
 public class UserServiceImpl implements UserService {
     
+    /**
+     * 游标分页可排序字段，排序字段值会写入游标
+     */
+    private static final Set<String> CURSOR_SORT_PROPERTIES = Set.of("username", "role", "active", "createTime");
+    
     private final UserRepository userRepository;
+    private final PasswordHasher passwordHasher;
     
     @Autowired
-    public UserServiceImpl(UserRepository userRepository) {
+    public UserServiceImpl(UserRepository userRepository, PasswordHasher passwordHasher) {
         this.userRepository = userRepository;
+        this.passwordHasher = passwordHasher;
     }
     
     @Override
@@ -27,6 +42,11 @@ public class UserServiceImpl implements UserService {
         return userRepository.findById(id);
     }
     
+    @Override
+    public List<User> findUsersByIds(List<Integer> ids) {
+        return BatchIds.inRequestOrder(ids, userRepository.findAllById(BatchIds.distinct(ids)), User::getId);
+    }
+    
     @Override
     public Optional<User> findUserByUsername(String username) {
         return userRepository.findByUsername(username);
@@ -42,6 +62,11 @@ public class UserServiceImpl implements UserService {
         return userRepository.findAll(pageable);
     }
     
+    @Override
+    public CursorPage<User> findAllUsers(CursorRequest cursorRequest) {
+        return KeysetPagination.fetch(userRepository, User.class, CURSOR_SORT_PROPERTIES, null, cursorRequest);
+    }
+    
     @Override
     public User saveUser(User user) {
         // 设置创建时间和默认激活状态
@@ -51,6 +76,10 @@ public class UserServiceImpl implements UserService {
         if (user.getActive() == null) {
             user.setActive(true); // 默认激活
         }
+        // 客户端提交的总是明文密码，一律哈希后存储
+        if (user.getPassword() != null) {
+            user.setPassword(passwordHasher.hash(user.getPassword()));
+        }
         return userRepository.save(user);
     }
     
@@ -61,8 +90,9 @@ public class UserServiceImpl implements UserService {
             if (userDetails.getUsername() != null) {
                 existingUser.setUsername(userDetails.getUsername());
             }
+            // 提交了密码即视为修改密码
             if (userDetails.getPassword() != null) {
-                existingUser.setPassword(userDetails.getPassword());
+                existingUser.setPassword(passwordHasher.hash(userDetails.getPassword()));
             }
             if (userDetails.getRole() != null) {
                 existingUser.setRole(userDetails.getRole());
@@ -94,10 +124,55 @@ public class UserServiceImpl implements UserService {
         // 根据用户名查询用户
         return userRepository.findByUsername(username)
                 .filter(user -> 
-                    // 验证密码是否匹配
-                    user.getPassword().equals(password) &&
                     // 验证用户是否激活
-                    user.getActive() != null && user.getActive()
-                );
+                    user.getActive() != null && user.getActive() &&
+                    // 验证密码是否匹配
+                    passwordHasher.matches(password, user.getPassword())
+                )
+                .map(user -> {
+                    upgradePassword(user.getId(), user.getPassword(), password);
+                    return user;
+                });
+    }
+    
+    @Override
+    public Optional<LoginResponse> loginByIdentifier(String identifier, String password) {
+        if (identifier == null || password == null) {
+            return Optional.empty();
+        }
+        for (LoginIdentity identity : userRepository.findLoginIdentities(identifier)) {
+            // 先判断是否激活，未激活的账号不做哈希计算
+            if (Boolean.TRUE.equals(identity.getActive())
+                    && passwordHasher.matches(password, identity.getPassword())) {
+                upgradePassword(identity.getUserId(), identity.getPassword(), password);
+                return Optional.of(toLoginResponse(identity));
+            }
+        }
+        return Optional.empty();
+    }
+    
+    /**
+     * 登录成功后将历史明文或旧强度的密码重新哈希
+     * @param userId 用户ID
+     * @param storedPassword 当前存储值
+     * @param rawPassword 已验证的明文密码
+     */
+    private void upgradePassword(Integer userId, String storedPassword, String rawPassword) {
+        if (passwordHasher.needsUpgrade(storedPassword)) {
+            userRepository.replacePassword(userId, storedPassword, passwordHasher.hash(rawPassword));
+        }
+    }
+    
+    private static LoginResponse toLoginResponse(LoginIdentity identity) {
+        LoginResponse response = new LoginResponse();
+        response.setId(identity.getUserId());
+        response.setUsername(identity.getUsername());
+        response.setRole(identity.getRole());
+        response.setPhone(identity.getPhone());
+        response.setEmail(identity.getEmail());
+        response.setActive(identity.getActive());
+        response.setProfileId(identity.getProfileId());
+        response.setRealName(identity.getRealName());
+        return response;
     }
 } 
\ No newline at end of file
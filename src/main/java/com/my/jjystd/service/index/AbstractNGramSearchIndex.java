@@ -0,0 +1,124 @@
+package com.my.jjystd.service.index;
+
+import com.my.jjystd.service.event.EntityChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * 实体模糊查询索引的公共部分
+ * 索引按Locale.ROOT小写匹配，与数据库排序规则（忽略重音、全角等）并不完全一致，
+ * 也看不到其他节点尚未同步的写入，因此只用来缩小有命中的查询，没有命中时仍由SQL模糊查询判定
+ * @param <T> 实体类型
+ */
+public abstract class AbstractNGramSearchIndex<T> extends AbstractSearchIndex<NGramIndex> {
+
+    /**
+     * 索引命中的记录数超过该值时不再拼接IN条件，直接走SQL模糊查询
+     */
+    private static final int MAX_NARROWED_IDS = 1000;
+
+    private final Logger log = LoggerFactory.getLogger(getClass());
+
+    private final Class<T> entityType;
+    private final int fieldCount;
+
+    protected AbstractNGramSearchIndex(Class<T> entityType, int fieldCount) {
+        this.entityType = entityType;
+        this.fieldCount = fieldCount;
+    }
+
+    /**
+     * 从数据库加载全部实体
+     */
+    protected abstract List<T> loadAll();
+
+    /**
+     * 实体ID
+     */
+    protected abstract Integer idOf(T entity);
+
+    /**
+     * 实体的各索引字段值，顺序与字段编号一致
+     */
+    protected abstract String[] valuesOf(T entity);
+
+    @Override
+    protected NGramIndex load() {
+        NGramIndex rebuilt = new NGramIndex(fieldCount);
+        for (T entity : loadAll()) {
+            rebuilt.put(idOf(entity), valuesOf(entity));
+        }
+        log.info("模糊查询索引已重建，记录数：{}", rebuilt.size());
+        return rebuilt;
+    }
+
+    /**
+     * 用索引缩小查询范围
+     * 索引有命中时在原有条件前加主键IN，原有条件保留用于校验索引结果并处理索引未覆盖的字段；
+     * 索引未就绪、没有命中或命中过多时原样返回，由SQL模糊查询判定
+     * @param spec 原有查询条件
+     * @param terms 各字段的关键字，顺序与字段编号一致
+     * @return 查询条件
+     */
+    protected Specification<T> narrow(Specification<T> spec, String... terms) {
+        Optional<Set<Integer>> matched = match(terms);
+        if (matched.isEmpty() || matched.get().isEmpty() || matched.get().size() > MAX_NARROWED_IDS) {
+            return spec;
+        }
+        Set<Integer> ids = matched.get();
+        Specification<T> idIn = (root, query, criteriaBuilder) -> root.get("id").in(ids);
+        return idIn.and(spec);
+    }
+
+    /**
+     * 按字段匹配
+     * @param terms 各字段的关键字，顺序与字段编号一致，为空的字段不参与匹配
+     * @return 各字段均包含对应关键字的记录ID；索引未就绪、没有可用关键字
+     *         或关键字含LIKE通配符时为空，调用方应回退到SQL
+     */
+    protected Optional<Set<Integer>> match(String... terms) {
+        NGramIndex current = current();
+        if (current == null) {
+            return Optional.empty();
+        }
+        Set<Integer> result = null;
+        for (int field = 0; field < terms.length; field++) {
+            String term = terms[field];
+            if (term == null || term.isBlank()) {
+                continue;
+            }
+            // LIKE中%和_是通配符，语义与包含匹配不同
+            if (term.indexOf('%') >= 0 || term.indexOf('_') >= 0) {
+                return Optional.empty();
+            }
+            Set<Integer> ids = current.search(field, term);
+            if (result == null) {
+                result = new HashSet<>(ids);
+            } else {
+                result.retainAll(ids);
+            }
+            if (result.isEmpty()) {
+                break;
+            }
+        }
+        return Optional.ofNullable(result);
+    }
+
+    @Override
+    protected void apply(NGramIndex index, EntityChangedEvent<?> event) {
+        if (event.entityType() != entityType) {
+            return;
+        }
+        if (event.entity() == null) {
+            index.remove(event.entityId());
+        } else {
+            index.put(event.entityId(), valuesOf(entityType.cast(event.entity())));
+        }
+    }
+}
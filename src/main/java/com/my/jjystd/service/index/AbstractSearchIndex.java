@@ -0,0 +1,123 @@
+package com.my.jjystd.service.index;
+
+import com.my.jjystd.service.event.EntityChangedEvent;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 基础数据内存索引的生命周期
+ * 应用启动后全量构建，学生、教师、课程变更提交后增量更新，
+ * 并按search.index.rebuild-interval-ms定时全量重建以纠正偏差（如其他节点的写入）；
+ * 重建在新索引上进行，期间到达的变更同时记录下来，在新索引上重放后再整体替换；
+ * 重建加载数据库期间持有rebuildLock，使用ReentrantLock以免在虚拟线程上固定载体线程
+ * @param <S> 索引结构
+ */
+public abstract class AbstractSearchIndex<S> {
+
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final ReentrantLock updateLock = new ReentrantLock();
+    // 构建完成前为null
+    private volatile S current;
+    // 重建期间到达的变更，不在重建时为null
+    private List<EntityChangedEvent<?>> pending;
+
+    /**
+     * 从数据库加载全部数据，构建新的索引
+     */
+    protected abstract S load();
+
+    /**
+     * 把变更应用到索引，只处理本索引覆盖的实体类型
+     * @param index 索引
+     * @param event 实体变更事件，ID不为空
+     */
+    protected abstract void apply(S index, EntityChangedEvent<?> event);
+
+    /**
+     * 当前索引
+     * @return 索引，构建完成前为null
+     */
+    protected S current() {
+        return current;
+    }
+
+    /**
+     * 从数据库全量重建，重放重建期间的变更后替换当前索引
+     */
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            updateLock.lock();
+            try {
+                pending = new ArrayList<>();
+            } finally {
+                updateLock.unlock();
+            }
+            try {
+                S rebuilt = load();
+                updateLock.lock();
+                try {
+                    pending.forEach(event -> apply(rebuilt, event));
+                    current = rebuilt;
+                } finally {
+                    updateLock.unlock();
+                }
+            } finally {
+                updateLock.lock();
+                try {
+                    pending = null;
+                } finally {
+                    updateLock.unlock();
+                }
+            }
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * 应用启动后从数据库全量构建
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /**
+     * 定时全量重建
+     */
+    @Scheduled(initialDelayString = "${search.index.rebuild-interval-ms:600000}",
+            fixedDelayString = "${search.index.rebuild-interval-ms:600000}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    /**
+     * 实体变更提交后更新索引，重建期间同时记录，待新索引构建完成后重放
+     * @param event 实体变更事件
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent<?> event) {
+        if (event.entityId() == null) {
+            return;
+        }
+        updateLock.lock();
+        try {
+            S index = current;
+            if (index != null) {
+                apply(index, event);
+            }
+            if (pending != null) {
+                pending.add(event);
+            }
+        } finally {
+            updateLock.unlock();
+        }
+    }
+}
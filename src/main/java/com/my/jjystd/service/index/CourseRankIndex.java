@@ -0,0 +1,415 @@
+package com.my.jjystd.service.index;
+
+import com.my.jjystd.controller.dto.CourseRankDTO;
+import com.my.jjystd.repository.ScoreRepository;
+import com.my.jjystd.repository.projection.StudentCourseScore;
+import com.my.jjystd.service.event.ScoreChangedEvent;
+import com.my.jjystd.service.event.ScoreSnapshot;
+import com.my.jjystd.service.event.ScoresImportedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 课程成绩排名索引
+ * 每门课程维护按分数排序、节点带子树计数的树堆（treap），以及按成绩ID、学生ID的索引，
+ * 成绩写入时按成绩ID只更新变化的一行，插入、删除和查询排名都是O(log n)；
+ * 启动时及定时从数据库重建以纠正偏差；
+ * 全量重建在新的表中进行，期间到达的成绩变更同时记录下来，在新表上重放后再整体替换
+ * （按成绩ID增删是幂等的，重放已包含在查询结果中的变更不会重复计入）
+ */
+@Component
+public class CourseRankIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(CourseRankIndex.class);
+
+    private final ScoreRepository scoreRepository;
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final ReentrantLock updateLock = new ReentrantLock();
+    private volatile Map<Integer, CourseRanking> rankings = new ConcurrentHashMap<>();
+    // 全量重建期间到达的成绩变更和批量导入的课程，不在重建时为null；由updateLock保护
+    private List<ScoreChangedEvent> pendingChanges;
+    private Set<Integer> pendingImports;
+
+    @Autowired
+    public CourseRankIndex(ScoreRepository scoreRepository) {
+        this.scoreRepository = scoreRepository;
+    }
+
+    /**
+     * 查询学生在课程中的排名
+     * @param studentId 学生ID
+     * @param courseId 课程ID
+     * @return 排名，学生在该课程没有成绩时为空
+     */
+    public Optional<CourseRankDTO> getRank(Integer studentId, Integer courseId) {
+        CourseRanking ranking = rankings.get(courseId);
+        if (ranking == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(ranking.rank(studentId, courseId));
+    }
+
+    /**
+     * 应用启动后从数据库全量构建
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuildAll();
+    }
+
+    /**
+     * 定时全量重建，纠正并发写入可能造成的偏差
+     */
+    @Scheduled(initialDelayString = "${score.rank.rebuild-interval-ms:3600000}",
+            fixedDelayString = "${score.rank.rebuild-interval-ms:3600000}")
+    public void scheduledRebuild() {
+        rebuildAll();
+    }
+
+    /**
+     * 从数据库全量重建所有课程的排名，重放重建期间的成绩变更后整体替换
+     */
+    public void rebuildAll() {
+        rebuildLock.lock();
+        try {
+            updateLock.lock();
+            try {
+                pendingChanges = new ArrayList<>();
+                pendingImports = new HashSet<>();
+            } finally {
+                updateLock.unlock();
+            }
+            Set<Integer> imported;
+            Map<Integer, CourseRanking> rebuilt = new ConcurrentHashMap<>();
+            try {
+                Map<Integer, List<StudentCourseScore>> byCourse = new HashMap<>();
+                for (StudentCourseScore row : scoreRepository.findAllStudentCourseScores()) {
+                    byCourse.computeIfAbsent(row.getCourseId(), id -> new ArrayList<>()).add(row);
+                }
+                byCourse.forEach((courseId, rows) -> rebuilt.put(courseId, CourseRanking.from(rows)));
+                updateLock.lock();
+                try {
+                    pendingChanges.forEach(event -> apply(rebuilt, event));
+                    rankings = rebuilt;
+                    imported = pendingImports;
+                } finally {
+                    updateLock.unlock();
+                }
+            } finally {
+                updateLock.lock();
+                try {
+                    pendingChanges = null;
+                    pendingImports = null;
+                } finally {
+                    updateLock.unlock();
+                }
+            }
+            // 批量导入没有逐条的变更，重建替换后再按课程重新加载
+            imported.forEach(this::rebuildCourse);
+            log.info("课程成绩排名已重建，课程数：{}", rebuilt.size());
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * 从数据库重建指定课程的排名
+     * @param courseId 课程ID
+     */
+    public void rebuildCourse(Integer courseId) {
+        List<StudentCourseScore> rows = scoreRepository.findStudentCourseScoresByCourseId(courseId);
+        Map<Integer, CourseRanking> target = rankings;
+        if (rows.isEmpty()) {
+            target.remove(courseId);
+        } else {
+            target.put(courseId, CourseRanking.from(rows));
+        }
+    }
+
+    /**
+     * 成绩变更时按成绩ID更新所在课程的排名，重建期间同时记录，待新表构建完成后重放
+     * @param event 成绩变更事件
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScoreChanged(ScoreChangedEvent event) {
+        updateLock.lock();
+        try {
+            apply(rankings, event);
+            if (pendingChanges != null) {
+                pendingChanges.add(event);
+            }
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    /**
+     * 成绩批量导入后重建受影响课程的排名，重建期间同时记录，待新表替换后再重新加载
+     * @param event 成绩批量导入事件
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScoresImported(ScoresImportedEvent event) {
+        updateLock.lock();
+        try {
+            if (pendingImports != null) {
+                pendingImports.addAll(event.courseIds());
+            }
+        } finally {
+            updateLock.unlock();
+        }
+        for (Integer courseId : event.courseIds()) {
+            rebuildCourse(courseId);
+        }
+    }
+
+    private static void apply(Map<Integer, CourseRanking> target, ScoreChangedEvent event) {
+        ScoreSnapshot before = event.before();
+        ScoreSnapshot after = event.after();
+        if (isRanked(before)) {
+            target.computeIfPresent(before.courseId(), (id, ranking) -> ranking.remove(before.id()) ? ranking : null);
+        }
+        if (isRanked(after)) {
+            target.compute(after.courseId(), (id, ranking) -> {
+                CourseRanking updated = ranking == null ? new CourseRanking() : ranking;
+                updated.put(after.id(), after.studentId(), after.score());
+                return updated;
+            });
+        }
+    }
+
+    private static boolean isRanked(ScoreSnapshot snapshot) {
+        return snapshot != null && snapshot.id() != null && snapshot.courseId() != null
+                && snapshot.studentId() != null && snapshot.score() != null;
+    }
+
+    /**
+     * 单门课程的排名，读写在课程粒度上互斥
+     */
+    static final class CourseRanking {
+        private final Map<Integer, Entry> byScoreId = new HashMap<>();
+        private final Map<Integer, Entry> byStudentId = new HashMap<>();
+        private final ScoreTree scores = new ScoreTree();
+
+        static CourseRanking from(List<StudentCourseScore> rows) {
+            CourseRanking ranking = new CourseRanking();
+            for (StudentCourseScore row : rows) {
+                ranking.put(row.getId(), row.getStudentId(), row.getScore());
+            }
+            return ranking;
+        }
+
+        /**
+         * 新增或替换一条成绩
+         */
+        synchronized void put(int scoreId, int studentId, float score) {
+            Entry previous = byScoreId.get(scoreId);
+            if (previous != null) {
+                scores.remove(previous.score());
+                byStudentId.remove(previous.studentId(), previous);
+            }
+            Entry entry = new Entry(scoreId, studentId, score);
+            byScoreId.put(scoreId, entry);
+            byStudentId.put(studentId, entry);
+            scores.add(score);
+        }
+
+        /**
+         * 移除一条成绩
+         * @return 课程中是否还有成绩
+         */
+        synchronized boolean remove(int scoreId) {
+            Entry entry = byScoreId.remove(scoreId);
+            if (entry != null) {
+                scores.remove(entry.score());
+                byStudentId.remove(entry.studentId(), entry);
+            }
+            return !byScoreId.isEmpty();
+        }
+
+        synchronized CourseRankDTO rank(Integer studentId, Integer courseId) {
+            Entry entry = byStudentId.get(studentId);
+            if (entry == null) {
+                return null;
+            }
+            int total = scores.size();
+            CourseRankDTO rank = new CourseRankDTO();
+            rank.setStudentId(studentId);
+            rank.setCourseId(courseId);
+            rank.setScore(entry.score());
+            rank.setRank(scores.countAbove(entry.score()) + 1);
+            rank.setTotal(total);
+            rank.setPercentile(100.0 * scores.countBelow(entry.score()) / total);
+            return rank;
+        }
+    }
+
+    private record Entry(int scoreId, int studentId, float score) {
+    }
+
+    /**
+     * 按分数排序的树堆，相同分数合并为一个节点计数，节点记录子树中的成绩条数
+     */
+    static final class ScoreTree {
+        private Node root;
+
+        int size() {
+            return size(root);
+        }
+
+        void add(float score) {
+            root = add(root, score);
+        }
+
+        void remove(float score) {
+            root = remove(root, score);
+        }
+
+        /**
+         * 低于score的成绩条数
+         */
+        int countBelow(float score) {
+            int count = 0;
+            Node node = root;
+            while (node != null) {
+                if (Float.compare(node.score, score) < 0) {
+                    count += size(node.left) + node.count;
+                    node = node.right;
+                } else {
+                    node = node.left;
+                }
+            }
+            return count;
+        }
+
+        /**
+         * 高于score的成绩条数
+         */
+        int countAbove(float score) {
+            int count = 0;
+            Node node = root;
+            while (node != null) {
+                if (Float.compare(node.score, score) > 0) {
+                    count += size(node.right) + node.count;
+                    node = node.left;
+                } else {
+                    node = node.right;
+                }
+            }
+            return count;
+        }
+
+        private static Node add(Node node, float score) {
+            if (node == null) {
+                return new Node(score);
+            }
+            int cmp = Float.compare(score, node.score);
+            if (cmp == 0) {
+                node.count++;
+            } else if (cmp < 0) {
+                node.left = add(node.left, score);
+                if (node.left.priority > node.priority) {
+                    node = rotateRight(node);
+                }
+            } else {
+                node.right = add(node.right, score);
+                if (node.right.priority > node.priority) {
+                    node = rotateLeft(node);
+                }
+            }
+            node.update();
+            return node;
+        }
+
+        private static Node remove(Node node, float score) {
+            if (node == null) {
+                return null;
+            }
+            int cmp = Float.compare(score, node.score);
+            if (cmp < 0) {
+                node.left = remove(node.left, score);
+            } else if (cmp > 0) {
+                node.right = remove(node.right, score);
+            } else if (node.count > 1) {
+                node.count--;
+            } else {
+                return merge(node.left, node.right);
+            }
+            node.update();
+            return node;
+        }
+
+        /**
+         * 合并两棵树，left中的分数都小于right
+         */
+        private static Node merge(Node left, Node right) {
+            if (left == null) {
+                return right;
+            }
+            if (right == null) {
+                return left;
+            }
+            if (left.priority > right.priority) {
+                left.right = merge(left.right, right);
+                left.update();
+                return left;
+            }
+            right.left = merge(left, right.left);
+            right.update();
+            return right;
+        }
+
+        private static Node rotateRight(Node node) {
+            Node left = node.left;
+            node.left = left.right;
+            node.update();
+            left.right = node;
+            return left;
+        }
+
+        private static Node rotateLeft(Node node) {
+            Node right = node.right;
+            node.right = right.left;
+            node.update();
+            right.left = node;
+            return right;
+        }
+
+        private static int size(Node node) {
+            return node == null ? 0 : node.size;
+        }
+
+        private static final class Node {
+            private final float score;
+            private final int priority = ThreadLocalRandom.current().nextInt();
+            private int count = 1;
+            private int size = 1;
+            private Node left;
+            private Node right;
+
+            private Node(float score) {
+                this.score = score;
+            }
+
+            private void update() {
+                size = size(left) + size(right) + count;
+            }
+        }
+    }
+}
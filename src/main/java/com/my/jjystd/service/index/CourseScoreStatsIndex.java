@@ -0,0 +1,301 @@
+package com.my.jjystd.service.index;
+
+import com.my.jjystd.controller.dto.CourseScoreStatsDTO;
+import com.my.jjystd.repository.ScoreRepository;
+import com.my.jjystd.repository.projection.CourseScoreAggregate;
+import com.my.jjystd.service.event.ScoreChangedEvent;
+import com.my.jjystd.service.event.ScoreSnapshot;
+import com.my.jjystd.service.event.ScoresImportedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * 课程成绩统计索引
+ * 在内存中按课程维护成绩的条数、总和、平方和、最值和及格人数，
+ * 成绩写入时增量更新，启动时及定时从数据库重建以纠正偏差；
+ * 全量重建在新的表中进行后整体替换，重建期间有变更的课程在替换后重新聚合。
+ * 数据库查询都在锁外执行，锁只保护内存中的读写
+ */
+@Component
+public class CourseScoreStatsIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(CourseScoreStatsIndex.class);
+
+    private final ScoreRepository scoreRepository;
+    private final float passScore;
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final ReentrantLock updateLock = new ReentrantLock();
+    private volatile Map<Integer, Accumulator> accumulators = new ConcurrentHashMap<>();
+    // 每门课程的变更次数，用于发现重新聚合期间提交的变更；由updateLock保护
+    private final Map<Integer, Long> versions = new HashMap<>();
+    // 全量重建期间有变更的课程，不在重建时为null；由updateLock保护
+    private Set<Integer> changedDuringRebuild;
+
+    @Autowired
+    public CourseScoreStatsIndex(ScoreRepository scoreRepository,
+                                 @Value("${score.pass-score:60}") float passScore) {
+        this.scoreRepository = scoreRepository;
+        this.passScore = passScore;
+    }
+
+    /**
+     * 获取课程成绩统计
+     * @param courseId 课程ID
+     * @return 统计结果
+     */
+    public CourseScoreStatsDTO getStats(Integer courseId) {
+        Accumulator accumulator = accumulators.get(courseId);
+        if (accumulator != null && accumulator.isStale()) {
+            // 删除或修改了最值，需要从数据库重新计算该课程
+            accumulator = reloadCourse(courseId);
+        }
+        CourseScoreStatsDTO stats = accumulator != null ? accumulator.toStats() : new CourseScoreStatsDTO();
+        stats.setCourseId(courseId);
+        if (stats.getCount() == null) {
+            stats.setCount(0L);
+        }
+        return stats;
+    }
+
+    /**
+     * 应用启动后从数据库全量构建
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuildAll();
+    }
+
+    /**
+     * 定时全量重建，纠正并发写入可能造成的偏差
+     */
+    @Scheduled(initialDelayString = "${score.stats.rebuild-interval-ms:3600000}",
+            fixedDelayString = "${score.stats.rebuild-interval-ms:3600000}")
+    public void scheduledRebuild() {
+        rebuildAll();
+    }
+
+    /**
+     * 从数据库全量重建所有课程的统计，整体替换后重新聚合重建期间有变更的课程
+     */
+    public void rebuildAll() {
+        rebuildLock.lock();
+        try {
+            withUpdateLock(() -> changedDuringRebuild = new HashSet<>());
+            Set<Integer> changed;
+            try {
+                Map<Integer, Accumulator> rebuilt = new ConcurrentHashMap<>();
+                for (CourseScoreAggregate aggregate : scoreRepository.aggregateByCourse(passScore)) {
+                    rebuilt.put(aggregate.getCourseId(), Accumulator.from(aggregate));
+                }
+                changed = withUpdateLock(() -> {
+                    accumulators = rebuilt;
+                    return changedDuringRebuild;
+                });
+            } finally {
+                withUpdateLock(() -> changedDuringRebuild = null);
+            }
+            // 聚合查询是否已包含这些变更无法判断，重新聚合是幂等的
+            changed.forEach(this::reloadCourse);
+            log.info("课程成绩统计已重建，课程数：{}，重新聚合：{}", accumulators.size(), changed.size());
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * 从数据库重建指定课程的统计
+     * @param courseId 课程ID
+     */
+    public void rebuildCourse(Integer courseId) {
+        reloadCourse(courseId);
+    }
+
+    /**
+     * 重新聚合单门课程，查询在锁外执行；
+     * 查询期间该课程有变更时无法判断结果是否已包含，标记为过期，下次读取时再聚合
+     */
+    private Accumulator reloadCourse(Integer courseId) {
+        long version = withUpdateLock(() -> versions.getOrDefault(courseId, 0L));
+        List<CourseScoreAggregate> aggregates = scoreRepository.aggregateByCourseId(courseId, passScore);
+        Accumulator loaded = aggregates.isEmpty() ? null : Accumulator.from(aggregates.get(0));
+        return withUpdateLock(() -> {
+            Accumulator accumulator = loaded;
+            if (versions.getOrDefault(courseId, 0L) != version) {
+                accumulator = accumulator != null ? accumulator : new Accumulator();
+                accumulator.markStale();
+            }
+            if (accumulator == null) {
+                accumulators.remove(courseId);
+            } else {
+                accumulators.put(courseId, accumulator);
+            }
+            return accumulator;
+        });
+    }
+
+    /**
+     * 成绩变更时增量更新统计
+     * @param event 成绩变更事件
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScoreChanged(ScoreChangedEvent event) {
+        ScoreSnapshot before = event.before();
+        ScoreSnapshot after = event.after();
+        withUpdateLock(() -> {
+            if (before != null && before.courseId() != null && before.score() != null) {
+                Accumulator accumulator = accumulators.get(before.courseId());
+                if (accumulator != null) {
+                    accumulator.remove(before.score(), passScore);
+                }
+            }
+            if (after != null && after.courseId() != null && after.score() != null) {
+                accumulators.computeIfAbsent(after.courseId(), id -> new Accumulator())
+                        .add(after.score(), passScore);
+            }
+            if (before != null) {
+                markChanged(before.courseId());
+            }
+            if (after != null) {
+                markChanged(after.courseId());
+            }
+            return null;
+        });
+    }
+
+    /**
+     * 成绩批量导入后重新聚合受影响课程的统计
+     * @param event 成绩批量导入事件
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScoresImported(ScoresImportedEvent event) {
+        withUpdateLock(() -> {
+            event.courseIds().forEach(this::markChanged);
+            return null;
+        });
+        event.courseIds().forEach(this::reloadCourse);
+    }
+
+    /**
+     * 记录课程有变更，调用方需持有updateLock
+     */
+    private void markChanged(Integer courseId) {
+        if (courseId == null) {
+            return;
+        }
+        versions.merge(courseId, 1L, Long::sum);
+        if (changedDuringRebuild != null) {
+            changedDuringRebuild.add(courseId);
+        }
+    }
+
+    private <R> R withUpdateLock(Supplier<R> action) {
+        updateLock.lock();
+        try {
+            return action.get();
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    /**
+     * 单门课程的累加器
+     */
+    static final class Accumulator {
+        private long count;
+        private double sum;
+        private double sumOfSquares;
+        private float min = Float.NaN;
+        private float max = Float.NaN;
+        private long passCount;
+        private boolean stale;
+
+        static Accumulator from(CourseScoreAggregate aggregate) {
+            Accumulator accumulator = new Accumulator();
+            accumulator.count = aggregate.getScoreCount() != null ? aggregate.getScoreCount() : 0L;
+            accumulator.sum = aggregate.getScoreSum() != null ? aggregate.getScoreSum() : 0D;
+            accumulator.sumOfSquares = aggregate.getSquareSum() != null ? aggregate.getSquareSum() : 0D;
+            accumulator.min = aggregate.getMinScore() != null ? aggregate.getMinScore() : Float.NaN;
+            accumulator.max = aggregate.getMaxScore() != null ? aggregate.getMaxScore() : Float.NaN;
+            accumulator.passCount = aggregate.getPassCount() != null ? aggregate.getPassCount() : 0L;
+            return accumulator;
+        }
+
+        synchronized void add(float score, float passScore) {
+            count++;
+            sum += score;
+            sumOfSquares += (double) score * score;
+            if (score >= passScore) {
+                passCount++;
+            }
+            if (count == 1) {
+                min = score;
+                max = score;
+            } else {
+                min = Math.min(min, score);
+                max = Math.max(max, score);
+            }
+        }
+
+        synchronized void remove(float score, float passScore) {
+            if (count == 0) {
+                stale = true;
+                return;
+            }
+            count--;
+            sum -= score;
+            sumOfSquares -= (double) score * score;
+            if (score >= passScore) {
+                passCount--;
+            }
+            if (count == 0) {
+                sum = 0;
+                sumOfSquares = 0;
+                min = Float.NaN;
+                max = Float.NaN;
+            } else if (score <= min || score >= max) {
+                // 删除的是最值，增量无法得到新的最值
+                stale = true;
+            }
+        }
+
+        synchronized void markStale() {
+            stale = true;
+        }
+
+        synchronized boolean isStale() {
+            return stale;
+        }
+
+        synchronized CourseScoreStatsDTO toStats() {
+            CourseScoreStatsDTO stats = new CourseScoreStatsDTO();
+            stats.setCount(count);
+            if (count > 0) {
+                double mean = sum / count;
+                // 浮点误差可能使方差略小于0
+                double variance = Math.max(0D, sumOfSquares / count - mean * mean);
+                stats.setMean(mean);
+                stats.setMin(min);
+                stats.setMax(max);
+                stats.setStdDev(Math.sqrt(variance));
+                stats.setPassRate((double) passCount / count);
+            }
+            return stats;
+        }
+    }
+}
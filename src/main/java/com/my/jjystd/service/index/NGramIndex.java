@@ -0,0 +1,174 @@
+package com.my.jjystd.service.index;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 多字段N-gram倒排索引，用于代替LIKE '%关键字%'的全表扫描
+ * 每个字段的值按小写切分为单字和双字片段，片段到记录ID建立倒排表；
+ * 查询时取关键字各双字片段倒排表的交集作为候选，再逐条校验是否包含关键字
+ */
+public final class NGramIndex {
+
+    private final List<Map<String, Set<Integer>>> postings;
+    private final Map<Integer, String[]> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * @param fieldCount 字段数
+     */
+    public NGramIndex(int fieldCount) {
+        this.postings = new ArrayList<>(fieldCount);
+        for (int i = 0; i < fieldCount; i++) {
+            postings.add(new HashMap<>());
+        }
+    }
+
+    /**
+     * 写入或替换记录
+     * @param id 记录ID
+     * @param values 各字段值，顺序与字段编号一致，可为null
+     */
+    public void put(Integer id, String... values) {
+        String[] normalized = new String[postings.size()];
+        for (int field = 0; field < normalized.length; field++) {
+            normalized[field] = normalize(field < values.length ? values[field] : null);
+        }
+        lock.writeLock().lock();
+        try {
+            unlink(id, documents.put(id, normalized));
+            for (int field = 0; field < normalized.length; field++) {
+                Map<String, Set<Integer>> fieldPostings = postings.get(field);
+                for (String gram : grams(normalized[field])) {
+                    fieldPostings.computeIfAbsent(gram, key -> new HashSet<>()).add(id);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 删除记录
+     * @param id 记录ID
+     */
+    public void remove(Integer id) {
+        lock.writeLock().lock();
+        try {
+            unlink(id, documents.remove(id));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 查询字段包含关键字（不区分大小写）的记录
+     * @param field 字段编号
+     * @param term 关键字
+     * @return 记录ID
+     */
+    public Set<Integer> search(int field, String term) {
+        String normalized = normalize(term);
+        if (normalized == null || normalized.isEmpty()) {
+            return Collections.emptySet();
+        }
+        lock.readLock().lock();
+        try {
+            Map<String, Set<Integer>> fieldPostings = postings.get(field);
+            // 单字关键字直接取单字倒排表，无需校验
+            if (normalized.codePointCount(0, normalized.length()) == 1) {
+                Set<Integer> ids = fieldPostings.get(normalized);
+                return ids == null ? Collections.emptySet() : new HashSet<>(ids);
+            }
+            // 从最短的倒排表开始求交集
+            List<Set<Integer>> lists = new ArrayList<>();
+            for (String gram : bigrams(normalized)) {
+                Set<Integer> ids = fieldPostings.get(gram);
+                if (ids == null) {
+                    return Collections.emptySet();
+                }
+                lists.add(ids);
+            }
+            lists.sort((a, b) -> Integer.compare(a.size(), b.size()));
+            Set<Integer> result = new HashSet<>();
+            for (Integer id : lists.get(0)) {
+                if (containsAll(lists, id) && documents.get(id)[field].contains(normalized)) {
+                    result.add(id);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return 记录数
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void unlink(Integer id, String[] previous) {
+        if (previous == null) {
+            return;
+        }
+        for (int field = 0; field < previous.length; field++) {
+            Map<String, Set<Integer>> fieldPostings = postings.get(field);
+            for (String gram : grams(previous[field])) {
+                Set<Integer> ids = fieldPostings.get(gram);
+                if (ids != null && ids.remove(id) && ids.isEmpty()) {
+                    fieldPostings.remove(gram);
+                }
+            }
+        }
+    }
+
+    private static boolean containsAll(List<Set<Integer>> lists, Integer id) {
+        for (int i = 1; i < lists.size(); i++) {
+            if (!lists.get(i).contains(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 值的全部单字和双字片段
+     */
+    private static Set<String> grams(String value) {
+        if (value == null || value.isEmpty()) {
+            return Collections.emptySet();
+        }
+        Set<String> grams = new HashSet<>();
+        value.codePoints().forEach(codePoint -> grams.add(new String(Character.toChars(codePoint))));
+        grams.addAll(bigrams(value));
+        return grams;
+    }
+
+    private static Set<String> bigrams(String value) {
+        Set<String> grams = new HashSet<>();
+        int[] codePoints = value.codePoints().toArray();
+        for (int i = 0; i + 1 < codePoints.length; i++) {
+            grams.add(new String(codePoints, i, 2));
+        }
+        return grams;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
+}
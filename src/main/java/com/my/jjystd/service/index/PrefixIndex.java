@@ -0,0 +1,86 @@
+package com.my.jjystd.service.index;
+
+import com.my.jjystd.controller.dto.SuggestionDTO;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * 前缀索引
+ * 每条记录的名称和编号以小写形式作为有序键，前缀查询即取键区间内的前若干项，
+ * 复杂度为O(log n + k)；键后追加ID使同名记录各自保留
+ */
+public final class PrefixIndex {
+
+    private static final char SEPARATOR = '\u0000';
+
+    private final ConcurrentNavigableMap<String, SuggestionDTO> entries = new ConcurrentSkipListMap<>();
+    // 记录ID -> 该记录当前的键，用于替换和删除
+    private final Map<Integer, List<String>> keysById = new ConcurrentHashMap<>();
+
+    /**
+     * 写入或替换记录
+     * @param suggestion 提示条目
+     */
+    public void put(SuggestionDTO suggestion) {
+        List<String> keys = new ArrayList<>(2);
+        addKey(keys, suggestion.getName(), suggestion.getId());
+        addKey(keys, suggestion.getCode(), suggestion.getId());
+        List<String> previous = keysById.put(suggestion.getId(), keys);
+        if (previous != null) {
+            previous.forEach(entries::remove);
+        }
+        for (String key : keys) {
+            entries.put(key, suggestion);
+        }
+    }
+
+    /**
+     * 删除记录
+     * @param id 记录ID
+     */
+    public void remove(Integer id) {
+        List<String> previous = keysById.remove(id);
+        if (previous != null) {
+            previous.forEach(entries::remove);
+        }
+    }
+
+    /**
+     * 查询名称或编号以指定前缀开头（不区分大小写）的记录，按键的字典序返回
+     * @param prefix 前缀
+     * @param limit 最多返回条数
+     * @return 提示条目
+     */
+    public List<SuggestionDTO> search(String prefix, int limit) {
+        String from = prefix.toLowerCase(Locale.ROOT);
+        Map<Integer, SuggestionDTO> result = new LinkedHashMap<>();
+        for (SuggestionDTO suggestion : entries.subMap(from, true, from + Character.MAX_VALUE, false).values()) {
+            // 名称和编号可能同时命中同一条记录
+            result.putIfAbsent(suggestion.getId(), suggestion);
+            if (result.size() >= limit) {
+                break;
+            }
+        }
+        return new ArrayList<>(result.values());
+    }
+
+    /**
+     * @return 记录数
+     */
+    public int size() {
+        return keysById.size();
+    }
+
+    private static void addKey(List<String> keys, String value, Integer id) {
+        if (value != null && !value.isBlank()) {
+            keys.add(value.toLowerCase(Locale.ROOT) + SEPARATOR + id);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.my.jjystd.service.index;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.my.jjystd.common.HistogramScope;
+import com.my.jjystd.controller.dto.HistogramBucketDTO;
+import com.my.jjystd.controller.dto.ScoreHistogramDTO;
+import com.my.jjystd.repository.ScoreRepository;
+import com.my.jjystd.repository.projection.ScoreBucketCount;
+import com.my.jjystd.service.event.ScoreChangedEvent;
+import com.my.jjystd.service.event.ScoreSnapshot;
+import com.my.jjystd.service.event.ScoresImportedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 成绩分布直方图缓存
+ * 直方图由一次GROUP BY分段查询得出，按(范围, ID, 分段宽度)缓存在Caffeine中，
+ * 容量和过期时间由score.histogram.cache.spec配置，该范围内的成绩发生变更后失效
+ */
+@Component
+public class ScoreHistogramCache {
+
+    /**
+     * 满分
+     */
+    private static final float FULL_SCORE = 100F;
+
+    private final ScoreRepository scoreRepository;
+    private final float passScore;
+    private final Cache<HistogramKey, ScoreHistogramDTO> cache;
+    // 每次失效递增，用于丢弃查询期间已过期的结果
+    private final AtomicLong generation = new AtomicLong();
+
+    @Autowired
+    public ScoreHistogramCache(ScoreRepository scoreRepository,
+                               @Value("${score.pass-score:60}") float passScore,
+                               @Value("${score.histogram.cache.spec:maximumSize=1000,expireAfterWrite=30m}") String spec) {
+        this.scoreRepository = scoreRepository;
+        this.passScore = passScore;
+        this.cache = Caffeine.from(spec).build();
+    }
+
+    /**
+     * 获取成绩分布直方图
+     * @param scope 统计范围
+     * @param scopeId 课程或教师ID，范围为ALL时忽略
+     * @param width 分段宽度
+     * @return 直方图
+     */
+    public ScoreHistogramDTO getHistogram(HistogramScope scope, Integer scopeId, int width) {
+        HistogramKey key = new HistogramKey(scope, scope == HistogramScope.ALL ? null : scopeId, width);
+        ScoreHistogramDTO cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        long observed = generation.get();
+        ScoreHistogramDTO histogram = build(key);
+        cache.put(key, histogram);
+        // 查询期间发生了失效，结果可能已过期，不保留
+        if (generation.get() != observed) {
+            cache.asMap().remove(key, histogram);
+        }
+        return histogram;
+    }
+
+    /**
+     * 成绩变更时使所在课程、教师及全局的直方图失效
+     * @param event 成绩变更事件
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScoreChanged(ScoreChangedEvent event) {
+        generation.incrementAndGet();
+        cache.asMap().keySet().removeIf(key -> key.scope() == HistogramScope.ALL
+                || affects(key, event.before()) || affects(key, event.after()));
+    }
+
+    /**
+     * 成绩批量导入后使相关课程、全部教师及全局的直方图失效
+     * @param event 成绩批量导入事件
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScoresImported(ScoresImportedEvent event) {
+        generation.incrementAndGet();
+        cache.asMap().keySet().removeIf(key -> key.scope() != HistogramScope.COURSE
+                || event.courseIds().contains(key.scopeId()));
+    }
+
+    private static boolean affects(HistogramKey key, ScoreSnapshot snapshot) {
+        if (snapshot == null) {
+            return false;
+        }
+        return switch (key.scope()) {
+            case COURSE -> key.scopeId().equals(snapshot.courseId());
+            case TEACHER -> key.scopeId().equals(snapshot.teacherId());
+            default -> true;
+        };
+    }
+
+    private ScoreHistogramDTO build(HistogramKey key) {
+        List<ScoreBucketCount> rows = switch (key.scope()) {
+            case COURSE -> scoreRepository.countByBucketAndCourseId(key.scopeId(), passScore, key.width());
+            case TEACHER -> scoreRepository.countByBucketAndTeacherId(key.scopeId(), passScore, key.width());
+            default -> scoreRepository.countByBucket(passScore, key.width());
+        };
+
+        int passBuckets = Math.max(1, (int) Math.ceil((FULL_SCORE - passScore) / key.width()));
+        long failCount = 0;
+        long[] counts = new long[passBuckets];
+        long total = 0;
+        for (ScoreBucketCount row : rows) {
+            long count = row.getScoreCount();
+            total += count;
+            if (row.getBucket() < 0) {
+                failCount += count;
+            } else {
+                // 满分（及超出满分的异常数据）归入最后一段
+                counts[(int) Math.min(row.getBucket(), passBuckets - 1)] += count;
+            }
+        }
+
+        List<HistogramBucketDTO> buckets = new ArrayList<>(passBuckets + 1);
+        buckets.add(bucket(0F, passScore, false, failCount));
+        for (int i = 0; i < passBuckets; i++) {
+            float lower = passScore + i * key.width();
+            boolean last = i == passBuckets - 1;
+            float upper = last ? FULL_SCORE : lower + key.width();
+            buckets.add(bucket(lower, upper, last, counts[i]));
+        }
+
+        ScoreHistogramDTO histogram = new ScoreHistogramDTO();
+        histogram.setScope(key.scope().getValue());
+        histogram.setScopeId(key.scopeId());
+        histogram.setWidth(key.width());
+        histogram.setTotal(total);
+        histogram.setBuckets(buckets);
+        return histogram;
+    }
+
+    private static HistogramBucketDTO bucket(float lower, float upper, boolean inclusive, long count) {
+        HistogramBucketDTO bucket = new HistogramBucketDTO();
+        // 分数按整数展示区间，如[60, 70)显示为60-69
+        bucket.setLabel(format(lower) + "-" + format(inclusive ? upper : upper - 1));
+        bucket.setLower(lower);
+        bucket.setUpper(upper);
+        bucket.setCount(count);
+        return bucket;
+    }
+
+    private static String format(float value) {
+        return value == Math.floor(value) ? String.valueOf((int) value) : String.valueOf(value);
+    }
+
+    /**
+     * 缓存键
+     * @param scope 统计范围
+     * @param scopeId 课程或教师ID
+     * @param width 分段宽度
+     */
+    private record HistogramKey(HistogramScope scope, Integer scopeId, int width) {
+    }
+}
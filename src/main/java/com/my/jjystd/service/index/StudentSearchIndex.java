@@ -0,0 +1,53 @@
+package com.my.jjystd.service.index;
+
+import com.my.jjystd.controller.dto.StudentQueryDTO;
+import com.my.jjystd.entity.Student;
+import com.my.jjystd.repository.StudentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 学生模糊查询索引
+ * 覆盖姓名、学号、班级、院系、专业、电话、邮箱；性别等其他条件仍由SQL处理
+ */
+@Component
+public class StudentSearchIndex extends AbstractNGramSearchIndex<Student> {
+
+    private final StudentRepository studentRepository;
+
+    @Autowired
+    public StudentSearchIndex(StudentRepository studentRepository) {
+        super(Student.class, 7);
+        this.studentRepository = studentRepository;
+    }
+
+    /**
+     * 用查询条件中的索引字段缩小查询范围
+     * @param queryDTO 查询条件
+     * @param spec 按查询条件构建的SQL条件
+     * @return 查询条件
+     */
+    public Specification<Student> narrow(StudentQueryDTO queryDTO, Specification<Student> spec) {
+        return narrow(spec, queryDTO.getName(), queryDTO.getStudentNo(), queryDTO.getClassName(),
+                queryDTO.getDepartment(), queryDTO.getMajor(), queryDTO.getPhone(), queryDTO.getEmail());
+    }
+
+    @Override
+    protected List<Student> loadAll() {
+        return studentRepository.findAll();
+    }
+
+    @Override
+    protected Integer idOf(Student student) {
+        return student.getId();
+    }
+
+    @Override
+    protected String[] valuesOf(Student student) {
+        return new String[]{student.getName(), student.getStudentNo(), student.getClassName(),
+                student.getDepartment(), student.getMajor(), student.getPhone(), student.getEmail()};
+    }
+}
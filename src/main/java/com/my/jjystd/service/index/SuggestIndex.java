@@ -0,0 +1,106 @@
+package com.my.jjystd.service.index;
+
+import com.my.jjystd.common.SuggestType;
+import com.my.jjystd.controller.dto.SuggestionDTO;
+import com.my.jjystd.entity.Course;
+import com.my.jjystd.entity.Student;
+import com.my.jjystd.entity.Teacher;
+import com.my.jjystd.repository.CourseRepository;
+import com.my.jjystd.repository.StudentRepository;
+import com.my.jjystd.repository.TeacherRepository;
+import com.my.jjystd.service.event.EntityChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 学生、教师、课程的输入提示索引
+ * 按类型各维护一个前缀索引，启动时全量构建，对应服务写入时增量更新，
+ * 并随模糊查询索引的周期定时重建
+ */
+@Component
+public class SuggestIndex extends AbstractSearchIndex<Map<SuggestType, PrefixIndex>> {
+
+    private static final Logger log = LoggerFactory.getLogger(SuggestIndex.class);
+
+    private final StudentRepository studentRepository;
+    private final TeacherRepository teacherRepository;
+    private final CourseRepository courseRepository;
+
+    @Autowired
+    public SuggestIndex(StudentRepository studentRepository, TeacherRepository teacherRepository,
+                        CourseRepository courseRepository) {
+        this.studentRepository = studentRepository;
+        this.teacherRepository = teacherRepository;
+        this.courseRepository = courseRepository;
+    }
+
+    /**
+     * 前缀查询
+     * @param type 对象类型
+     * @param prefix 前缀
+     * @param limit 最多返回条数
+     * @return 提示条目，索引未构建时为空
+     */
+    public List<SuggestionDTO> search(SuggestType type, String prefix, int limit) {
+        Map<SuggestType, PrefixIndex> indexes = current();
+        PrefixIndex index = indexes == null ? null : indexes.get(type);
+        return index == null ? List.of() : index.search(prefix, limit);
+    }
+
+    /**
+     * 从数据库加载所有类型的索引
+     */
+    @Override
+    protected Map<SuggestType, PrefixIndex> load() {
+        PrefixIndex students = new PrefixIndex();
+        studentRepository.findAll().forEach(student -> students.put(of(student)));
+        PrefixIndex teachers = new PrefixIndex();
+        teacherRepository.findAll().forEach(teacher -> teachers.put(of(teacher)));
+        PrefixIndex courses = new PrefixIndex();
+        courseRepository.findAll().forEach(course -> courses.put(of(course)));
+        Map<SuggestType, PrefixIndex> indexes = new EnumMap<>(SuggestType.class);
+        indexes.put(SuggestType.STUDENT, students);
+        indexes.put(SuggestType.TEACHER, teachers);
+        indexes.put(SuggestType.COURSE, courses);
+        log.info("输入提示索引已重建，学生：{}，教师：{}，课程：{}", students.size(), teachers.size(), courses.size());
+        return indexes;
+    }
+
+    @Override
+    protected void apply(Map<SuggestType, PrefixIndex> indexes, EntityChangedEvent<?> event) {
+        Object entity = event.entity();
+        if (event.entityType() == Student.class) {
+            update(indexes.get(SuggestType.STUDENT), event.entityId(), entity == null ? null : of((Student) entity));
+        } else if (event.entityType() == Teacher.class) {
+            update(indexes.get(SuggestType.TEACHER), event.entityId(), entity == null ? null : of((Teacher) entity));
+        } else if (event.entityType() == Course.class) {
+            update(indexes.get(SuggestType.COURSE), event.entityId(), entity == null ? null : of((Course) entity));
+        }
+    }
+
+    private static void update(PrefixIndex index, Integer id, SuggestionDTO suggestion) {
+        if (suggestion == null) {
+            index.remove(id);
+        } else {
+            index.put(suggestion);
+        }
+    }
+
+    private static SuggestionDTO of(Student student) {
+        return new SuggestionDTO(student.getId(), student.getName(), student.getStudentNo());
+    }
+
+    private static SuggestionDTO of(Teacher teacher) {
+        return new SuggestionDTO(teacher.getId(), teacher.getName(), teacher.getTeacherNo());
+    }
+
+    private static SuggestionDTO of(Course course) {
+        return new SuggestionDTO(course.getId(), course.getName(), course.getCourseCode());
+    }
+}
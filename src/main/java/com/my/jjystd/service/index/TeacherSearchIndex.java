@@ -0,0 +1,53 @@
+package com.my.jjystd.service.index;
+
+import com.my.jjystd.controller.dto.TeacherQueryDTO;
+import com.my.jjystd.entity.Teacher;
+import com.my.jjystd.repository.TeacherRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 教师模糊查询索引
+ * 覆盖姓名、教师编号、院系、电话、邮箱；性别、职称等其他条件仍由SQL处理
+ */
+@Component
+public class TeacherSearchIndex extends AbstractNGramSearchIndex<Teacher> {
+
+    private final TeacherRepository teacherRepository;
+
+    @Autowired
+    public TeacherSearchIndex(TeacherRepository teacherRepository) {
+        super(Teacher.class, 5);
+        this.teacherRepository = teacherRepository;
+    }
+
+    /**
+     * 用查询条件中的索引字段缩小查询范围
+     * @param queryDTO 查询条件
+     * @param spec 按查询条件构建的SQL条件
+     * @return 查询条件
+     */
+    public Specification<Teacher> narrow(TeacherQueryDTO queryDTO, Specification<Teacher> spec) {
+        return narrow(spec, queryDTO.getName(), queryDTO.getTeacherNo(), queryDTO.getDepartment(),
+                queryDTO.getPhone(), queryDTO.getEmail());
+    }
+
+    @Override
+    protected List<Teacher> loadAll() {
+        return teacherRepository.findAll();
+    }
+
+    @Override
+    protected Integer idOf(Teacher teacher) {
+        return teacher.getId();
+    }
+
+    @Override
+    protected String[] valuesOf(Teacher teacher) {
+        return new String[]{teacher.getName(), teacher.getTeacherNo(), teacher.getDepartment(),
+                teacher.getPhone(), teacher.getEmail()};
+    }
+}
@@ -0,0 +1,15 @@
+package com.my.jjystd.service.monitor;
+
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+
+/**
+ * Hibernate加载事件监听器：每个完成加载的实体（含从二级缓存组装的）计入当前请求
+ */
+public class CountingPostLoadListener implements PostLoadEventListener {
+
+    @Override
+    public void onPostLoad(PostLoadEvent event) {
+        RequestQueryTracker.recordEntityLoad();
+    }
+}
@@ -0,0 +1,15 @@
+package com.my.jjystd.service.monitor;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate语句检查器：每条准备执行的SQL计入当前请求，SQL原样返回
+ */
+public class CountingStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        RequestQueryTracker.recordStatement(sql);
+        return sql;
+    }
+}
@@ -0,0 +1,61 @@
+package com.my.jjystd.service.monitor;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * 单个请求内的SQL语句与实体加载计数
+ * 只在处理该请求的线程内读写，不需要同步
+ */
+public class RequestQueryStats {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    /**
+     * IN列表的占位符个数随参数变化，归并为同一形态
+     */
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)+\\s*\\)");
+
+    private int statements;
+    private int entityLoads;
+    private final Map<String, Integer> shapes = new HashMap<>();
+
+    void recordStatement(String sql) {
+        statements++;
+        shapes.merge(shape(sql), 1, Integer::sum);
+    }
+
+    void recordEntityLoad() {
+        entityLoads++;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public int getEntityLoads() {
+        return entityLoads;
+    }
+
+    /**
+     * 执行次数最多的语句形态，无语句时为null
+     */
+    public Map.Entry<String, Integer> mostRepeated() {
+        Map.Entry<String, Integer> result = null;
+        for (Map.Entry<String, Integer> entry : shapes.entrySet()) {
+            if (result == null || entry.getValue() > result.getValue()) {
+                result = entry;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 语句形态：Hibernate生成的SQL已使用绑定参数，只需统一空白并归并IN列表
+     */
+    static String shape(String sql) {
+        String normalized = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        return IN_LIST.matcher(normalized).replaceAll("(?...)");
+    }
+}
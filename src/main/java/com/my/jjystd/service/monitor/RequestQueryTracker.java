@@ -0,0 +1,51 @@
+package com.my.jjystd.service.monitor;
+
+/**
+ * 按请求线程记录SQL语句和实体加载次数
+ * 由请求过滤器开启和结束，Hibernate的语句检查器和加载事件监听器在当前线程有记录时计数；
+ * 异步导出等其他线程上执行的查询不计入
+ */
+public final class RequestQueryTracker {
+
+    private static final ThreadLocal<RequestQueryStats> CURRENT = new ThreadLocal<>();
+
+    private RequestQueryTracker() {
+    }
+
+    /**
+     * 开始记录当前线程的请求
+     */
+    public static void start() {
+        CURRENT.set(new RequestQueryStats());
+    }
+
+    /**
+     * 结束记录并返回统计结果，未开始时为null
+     */
+    public static RequestQueryStats stop() {
+        RequestQueryStats stats = CURRENT.get();
+        CURRENT.remove();
+        return stats;
+    }
+
+    /**
+     * 当前线程正在记录的统计，未开始时为null
+     */
+    public static RequestQueryStats current() {
+        return CURRENT.get();
+    }
+
+    static void recordStatement(String sql) {
+        RequestQueryStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.recordStatement(sql);
+        }
+    }
+
+    static void recordEntityLoad() {
+        RequestQueryStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.recordEntityLoad();
+        }
+    }
+}
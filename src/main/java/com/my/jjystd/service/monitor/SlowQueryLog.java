@@ -0,0 +1,117 @@
+package com.my.jjystd.service.monitor;
+
+import com.my.jjystd.controller.dto.SlowQueryDTO;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.Collectors;
+
+/**
+ * 慢SQL记录
+ * 数据源代理在每条语句执行后回调，耗时达到阈值的语句写入固定容量的环形缓冲区（按序号取模覆盖最早的记录，无锁），
+ * 同时通过slow-query日志记录器输出（logback-spring.xml中配置为异步追加器，不阻塞请求线程）；
+ * 只记录参数的设置类型，不记录参数值
+ */
+@Component
+public class SlowQueryLog implements QueryExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger("slow-query");
+
+    private final long thresholdMillis;
+    private final AtomicReferenceArray<SlowQueryDTO> buffer;
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Autowired
+    public SlowQueryLog(@Value("${monitor.slow-query.threshold-ms:200}") long thresholdMillis,
+                        @Value("${monitor.slow-query.buffer-size:256}") int bufferSize) {
+        this.thresholdMillis = thresholdMillis;
+        this.buffer = new AtomicReferenceArray<>(bufferSize);
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsed = execInfo.getElapsedTime();
+        if (elapsed < thresholdMillis) {
+            return;
+        }
+        SlowQueryDTO entry = new SlowQueryDTO();
+        entry.setSql(queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; ")));
+        entry.setParameterShape(parameterShape(queryInfoList));
+        entry.setBatchSize(execInfo.isBatch() ? execInfo.getBatchSize() : null);
+        entry.setElapsedMillis(elapsed);
+        entry.setSuccess(execInfo.isSuccess());
+        entry.setThread(Thread.currentThread().getName());
+        entry.setExecutedAt(new Date());
+        buffer.set((int) (sequence.getAndIncrement() % buffer.length()), entry);
+
+        log.warn("慢SQL {}ms{}，参数{}：{}", elapsed,
+                entry.getBatchSize() != null ? "（批量" + entry.getBatchSize() + "组）" : "",
+                entry.getParameterShape(), entry.getSql());
+    }
+
+    /**
+     * 缓冲区内耗时最长的记录
+     * @param limit 返回条数上限
+     * @return 按耗时降序排列的慢SQL记录
+     */
+    public List<SlowQueryDTO> getSlowest(int limit) {
+        List<SlowQueryDTO> entries = new ArrayList<>(buffer.length());
+        for (int i = 0; i < buffer.length(); i++) {
+            SlowQueryDTO entry = buffer.get(i);
+            if (entry != null) {
+                entries.add(entry);
+            }
+        }
+        entries.sort(Comparator.comparing(SlowQueryDTO::getElapsedMillis).reversed());
+        return entries.size() > limit ? entries.subList(0, limit) : entries;
+    }
+
+    /**
+     * 记录阈值（毫秒）
+     */
+    public long getThresholdMillis() {
+        return thresholdMillis;
+    }
+
+    /**
+     * 启动以来记录的慢SQL总数（含已被覆盖的）
+     */
+    public long getRecordedCount() {
+        return sequence.get();
+    }
+
+    /**
+     * 参数形态：取第一组参数的设置方法，如[Int, String, Null]；批量执行的各组形态相同
+     */
+    private static String parameterShape(List<QueryInfo> queryInfoList) {
+        for (QueryInfo queryInfo : queryInfoList) {
+            List<List<ParameterSetOperation>> parametersList = queryInfo.getParametersList();
+            if (!parametersList.isEmpty()) {
+                StringJoiner joiner = new StringJoiner(", ", "[", "]");
+                for (ParameterSetOperation operation : parametersList.get(0)) {
+                    joiner.add(operation.getMethod().getName().replaceFirst("^set", ""));
+                }
+                return joiner.toString();
+            }
+        }
+        return "[]";
+    }
+}
@@ -0,0 +1,17 @@
+package com.my.jjystd.service.security;
+
+/**
+ * 令牌中携带的登录身份，校验通过后以请求属性的形式提供给后续处理
+ * @param userId 用户ID
+ * @param role 用户角色
+ * @param profileId 关联的学生/教师ID，管理员为空
+ * @param tokenId 令牌ID，用于注销
+ * @param expiresAt 过期时间（毫秒时间戳）
+ */
+public record TokenPrincipal(Integer userId, String role, Integer profileId, String tokenId, long expiresAt) {
+
+    /**
+     * 请求属性名
+     */
+    public static final String REQUEST_ATTRIBUTE = TokenPrincipal.class.getName();
+}
@@ -0,0 +1,140 @@
+package com.my.jjystd.service.security;
+
+import com.my.jjystd.common.BloomFilter;
+import com.my.jjystd.entity.RevokedToken;
+import com.my.jjystd.repository.RevokedTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 已注销令牌集合
+ * 按令牌过期时间分桶，每桶一个布隆过滤器，桶内令牌全部过期后整桶丢弃，
+ * 内存占用只与有效期内的注销数量有关；注销记录同时写入数据库，
+ * 各节点定时拉取新增记录，请求校验时只查本地过滤器
+ * <p>
+ * 自增ID的分配顺序与提交顺序不一定一致（ID较小的记录可能晚提交），因此不按ID水位拉取，
+ * 而是按创建时间拉取上次同步开始前sync-overlap-ms以来的记录，窗口相互重叠，
+ * 覆盖提交延迟和节点间时钟偏差；重复加入过滤器不影响结果。
+ * 同步在查询数据库期间持有锁，使用ReentrantLock以免在虚拟线程上固定载体线程
+ */
+@Component
+public class TokenRevocationList {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationList.class);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final long bucketMillis;
+    private final long expectedPerBucket;
+    private final double falsePositiveRate;
+    private final long syncOverlapMillis;
+    // 桶起始时间 -> 该时段内过期的已注销令牌
+    private final ConcurrentNavigableMap<Long, BloomFilter> buckets = new ConcurrentSkipListMap<>();
+    private final ReentrantLock syncLock = new ReentrantLock();
+    // 上次同步开始的时间，为0时加载全部未过期记录
+    private volatile long lastSyncStartedAt;
+
+    @Autowired
+    public TokenRevocationList(RevokedTokenRepository revokedTokenRepository,
+                               @Value("${security.token.revocation.bucket-ms:3600000}") long bucketMillis,
+                               @Value("${security.token.revocation.expected-per-bucket:100000}") long expectedPerBucket,
+                               @Value("${security.token.revocation.false-positive-rate:0.000001}") double falsePositiveRate,
+                               @Value("${security.token.revocation.sync-overlap-ms:60000}") long syncOverlapMillis) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.bucketMillis = bucketMillis;
+        this.expectedPerBucket = expectedPerBucket;
+        this.falsePositiveRate = falsePositiveRate;
+        this.syncOverlapMillis = syncOverlapMillis;
+    }
+
+    /**
+     * 令牌是否已注销，存在极低概率将未注销的令牌误判为已注销
+     * @param tokenId 令牌ID
+     * @param expiresAt 令牌过期时间（毫秒时间戳）
+     * @return 是否已注销
+     */
+    public boolean isRevoked(String tokenId, long expiresAt) {
+        BloomFilter bucket = buckets.get(bucketStart(expiresAt));
+        return bucket != null && bucket.mightContain(tokenId);
+    }
+
+    /**
+     * 注销令牌，本节点立即生效，其他节点在下次同步后生效
+     * @param tokenId 令牌ID
+     * @param expiresAt 令牌过期时间（毫秒时间戳）
+     */
+    public void revoke(String tokenId, long expiresAt) {
+        RevokedToken revokedToken = new RevokedToken();
+        revokedToken.setTokenId(tokenId);
+        revokedToken.setExpiresAt(new Date(expiresAt));
+        revokedToken.setCreateTime(new Date());
+        revokedTokenRepository.save(revokedToken);
+        add(tokenId, expiresAt);
+    }
+
+    /**
+     * 应用启动后加载全部未过期的注销记录
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        sync();
+    }
+
+    /**
+     * 定时拉取其他节点新增的注销记录，并丢弃已过期的桶
+     */
+    @Scheduled(initialDelayString = "${security.token.revocation.sync-interval-ms:5000}",
+            fixedDelayString = "${security.token.revocation.sync-interval-ms:5000}")
+    public void sync() {
+        syncLock.lock();
+        try {
+            long now = System.currentTimeMillis();
+            long since = lastSyncStartedAt == 0 ? 0 : lastSyncStartedAt - syncOverlapMillis;
+            List<RevokedToken> rows = revokedTokenRepository
+                    .findByCreateTimeAfterAndExpiresAtAfter(new Date(since), new Date(now));
+            for (RevokedToken row : rows) {
+                add(row.getTokenId(), row.getExpiresAt().getTime());
+            }
+            lastSyncStartedAt = now;
+            // 桶结束时间早于当前时间，桶内令牌均已过期
+            buckets.headMap(bucketStart(now)).clear();
+            if (!rows.isEmpty()) {
+                log.debug("同步已注销令牌{}条，当前桶数：{}", rows.size(), buckets.size());
+            }
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * 定时清理数据库中已过期的注销记录
+     */
+    @Scheduled(initialDelayString = "${security.token.revocation.bucket-ms:3600000}",
+            fixedDelayString = "${security.token.revocation.bucket-ms:3600000}")
+    public void purgeExpired() {
+        int deleted = revokedTokenRepository.deleteExpired(new Date());
+        if (deleted > 0) {
+            log.info("已清理过期的注销令牌记录{}条", deleted);
+        }
+    }
+
+    private void add(String tokenId, long expiresAt) {
+        buckets.computeIfAbsent(bucketStart(expiresAt), start -> new BloomFilter(expectedPerBucket, falsePositiveRate))
+                .put(tokenId);
+    }
+
+    private long bucketStart(long expiresAt) {
+        return expiresAt - Math.floorMod(expiresAt, bucketMillis);
+    }
+}
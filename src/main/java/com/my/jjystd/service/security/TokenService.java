@@ -0,0 +1,144 @@
+package com.my.jjystd.service.security;
+
+import com.my.jjystd.controller.dto.LoginResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * 无状态登录令牌的签发、校验与注销
+ * 令牌格式为 Base64URL(载荷).Base64URL(HMAC-SHA256签名)，
+ * 载荷为 用户ID|角色|学生/教师ID|过期时间|令牌ID，校验只需计算签名，不访问数据库；
+ * 多节点部署时各节点须配置相同的密钥
+ */
+@Component
+public class TokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenService.class);
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    private final long ttlMillis;
+    private final TokenRevocationList revocationList;
+    private final SecureRandom random = new SecureRandom();
+
+    @Autowired
+    public TokenService(@Value("${security.token.secret:}") String secret,
+                        @Value("${security.token.ttl:2h}") Duration ttl,
+                        TokenRevocationList revocationList) {
+        byte[] keyBytes;
+        if (StringUtils.hasText(secret)) {
+            keyBytes = Base64.getDecoder().decode(secret);
+            if (keyBytes.length < 32) {
+                throw new IllegalStateException("security.token.secret至少需要32字节");
+            }
+        } else {
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+            log.warn("未配置security.token.secret，已生成临时密钥，重启后令牌失效且不能多节点共享");
+        }
+        this.key = new SecretKeySpec(keyBytes, ALGORITHM);
+        this.ttlMillis = ttl.toMillis();
+        this.revocationList = revocationList;
+    }
+
+    /**
+     * 为登录用户签发令牌，写入登录响应
+     * @param loginResponse 登录响应
+     */
+    public void issue(LoginResponse loginResponse) {
+        long expiresAt = System.currentTimeMillis() + ttlMillis;
+        byte[] tokenId = new byte[12];
+        random.nextBytes(tokenId);
+        String payload = loginResponse.getId() + "|" + loginResponse.getRole() + "|"
+                + (loginResponse.getProfileId() == null ? "" : loginResponse.getProfileId()) + "|"
+                + expiresAt + "|" + ENCODER.encodeToString(tokenId);
+        String encodedPayload = ENCODER.encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+        loginResponse.setToken(encodedPayload + "." + ENCODER.encodeToString(sign(encodedPayload)));
+        loginResponse.setTokenExpiresAt(expiresAt);
+    }
+
+    /**
+     * 校验令牌
+     * @param token 令牌
+     * @return 令牌身份，签名错误、格式错误、已过期或已注销时为空
+     */
+    public Optional<TokenPrincipal> verify(String token) {
+        Optional<TokenPrincipal> principal = parse(token);
+        if (principal.isEmpty() || principal.get().expiresAt() <= System.currentTimeMillis()) {
+            return Optional.empty();
+        }
+        if (revocationList.isRevoked(principal.get().tokenId(), principal.get().expiresAt())) {
+            return Optional.empty();
+        }
+        return principal;
+    }
+
+    /**
+     * 注销令牌，已过期或无效的令牌忽略
+     * @param token 令牌
+     * @return 是否注销了有效令牌
+     */
+    public boolean revoke(String token) {
+        return verify(token).map(principal -> {
+            revocationList.revoke(principal.tokenId(), principal.expiresAt());
+            return true;
+        }).orElse(false);
+    }
+
+    private Optional<TokenPrincipal> parse(String token) {
+        if (token == null) {
+            return Optional.empty();
+        }
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot != token.lastIndexOf('.')) {
+            return Optional.empty();
+        }
+        String encodedPayload = token.substring(0, dot);
+        try {
+            byte[] signature = DECODER.decode(token.substring(dot + 1));
+            if (!MessageDigest.isEqual(signature, sign(encodedPayload))) {
+                return Optional.empty();
+            }
+            String[] fields = new String(DECODER.decode(encodedPayload), StandardCharsets.UTF_8).split("\\|", -1);
+            if (fields.length != 5) {
+                return Optional.empty();
+            }
+            return Optional.of(new TokenPrincipal(
+                    Integer.valueOf(fields[0]),
+                    fields[1],
+                    fields[2].isEmpty() ? null : Integer.valueOf(fields[2]),
+                    fields[4],
+                    Long.parseLong(fields[3])));
+        } catch (IllegalArgumentException e) {
+            // Base64或数字格式错误
+            return Optional.empty();
+        }
+    }
+
+    private byte[] sign(String encodedPayload) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(encodedPayload.getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("令牌签名计算失败", e);
+        }
+    }
+}
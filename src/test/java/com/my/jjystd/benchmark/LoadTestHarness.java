@@ -0,0 +1,458 @@
+package com.my.jjystd.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.my.jjystd.JjyStdApplication;
+import com.my.jjystd.controller.dto.ScoreImportRowDTO;
+import com.my.jjystd.entity.Course;
+import com.my.jjystd.entity.Student;
+import com.my.jjystd.entity.Teacher;
+import com.my.jjystd.entity.User;
+import com.my.jjystd.repository.UserRepository;
+import com.my.jjystd.service.CourseService;
+import com.my.jjystd.service.ScoreService;
+import com.my.jjystd.service.StudentService;
+import com.my.jjystd.service.TeacherService;
+import com.my.jjystd.service.security.PasswordHasher;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 端到端HTTP压测
+ * 在本进程内以随机端口启动服务（默认h2内存库，也可指定连接本地MySQL的profile），
+ * 通过各service写入指定规模的用户、学生、教师、课程和成绩，然后以固定并发闭环发送混合请求：
+ * 登录（/api/user/login）、成绩单读取（/api/score/student/{id}）、学生条件分页查询（/api/student/search/page），
+ * 按接口统计吞吐量和p50/p95/p99延迟，结果写入JSON文件，便于不同版本间对比
+ * <p>
+ * 运行：mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.my.jjystd.benchmark.LoadTestHarness
+ * -Dexec.args="label=baseline students=5000 clients=64"
+ * <p>
+ * 参数均为key=value形式，可选：
+ * label（默认baseline）、profile（默认h2）、students（2000）、teachers（100）、courses（200）、
+ * scoresPerStudent（10）、clients（64）、warmupSeconds（10）、durationSeconds（60）、
+ * mix（各接口权重，默认login:10,transcript:60,search:30；登录风暴可用login:100）、
+ * output（默认target/load-test/{label}.json）；
+ * 键中含“.”的参数作为Spring属性传给被测服务，如spring.datasource.url=...
+ */
+public class LoadTestHarness {
+
+    private static final String PASSWORD = "123456";
+
+    /**
+     * 每次导入的成绩条数
+     */
+    private static final int SCORE_IMPORT_CHUNK = 5_000;
+
+    private static final String[] CLASS_NAMES = {"计算机1班", "计算机2班", "软件1班", "软件2班", "网络1班", "数学1班"};
+
+    public static void main(String[] args) throws Exception {
+        run(parseOptions(args));
+    }
+
+    /**
+     * 按参数启动服务、写入数据并压测
+     * @param options 压测参数
+     * @return 报告文件路径
+     */
+    static Path run(Map<String, String> options) throws Exception {
+        String label = options.getOrDefault("label", "baseline");
+        String profile = options.getOrDefault("profile", "h2");
+        int students = intOption(options, "students", 2_000);
+        int teachers = intOption(options, "teachers", 100);
+        int courses = intOption(options, "courses", 200);
+        int scoresPerStudent = Math.min(intOption(options, "scoresPerStudent", 10), courses);
+        int clients = intOption(options, "clients", 64);
+        int warmupSeconds = intOption(options, "warmupSeconds", 10);
+        int durationSeconds = intOption(options, "durationSeconds", 60);
+        Map<String, Integer> mix = parseMix(options.getOrDefault("mix", "login:10,transcript:60,search:30"));
+        Path output = Path.of(options.getOrDefault("output", "target/load-test/" + label + ".json"));
+
+        List<String> properties = new ArrayList<>(List.of("server.port=0",
+                // 统计信息收集本身有开销，压测时关闭
+                "spring.jpa.properties.hibernate.generate_statistics=false"));
+        options.forEach((key, value) -> {
+            if (key.contains(".")) {
+                properties.add(key + "=" + value);
+            }
+        });
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(JjyStdApplication.class)
+                .profiles(profile)
+                .properties(properties.toArray(new String[0]))
+                .run();
+        try {
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            long seedStart = System.nanoTime();
+            SeedData seed = seed(context, students, teachers, courses, scoresPerStudent);
+            long seedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - seedStart);
+            System.out.printf("seeded %d students, %d teachers, %d courses, %d scores in %d ms%n",
+                    seed.studentIds.size(), teachers, courses, (long) seed.studentIds.size() * scoresPerStudent,
+                    seedMillis);
+
+            Workload workload = new Workload("http://localhost:" + port, seed, mix);
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+
+            System.out.printf("label=%s, profile=%s, clients=%d, mix=%s%n", label, profile, clients, mix);
+            // 预热：建立连接、触发JIT、填充缓存，结果丢弃
+            workload.run(client, clients, warmupSeconds);
+            Instant startedAt = Instant.now();
+            Map<String, Recorder> recorders = workload.run(client, clients, durationSeconds);
+
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("label", label);
+            report.put("startedAt", startedAt.toString());
+            report.put("profile", profile);
+            report.put("javaVersion", System.getProperty("java.version"));
+            Map<String, Object> config = new LinkedHashMap<>();
+            config.put("students", students);
+            config.put("teachers", teachers);
+            config.put("courses", courses);
+            config.put("scoresPerStudent", scoresPerStudent);
+            config.put("clients", clients);
+            config.put("warmupSeconds", warmupSeconds);
+            config.put("durationSeconds", durationSeconds);
+            config.put("mix", mix);
+            config.put("seedMillis", seedMillis);
+            report.put("config", config);
+            List<EndpointReport> endpoints = new ArrayList<>();
+            Recorder total = new Recorder();
+            for (String name : mix.keySet()) {
+                Recorder recorder = recorders.get(name);
+                endpoints.add(recorder.report(name, Workload.PATHS.get(name), durationSeconds));
+                total.merge(recorder);
+            }
+            report.put("endpoints", endpoints);
+            report.put("total", total.report("total", "*", durationSeconds));
+
+            Files.createDirectories(output.toAbsolutePath().getParent());
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(output.toFile(), report);
+
+            System.out.printf("%-12s %10s %8s %12s %9s %9s %9s %9s%n",
+                    "endpoint", "requests", "errors", "requests/s", "p50(ms)", "p95(ms)", "p99(ms)", "max(ms)");
+            for (EndpointReport endpoint : endpoints) {
+                print(endpoint);
+            }
+            print(total.report("total", "*", durationSeconds));
+            System.out.println("report written to " + output.toAbsolutePath());
+            return output;
+        } finally {
+            context.close();
+        }
+    }
+
+    private static void print(EndpointReport r) {
+        System.out.printf("%-12s %10d %8d %12.1f %9.2f %9.2f %9.2f %9.2f%n",
+                r.name(), r.requests(), r.errors(), r.throughput(), r.p50Ms(), r.p95Ms(), r.p99Ms(), r.maxMs());
+    }
+
+    /**
+     * 通过service写入压测数据；账号直接写入repository，所有账号使用同一个预先计算的密码哈希，避免为每个账号计算BCrypt
+     */
+    private static SeedData seed(ConfigurableApplicationContext context, int students, int teachers,
+                                 int courses, int scoresPerStudent) {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        StudentService studentService = context.getBean(StudentService.class);
+        TeacherService teacherService = context.getBean(TeacherService.class);
+        CourseService courseService = context.getBean(CourseService.class);
+        ScoreService scoreService = context.getBean(ScoreService.class);
+        String passwordHash = context.getBean(PasswordHasher.class).hash(PASSWORD);
+
+        List<Integer> teacherIds = new ArrayList<>(teachers);
+        for (int i = 1; i <= teachers; i++) {
+            String teacherNo = String.format("LT%05d", i);
+            User user = userRepository.save(user(teacherNo, "teacher", passwordHash));
+            Teacher teacher = new Teacher();
+            teacher.setUserId(user.getId());
+            teacher.setName("教师" + i);
+            teacher.setGender(i % 2 == 0 ? "女" : "男");
+            teacher.setAge(30 + i % 30);
+            teacher.setTeacherNo(teacherNo);
+            teacher.setTitle(i % 3 == 0 ? "教授" : "讲师");
+            teacher.setDepartment("信息学院");
+            teacher.setCreateTime(new Date());
+            teacherIds.add(teacherService.saveTeacher(teacher).getId());
+        }
+
+        List<Course> courseList = new ArrayList<>(courses);
+        for (int i = 1; i <= courses; i++) {
+            Course course = new Course();
+            course.setName("课程" + i);
+            course.setCourseCode(String.format("LC%04d", i));
+            course.setDescription("压测课程" + i);
+            Teacher teacher = new Teacher();
+            teacher.setId(teacherIds.get(i % teacherIds.size()));
+            course.setTeacher(teacher);
+            course.setCredit((float) (1 + i % 4));
+            course.setStatus(1);
+            courseList.add(courseService.saveCourse(course));
+        }
+
+        List<Integer> studentIds = new ArrayList<>(students);
+        List<String> studentNos = new ArrayList<>(students);
+        for (int i = 1; i <= students; i++) {
+            String studentNo = String.format("LS%07d", i);
+            User user = userRepository.save(user(studentNo, "student", passwordHash));
+            Student student = new Student();
+            student.setUserId(user.getId());
+            student.setName("学生" + i);
+            student.setGender(i % 2 == 0 ? "女" : "男");
+            student.setAge(18 + i % 5);
+            student.setStudentNo(studentNo);
+            student.setClassName(CLASS_NAMES[i % CLASS_NAMES.length]);
+            student.setDepartment("信息学院");
+            student.setMajor(i % 2 == 0 ? "计算机科学与技术" : "软件工程");
+            studentIds.add(studentService.saveStudent(student).getId());
+            studentNos.add(studentNo);
+        }
+
+        List<ScoreImportRowDTO> rows = new ArrayList<>(SCORE_IMPORT_CHUNK);
+        for (int s = 0; s < studentIds.size(); s++) {
+            for (int c = 0; c < scoresPerStudent; c++) {
+                Course course = courseList.get((s + c * 7) % courseList.size());
+                ScoreImportRowDTO row = new ScoreImportRowDTO();
+                row.setStudentId(studentIds.get(s));
+                row.setCourseId(course.getId());
+                row.setTeacherId(course.getTeacher().getId());
+                row.setScore((float) (50 + (s * 31 + c * 17) % 51));
+                rows.add(row);
+                if (rows.size() == SCORE_IMPORT_CHUNK) {
+                    scoreService.importScores(rows);
+                    rows = new ArrayList<>(SCORE_IMPORT_CHUNK);
+                }
+            }
+        }
+        if (!rows.isEmpty()) {
+            scoreService.importScores(rows);
+        }
+        return new SeedData(studentIds, studentNos);
+    }
+
+    private static User user(String username, String role, String passwordHash) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword(passwordHash);
+        user.setRole(role);
+        user.setActive(true);
+        user.setCreateTime(new Date());
+        return user;
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("参数格式应为key=value：" + arg);
+            }
+            options.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+        return options;
+    }
+
+    private static int intOption(Map<String, String> options, String key, int defaultValue) {
+        String value = options.get(key);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+
+    private static Map<String, Integer> parseMix(String value) {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (String part : value.split(",")) {
+            String[] pair = part.split(":");
+            String name = pair[0].trim();
+            if (!Workload.PATHS.containsKey(name)) {
+                throw new IllegalArgumentException("未知接口：" + name + "，可选" + Workload.PATHS.keySet());
+            }
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight > 0) {
+                mix.put(name, weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("mix至少需要一个权重大于0的接口");
+        }
+        return mix;
+    }
+
+    private record SeedData(List<Integer> studentIds, List<String> studentNos) {
+    }
+
+    /**
+     * 混合请求负载：每个客户端收到响应后按权重随机选择下一个接口继续发送
+     */
+    private static final class Workload {
+
+        static final Map<String, String> PATHS = Map.of(
+                "login", "POST /api/user/login",
+                "transcript", "GET /api/score/student/{id}",
+                "search", "POST /api/student/search/page");
+
+        private final String baseUrl;
+        private final SeedData seed;
+        private final String[] names;
+        private final int[] cumulativeWeights;
+
+        Workload(String baseUrl, SeedData seed, Map<String, Integer> mix) {
+            this.baseUrl = baseUrl;
+            this.seed = seed;
+            this.names = mix.keySet().toArray(new String[0]);
+            this.cumulativeWeights = new int[names.length];
+            int sum = 0;
+            for (int i = 0; i < names.length; i++) {
+                sum += mix.get(names[i]);
+                cumulativeWeights[i] = sum;
+            }
+        }
+
+        Map<String, Recorder> run(HttpClient client, int clients, int seconds) throws InterruptedException {
+            Map<String, Recorder> recorders = new LinkedHashMap<>();
+            for (String name : names) {
+                recorders.put(name, new Recorder());
+            }
+            CountDownLatch done = new CountDownLatch(clients);
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+            for (int i = 0; i < clients; i++) {
+                send(client, deadline, recorders, done);
+            }
+            done.await();
+            return recorders;
+        }
+
+        private void send(HttpClient client, long deadline, Map<String, Recorder> recorders, CountDownLatch done) {
+            if (System.nanoTime() >= deadline) {
+                done.countDown();
+                return;
+            }
+            String name = pick();
+            HttpRequest request = request(name);
+            Recorder recorder = recorders.get(name);
+            long start = System.nanoTime();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+                long nanos = System.nanoTime() - start;
+                recorder.record(nanos, error == null && response.statusCode() < 400);
+                send(client, deadline, recorders, done);
+            });
+        }
+
+        private String pick() {
+            int value = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+            for (int i = 0; i < cumulativeWeights.length; i++) {
+                if (value < cumulativeWeights[i]) {
+                    return names[i];
+                }
+            }
+            return names[names.length - 1];
+        }
+
+        private HttpRequest request(String name) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int index = random.nextInt(seed.studentIds.size());
+            return switch (name) {
+                case "login" -> post("/api/user/login",
+                        "{\"username\":\"" + seed.studentNos.get(index) + "\",\"password\":\"" + PASSWORD + "\"}");
+                case "transcript" -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/score/student/"
+                                + seed.studentIds.get(index)))
+                        .timeout(Duration.ofSeconds(60))
+                        .GET()
+                        .build();
+                case "search" -> post("/api/student/search/page?page=0&size=20",
+                        random.nextBoolean()
+                                ? "{\"name\":\"学生" + (index + 1) / 10 + "\"}"
+                                : "{\"className\":\"" + CLASS_NAMES[index % CLASS_NAMES.length]
+                                + "\",\"gender\":\"" + (index % 2 == 0 ? "女" : "男") + "\"}");
+                default -> throw new IllegalArgumentException(name);
+            };
+        }
+
+        private HttpRequest post(String path, String body) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(Duration.ofSeconds(60))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+        }
+    }
+
+    /**
+     * 单个接口的延迟记录，保留全部成功请求的耗时以计算精确分位数
+     */
+    private static final class Recorder {
+
+        private long[] latencies = new long[1024];
+        private int size;
+        private final AtomicLong errors = new AtomicLong();
+
+        void record(long nanos, boolean success) {
+            if (!success) {
+                errors.incrementAndGet();
+                return;
+            }
+            synchronized (this) {
+                if (size == latencies.length) {
+                    latencies = Arrays.copyOf(latencies, size * 2);
+                }
+                latencies[size++] = nanos;
+            }
+        }
+
+        synchronized void merge(Recorder other) {
+            synchronized (other) {
+                if (size + other.size > latencies.length) {
+                    latencies = Arrays.copyOf(latencies, size + other.size);
+                }
+                System.arraycopy(other.latencies, 0, latencies, size, other.size);
+                size += other.size;
+            }
+            errors.addAndGet(other.errors.get());
+        }
+
+        synchronized EndpointReport report(String name, String path, int seconds) {
+            long[] sorted = Arrays.copyOf(latencies, size);
+            Arrays.sort(sorted);
+            double mean = size == 0 ? 0 : Arrays.stream(sorted).average().orElse(0);
+            return new EndpointReport(name, path, size, errors.get(), size / (double) seconds,
+                    millis(mean), millis(percentile(sorted, 0.50)), millis(percentile(sorted, 0.95)),
+                    millis(percentile(sorted, 0.99)), millis(size == 0 ? 0 : sorted[size - 1]));
+        }
+
+        private static long percentile(long[] sorted, double p) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(sorted.length * p) - 1;
+            return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+        }
+
+        private static double millis(double nanos) {
+            return Math.round(nanos / 10_000.0) / 100.0;
+        }
+    }
+
+    /**
+     * 单个接口的统计结果，throughput为成功请求数每秒，延迟单位毫秒
+     */
+    record EndpointReport(String name, String path, long requests, long errors, double throughput,
+                                  double meanMs, double p50Ms, double p95Ms, double p99Ms, double maxMs) {
+    }
+}
@@ -0,0 +1,41 @@
+package com.my.jjystd.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 以小规模数据和几秒压测时长运行压测工具，保证它在当前代码上能启动并跑通全部接口
+ */
+class LoadTestHarnessSmokeTests {
+
+    @Test
+    void harnessRunsAllEndpointsWithoutErrors(@TempDir Path dir) throws Exception {
+        Path report = LoadTestHarness.run(Map.of(
+                "label", "smoke",
+                "students", "50",
+                "teachers", "5",
+                "courses", "10",
+                "scoresPerStudent", "3",
+                "clients", "4",
+                "warmupSeconds", "1",
+                "durationSeconds", "2",
+                "output", dir.resolve("smoke.json").toString(),
+                // 独立的内存库，不与其他测试上下文共用表
+                "spring.datasource.url",
+                "jdbc:h2:mem:load-smoke;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE"));
+
+        JsonNode endpoints = new ObjectMapper().readTree(report.toFile()).get("endpoints");
+        assertThat(endpoints).hasSize(3);
+        for (JsonNode endpoint : endpoints) {
+            assertThat(endpoint.get("requests").asLong()).as(endpoint.get("name").asText()).isPositive();
+            assertThat(endpoint.get("errors").asLong()).as(endpoint.get("name").asText()).isZero();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.my.jjystd.benchmark;
+
+import com.my.jjystd.common.ServiceBusyException;
+import com.my.jjystd.service.security.PasswordHasher;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 不同BCrypt强度下的登录校验吞吐量基准
+ * 模拟大量并发登录请求同时调用PasswordHasher.matches，统计每秒校验数、延迟分位数和被快速拒绝的请求数
+ * <p>
+ * 运行：mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.my.jjystd.benchmark.PasswordHashBenchmark
+ * 参数：[每档持续秒数，默认10] [并发请求线程数，默认CPU核数×8] [强度列表，默认8,10,12]
+ */
+public class PasswordHashBenchmark {
+
+    private static final String PASSWORD = "123456";
+
+    public static void main(String[] args) throws InterruptedException {
+        int seconds = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors() * 8;
+        int[] costs = args.length > 2
+                ? Arrays.stream(args[2].split(",")).mapToInt(Integer::parseInt).toArray()
+                : new int[]{8, 10, 12};
+
+        System.out.printf("hash threads=%d, queue=64, clients=%d, duration=%ds%n",
+                Runtime.getRuntime().availableProcessors(), clients, seconds);
+        System.out.printf("%-6s %12s %10s %10s %10s%n", "cost", "logins/s", "p50(ms)", "p99(ms)", "rejected");
+        for (int cost : costs) {
+            run(cost, clients, seconds);
+        }
+    }
+
+    private static void run(int cost, int clients, int seconds) throws InterruptedException {
+        PasswordHasher hasher = new PasswordHasher(cost, 0, 64, 30_000);
+        try {
+            String stored = hasher.hash(PASSWORD);
+            // 预热
+            for (int i = 0; i < 5; i++) {
+                hasher.matches(PASSWORD, stored);
+            }
+
+            AtomicLong completed = new AtomicLong();
+            AtomicLong rejected = new AtomicLong();
+            List<long[]> latencies = new ArrayList<>();
+            CountDownLatch done = new CountDownLatch(clients);
+            long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+            for (int c = 0; c < clients; c++) {
+                long[] samples = new long[100_000];
+                latencies.add(samples);
+                Thread client = new Thread(() -> {
+                    int n = 0;
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            hasher.matches(PASSWORD, stored);
+                            completed.incrementAndGet();
+                            if (n < samples.length) {
+                                samples[n++] = System.nanoTime() - start;
+                            }
+                        } catch (ServiceBusyException e) {
+                            rejected.incrementAndGet();
+                            Thread.onSpinWait();
+                        }
+                    }
+                    done.countDown();
+                });
+                client.setDaemon(true);
+                client.start();
+            }
+            done.await();
+
+            long[] all = latencies.stream().flatMapToLong(Arrays::stream).filter(v -> v > 0).sorted().toArray();
+            System.out.printf("%-6d %12.1f %10.1f %10.1f %10d%n",
+                    cost,
+                    completed.get() / (double) seconds,
+                    percentile(all, 0.50) / 1e6,
+                    percentile(all, 0.99) / 1e6,
+                    rejected.get());
+        } finally {
+            hasher.shutdown();
+        }
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * p))];
+    }
+}
@@ -0,0 +1,118 @@
+package com.my.jjystd.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 平台线程与虚拟线程请求处理模式的并发压测
+ * 对已启动的服务以固定并发数闭环发送请求（每个客户端收到响应后立即发下一个），
+ * 统计每档并发下的吞吐量、延迟分位数和失败数；分别以默认配置和virtual-threads配置启动服务各运行一次即可对比
+ * <p>
+ * 启动服务（两次运行使用相同的连接数上限）：
+ * java -jar target/jjy-std-0.0.1-SNAPSHOT.jar --server.tomcat.max-connections=20000
+ * java -jar target/jjy-std-0.0.1-SNAPSHOT.jar --spring.profiles.active=virtual-threads
+ * <p>
+ * 运行：mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.my.jjystd.benchmark.RequestConcurrencyBenchmark -Dexec.args="platform"
+ * 参数：[标签，默认platform] [请求地址，默认http://localhost:8080/api/score/page?size=20]
+ * [并发列表，默认200,2000,10000] [每档持续秒数，默认30] [POST请求体，缺省时发GET]
+ * 10000并发需要客户端和服务端的文件描述符上限（ulimit -n）均大于并发数
+ */
+public class RequestConcurrencyBenchmark {
+
+    /**
+     * 延迟直方图按毫秒分桶，最长记录60秒
+     */
+    private static final int MAX_LATENCY_MILLIS = 60_000;
+
+    public static void main(String[] args) throws InterruptedException {
+        String label = args.length > 0 ? args[0] : "platform";
+        URI uri = URI.create(args.length > 1 ? args[1] : "http://localhost:8080/api/score/page?size=20");
+        int[] levels = args.length > 2
+                ? Arrays.stream(args[2].split(",")).mapToInt(Integer::parseInt).toArray()
+                : new int[]{200, 2_000, 10_000};
+        int seconds = args.length > 3 ? Integer.parseInt(args[3]) : 30;
+        String body = args.length > 4 ? args[4] : null;
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(MAX_LATENCY_MILLIS / 1000));
+        HttpRequest request = body == null
+                ? builder.GET().build()
+                : builder.header("Content-Type", "application/json").POST(HttpRequest.BodyPublishers.ofString(body)).build();
+
+        System.out.printf("mode=%s, url=%s, duration=%ds%n", label, uri, seconds);
+        // 预热：建立连接并触发JIT
+        run(client, request, Math.min(levels[0], 50), 5);
+        System.out.printf("%-10s %8s %12s %10s %10s %10s %10s%n",
+                "mode", "clients", "requests/s", "p50(ms)", "p99(ms)", "max(ms)", "errors");
+        for (int clients : levels) {
+            Result result = run(client, request, clients, seconds);
+            System.out.printf("%-10s %8d %12.1f %10d %10d %10d %10d%n",
+                    label, clients, result.completed / (double) seconds,
+                    result.percentile(0.50), result.percentile(0.99), result.max, result.errors);
+        }
+    }
+
+    private static Result run(HttpClient client, HttpRequest request, int clients, int seconds)
+            throws InterruptedException {
+        AtomicLongArray histogram = new AtomicLongArray(MAX_LATENCY_MILLIS + 1);
+        AtomicLong completed = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        AtomicLong max = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(clients);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        for (int i = 0; i < clients; i++) {
+            send(client, request, deadline, histogram, completed, errors, max, done);
+        }
+        done.await();
+        return new Result(histogram, completed.get(), errors.get(), max.get());
+    }
+
+    /**
+     * 发送一个请求，收到响应后若未到截止时间则继续发送下一个
+     */
+    private static void send(HttpClient client, HttpRequest request, long deadline, AtomicLongArray histogram,
+                             AtomicLong completed, AtomicLong errors, AtomicLong max, CountDownLatch done) {
+        if (System.nanoTime() >= deadline) {
+            done.countDown();
+            return;
+        }
+        long start = System.nanoTime();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+            long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            if (error != null || response.statusCode() >= 400) {
+                errors.incrementAndGet();
+            } else {
+                completed.incrementAndGet();
+                histogram.incrementAndGet((int) Math.min(millis, MAX_LATENCY_MILLIS));
+                max.accumulateAndGet(millis, Math::max);
+            }
+            send(client, request, deadline, histogram, completed, errors, max, done);
+        });
+    }
+
+    private record Result(AtomicLongArray histogram, long completed, long errors, long max) {
+
+        long percentile(double p) {
+            long target = (long) Math.ceil(completed * p);
+            long seen = 0;
+            for (int millis = 0; millis < histogram.length(); millis++) {
+                seen += histogram.get(millis);
+                if (seen >= target && seen > 0) {
+                    return millis;
+                }
+            }
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.my.jjystd.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 游标分页只接受白名单中的排序字段，排序字段值会写入游标，敏感字段不能用于排序
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class CursorSortTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void sensitivePropertiesAreRejected() throws Exception {
+        mockMvc.perform(get("/api/user/cursor?sort=password")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/student/cursor?sort=phone")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void allowedPropertiesAreAccepted() throws Exception {
+        mockMvc.perform(get("/api/user/cursor?sort=username,desc")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/student/cursor?sort=studentNo")).andExpect(status().isOk());
+    }
+}
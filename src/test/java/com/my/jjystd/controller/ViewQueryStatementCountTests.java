@@ -0,0 +1,200 @@
+package com.my.jjystd.controller;
+
+import com.my.jjystd.config.QueryCountFilter;
+import com.my.jjystd.entity.Course;
+import com.my.jjystd.entity.Score;
+import com.my.jjystd.entity.Student;
+import com.my.jjystd.entity.Teacher;
+import com.my.jjystd.repository.CourseRepository;
+import com.my.jjystd.repository.ScoreRepository;
+import com.my.jjystd.repository.StudentRepository;
+import com.my.jjystd.repository.TeacherRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Date;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 校验成绩和课程视图接口的SQL条数：列表一条，分页内容一条（需要统计总数时再加一条）
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ViewQueryStatementCountTests {
+
+    private static final int STUDENTS_PER_COURSE = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private ScoreRepository scoreRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    private Statistics statistics;
+    private Integer teacherId;
+    private Integer courseId;
+    private Integer studentId;
+
+    @BeforeAll
+    void seed() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        // 两位教师各教一门课程，每门课程若干学生，成绩的评定教师与授课教师交叉，
+        // 实体查询路径下会为不同的课程和教师产生额外的查询
+        for (int t = 0; t < 2; t++) {
+            Teacher teacher = new Teacher();
+            teacher.setName("教师" + t);
+            teacher.setTeacherNo("T" + t);
+            teacher = teacherRepository.save(teacher);
+
+            Course course = new Course();
+            course.setName("课程" + t);
+            course.setCourseCode("C" + t);
+            course.setCredit(2F);
+            course.setTeacher(teacher);
+            course = courseRepository.save(course);
+
+            for (int s = 0; s < STUDENTS_PER_COURSE; s++) {
+                Score score = new Score();
+                score.setStudentId(1000 + s);
+                score.setCourse(course);
+                score.setTeacher(teacher);
+                score.setScore(60F + s * 8);
+                score.setCreateTime(new Date());
+                scoreRepository.save(score);
+            }
+            teacherId = teacher.getId();
+            courseId = course.getId();
+        }
+        studentId = 1000;
+    }
+
+    Stream<Arguments> viewEndpoints() {
+        return Stream.of(
+                Arguments.of("/api/score/view/list", 1),
+                Arguments.of("/api/score/view/page?size=100", 1),
+                Arguments.of("/api/score/view/page?size=3", 2),
+                Arguments.of("/api/score/view/student/" + studentId, 1),
+                Arguments.of("/api/score/view/student/" + studentId + "/page?size=1", 2),
+                Arguments.of("/api/score/view/course/" + courseId, 1),
+                Arguments.of("/api/score/view/course/" + courseId + "/page?size=2&sort=score,desc", 2),
+                Arguments.of("/api/score/view/teacher/" + teacherId, 1),
+                Arguments.of("/api/score/view/teacher/" + teacherId + "/page?size=100", 1),
+                Arguments.of("/api/course/view/list", 1),
+                Arguments.of("/api/course/view/page?size=1", 2),
+                Arguments.of("/api/course/view/teacher/" + teacherId, 1),
+                Arguments.of("/api/course/view/teacher/" + teacherId + "/page?size=100", 1));
+    }
+
+    @ParameterizedTest(name = "{0} -> {1}")
+    @MethodSource("viewEndpoints")
+    void viewEndpointIssuesExpectedStatementCount(String url, long expectedStatements) throws Exception {
+        statistics.clear();
+        mockMvc.perform(get(url)).andExpect(status().isOk());
+        assertThat(statistics.getPrepareStatementCount())
+                .as("SQL条数：%s", url)
+                .isEqualTo(expectedStatements);
+    }
+
+    @Test
+    void responseHeaderReportsStatementCount() throws Exception {
+        statistics.clear();
+        String header = mockMvc.perform(get("/api/score/view/course/" + courseId))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(QueryCountFilter.ENTITY_LOAD_COUNT_HEADER))
+                .andReturn().getResponse().getHeader(QueryCountFilter.STATEMENT_COUNT_HEADER);
+        assertThat(header).isEqualTo(String.valueOf(statistics.getPrepareStatementCount()));
+    }
+
+    @Test
+    void conditionSliceAppliesSortWithoutCount() throws Exception {
+        mockMvc.perform(post("/api/course/search/slice?size=1&sort=courseCode,asc")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"课程\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content.length()").value(1))
+                .andExpect(jsonPath("$.data.content[0].courseCode").value("C0"))
+                .andExpect(jsonPath("$.data.last").value(false))
+                .andExpect(jsonPath("$.data.totalElements").doesNotExist());
+    }
+
+    @Test
+    void rosterIsOneJoinAndServedFromCacheOnRepeat() throws Exception {
+        Course course = new Course();
+        course.setName("花名册课程");
+        course.setCourseCode("R1");
+        course.setCredit(2F);
+        course = courseRepository.save(course);
+        for (int s = 0; s < 3; s++) {
+            Student student = new Student();
+            student.setName("学生" + s);
+            student.setStudentNo("R" + s);
+            student.setClassName("一班");
+            student = studentRepository.save(student);
+
+            Score score = new Score();
+            score.setStudentId(student.getId());
+            score.setCourse(course);
+            score.setScore(70F + s);
+            score.setCreateTime(new Date());
+            scoreRepository.save(score);
+        }
+        String url = "/api/course/" + course.getId() + "/roster?size=2&sort=score,desc";
+
+        statistics.clear();
+        mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.totalElements").value(3))
+                .andExpect(jsonPath("$.data.content[0].studentNo").value("R2"));
+        long firstStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        mockMvc.perform(get(url)).andExpect(status().isOk());
+        assertThat(statistics.getPrepareStatementCount())
+                .as("缓存命中后不再查询花名册")
+                .isLessThan(firstStatements)
+                .isZero();
+
+        mockMvc.perform(get("/api/course/" + course.getId() + "/roster?sort=phone,asc"))
+                .andExpect(status().isBadRequest());
+
+        // 不存在的课程同样缓存，重复请求不再查询
+        mockMvc.perform(get("/api/course/999999/roster")).andExpect(jsonPath("$.code").value(404));
+        statistics.clear();
+        mockMvc.perform(get("/api/course/999999/roster")).andExpect(jsonPath("$.code").value(404));
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+}
@@ -0,0 +1,57 @@
+package com.my.jjystd.service.cache;
+
+import com.my.jjystd.common.SearchCaches;
+import com.my.jjystd.service.event.StudentChangedEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.lang.reflect.Method;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 清空前已开始的查询写回的结果不会在清空后被命中
+ */
+class SearchResultCacheTests {
+
+    private final CaffeineCacheManager cacheManager = new CaffeineCacheManager(SearchCaches.ALL.toArray(String[]::new));
+    private final SearchResultCache searchResultCache = new SearchResultCache(cacheManager);
+    private final SearchKeyGenerator keyGenerator = new SearchKeyGenerator(searchResultCache);
+
+    @Test
+    void resultWrittenBackAfterClearIsNotServed() throws NoSuchMethodException {
+        Searches target = new Searches();
+        Method method = Searches.class.getMethod("search", String.class);
+        Cache cache = cacheManager.getCache(SearchCaches.STUDENT);
+
+        // 查询在清空前生成键并开始执行，清空后才把旧结果写回
+        Object staleKey = keyGenerator.generate(target, method, "张三");
+        searchResultCache.onStudentChanged(new StudentChangedEvent(1, null));
+        cache.put(staleKey, "旧结果");
+
+        Object key = keyGenerator.generate(target, method, "张三");
+        assertThat(key).isNotEqualTo(staleKey);
+        assertThat(cache.get(key)).isNull();
+
+        // 其他缓存的代数不受影响
+        Method teacherSearch = Searches.class.getMethod("searchTeacher", String.class);
+        assertThat(keyGenerator.generate(target, teacherSearch, "李四"))
+                .isEqualTo(keyGenerator.generate(target, teacherSearch, "李四"));
+        assertThat(searchResultCache.generation(SearchCaches.TEACHER)).isZero();
+    }
+
+    static class Searches {
+
+        @Cacheable(cacheNames = SearchCaches.STUDENT, keyGenerator = "searchKeyGenerator")
+        public String search(String name) {
+            return name;
+        }
+
+        @Cacheable(cacheNames = SearchCaches.TEACHER, keyGenerator = "searchKeyGenerator")
+        public String searchTeacher(String name) {
+            return name;
+        }
+    }
+}
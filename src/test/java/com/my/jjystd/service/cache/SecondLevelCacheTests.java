@@ -0,0 +1,60 @@
+package com.my.jjystd.service.cache;
+
+import com.my.jjystd.common.CacheRegions;
+import com.my.jjystd.entity.Course;
+import com.my.jjystd.repository.CourseRepository;
+import com.my.jjystd.service.CourseService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 以应用的二级缓存配置启动，校验课程实体区域确实产生命中
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+class SecondLevelCacheTests {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Test
+    void courseRegionServesRepeatedLookups() {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        assertThat(sessionFactory.getProperties().get(AvailableSettings.USE_SECOND_LEVEL_CACHE))
+                .hasToString("true");
+
+        Course course = new Course();
+        course.setName("缓存课程");
+        course.setCourseCode("L2C1");
+        course.setCredit(2F);
+        Integer id = courseRepository.save(course).getId();
+        sessionFactory.getCache().evictEntityData(Course.class, id);
+
+        Statistics statistics = sessionFactory.getStatistics();
+        statistics.clear();
+        // 第一次从数据库加载并放入缓存，之后每次都在新会话中直接命中
+        assertThat(courseService.findCourseById(id)).isPresent();
+        long firstStatements = statistics.getPrepareStatementCount();
+        assertThat(courseService.findCourseById(id)).isPresent();
+        assertThat(courseService.findCourseById(id)).isPresent();
+
+        CacheRegionStatistics region = statistics.getDomainDataRegionStatistics(CacheRegions.COURSE);
+        assertThat(region.getHitCount()).isGreaterThanOrEqualTo(2);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(firstStatements);
+    }
+}
@@ -0,0 +1,69 @@
+package com.my.jjystd.service.impl;
+
+import com.my.jjystd.controller.dto.ImportRowResultDTO;
+import com.my.jjystd.controller.dto.StudentOnboardRowDTO;
+import com.my.jjystd.entity.User;
+import com.my.jjystd.repository.OnboardingBulkRepository;
+import com.my.jjystd.repository.UserRepository;
+import com.my.jjystd.service.OnboardingService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doReturn;
+
+/**
+ * 预检查漏掉的标识冲突由唯一索引拦截，冲突逐行报告，同批其他行照常写入
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+class OnboardingConflictTests {
+
+    @Autowired
+    private OnboardingService onboardingService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @MockitoSpyBean
+    private OnboardingBulkRepository onboardingBulkRepository;
+
+    @Test
+    void uniqueIndexConflictIsReportedPerRow() {
+        User user = new User();
+        user.setUsername("ONB001");
+        user.setPassword("x");
+        user.setRole("student");
+        user.setActive(true);
+        user.setCreateTime(new Date());
+        userRepository.save(user);
+        // 预检查看不到已占用的学号，相当于检查之后被并发写入
+        doReturn(Set.of()).when(onboardingBulkRepository).findTakenIdentifiers(anyCollection());
+
+        List<ImportRowResultDTO> results = new ArrayList<>();
+        onboardingService.onboardStudents(List.of(row("ONB001"), row("ONB002")), results::add);
+
+        assertThat(results)
+                .extracting(ImportRowResultDTO::getRow, ImportRowResultDTO::getStatus)
+                .containsExactly(tuple(1, ImportRowResultDTO.FAILED), tuple(2, ImportRowResultDTO.CREATED));
+        assertThat(results.get(0).getMessage()).isEqualTo("学号已存在：ONB001");
+        assertThat(userRepository.findByUsername("ONB002")).isPresent();
+    }
+
+    private static StudentOnboardRowDTO row(String studentNo) {
+        StudentOnboardRowDTO row = new StudentOnboardRowDTO();
+        row.setStudentNo(studentNo);
+        row.setName("新生" + studentNo);
+        return row;
+    }
+}
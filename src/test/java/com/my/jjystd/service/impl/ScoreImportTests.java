@@ -0,0 +1,73 @@
+package com.my.jjystd.service.impl;
+
+import com.my.jjystd.controller.dto.ImportReportDTO;
+import com.my.jjystd.controller.dto.ScoreImportRowDTO;
+import com.my.jjystd.entity.Course;
+import com.my.jjystd.entity.Score;
+import com.my.jjystd.repository.CourseRepository;
+import com.my.jjystd.repository.ScoreRepository;
+import com.my.jjystd.service.ScoreService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * 成绩批量导入按(学生, 课程)唯一键upsert，重复导入和单条保存都不会产生重复成绩
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+class ScoreImportTests {
+
+    @Autowired
+    private ScoreService scoreService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private ScoreRepository scoreRepository;
+
+    @Test
+    void repeatedImportUpdatesInsteadOfDuplicating() {
+        Course course = new Course();
+        course.setName("导入课程");
+        course.setCourseCode("IMP1");
+        course.setCredit(2F);
+        course = courseRepository.save(course);
+
+        ImportReportDTO first = scoreService.importScores(List.of(row(7001, course.getId(), 60F),
+                row(7002, course.getId(), 70F)));
+        assertThat(first.getCreated()).isEqualTo(2);
+
+        ImportReportDTO second = scoreService.importScores(List.of(row(7001, course.getId(), 90F)));
+        assertThat(second.getUpdated()).isEqualTo(1);
+        assertThat(scoreRepository.findByCourseId(course.getId()))
+                .extracting(Score::getStudentId, Score::getScore)
+                .containsExactlyInAnyOrder(tuple(7001, 90F), tuple(7002, 70F));
+
+        Score duplicate = new Score();
+        duplicate.setStudentId(7002);
+        duplicate.setCourse(course);
+        duplicate.setScore(50F);
+        duplicate.setCreateTime(new Date());
+        assertThatThrownBy(() -> scoreService.saveScore(duplicate))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    private static ScoreImportRowDTO row(int studentId, int courseId, float score) {
+        ScoreImportRowDTO row = new ScoreImportRowDTO();
+        row.setStudentId(studentId);
+        row.setCourseId(courseId);
+        row.setScore(score);
+        return row;
+    }
+}
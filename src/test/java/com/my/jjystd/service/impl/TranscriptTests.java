@@ -0,0 +1,89 @@
+package com.my.jjystd.service.impl;
+
+import com.my.jjystd.controller.dto.TranscriptDTO;
+import com.my.jjystd.controller.dto.TranscriptItemDTO;
+import com.my.jjystd.entity.Course;
+import com.my.jjystd.entity.Score;
+import com.my.jjystd.entity.Student;
+import com.my.jjystd.repository.CourseRepository;
+import com.my.jjystd.repository.ScoreRepository;
+import com.my.jjystd.repository.StudentRepository;
+import com.my.jjystd.service.ScoreService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * 绩点档位随及格线变化，学生不存在时成绩单为空
+ */
+@SpringBootTest(properties = "score.pass-score=50")
+@ActiveProfiles("h2")
+class TranscriptTests {
+
+    @Autowired
+    private ScoreService scoreService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private ScoreRepository scoreRepository;
+
+    @Test
+    void gradePointBandsFollowPassScore() {
+        Student student = new Student();
+        student.setName("绩点学生");
+        student.setStudentNo("GPA001");
+        Integer studentId = studentRepository.save(student).getId();
+        // 及格线50时每档12.5分：50、62.5、75、87.5分起算1.0~4.0
+        addScore(studentId, "GPA-C1", 45F);
+        addScore(studentId, "GPA-C2", 55F);
+        addScore(studentId, "GPA-C3", 80F);
+        addScore(studentId, "GPA-C4", 90F);
+
+        TranscriptDTO transcript = scoreService.getTranscript(studentId).orElseThrow();
+        assertThat(transcript.getItems())
+                .extracting(TranscriptItemDTO::getCourseCode, TranscriptItemDTO::getGradePoint)
+                .containsExactlyInAnyOrder(
+                        tuple("GPA-C1", 0.0),
+                        tuple("GPA-C2", 1.0),
+                        tuple("GPA-C3", 3.0),
+                        tuple("GPA-C4", 4.0));
+        assertThat(transcript.getEarnedCredits()).isEqualTo(6.0);
+    }
+
+    @Test
+    void onlyUnknownStudentHasNoTranscript() {
+        Student student = new Student();
+        student.setName("无成绩学生");
+        student.setStudentNo("GPA002");
+        Integer studentId = studentRepository.save(student).getId();
+
+        assertThat(scoreService.getTranscript(studentId).orElseThrow().getItems()).isEmpty();
+        assertThat(scoreService.getTranscript(999999)).isEmpty();
+    }
+
+    private void addScore(Integer studentId, String courseCode, float value) {
+        Course course = new Course();
+        course.setName("绩点课程" + courseCode);
+        course.setCourseCode(courseCode);
+        course.setCredit(2F);
+        course = courseRepository.save(course);
+
+        Score score = new Score();
+        score.setStudentId(studentId);
+        score.setCourse(course);
+        score.setScore(value);
+        score.setCreateTime(new Date());
+        scoreRepository.save(score);
+    }
+}
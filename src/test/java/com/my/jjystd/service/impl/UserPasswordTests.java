@@ -0,0 +1,41 @@
+package com.my.jjystd.service.impl;
+
+import com.my.jjystd.entity.User;
+import com.my.jjystd.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 客户端提交的密码总是按明文哈希，形如BCrypt哈希的值也不例外
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+class UserPasswordTests {
+
+    private static final String HASH_LIKE = "$2a$10$" + "a".repeat(53);
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void submittedHashIsTreatedAsPlainText() {
+        User user = new User();
+        user.setUsername("pwd-user");
+        user.setPassword(HASH_LIKE);
+        User saved = userService.saveUser(user);
+        assertThat(saved.getPassword()).isNotEqualTo(HASH_LIKE);
+        assertThat(userService.login("pwd-user", HASH_LIKE)).isPresent();
+
+        // 把存储的哈希原样提交回来，同样视为新的明文密码
+        String storedHash = saved.getPassword();
+        User details = new User();
+        details.setPassword(storedHash);
+        userService.updateUser(saved.getId(), details);
+        assertThat(userService.login("pwd-user", HASH_LIKE)).isEmpty();
+        assertThat(userService.login("pwd-user", storedHash)).isPresent();
+    }
+}
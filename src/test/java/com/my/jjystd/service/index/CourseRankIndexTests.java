@@ -0,0 +1,86 @@
+package com.my.jjystd.service.index;
+
+import com.my.jjystd.controller.dto.CourseRankDTO;
+import com.my.jjystd.service.event.ScoreChangedEvent;
+import com.my.jjystd.service.event.ScoreSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 排名按成绩ID增量维护，与逐条比较的结果一致
+ */
+class CourseRankIndexTests {
+
+    private static final int COURSE_ID = 1;
+
+    private final CourseRankIndex index = new CourseRankIndex(null);
+
+    @Test
+    void tiesShareRankAndUpdatesTouchOnlyTheChangedRow() {
+        insert(11, 101, 80F);
+        insert(12, 102, 90F);
+        insert(13, 103, 80F);
+        insert(14, 104, 60F);
+
+        CourseRankDTO rank = index.getRank(103, COURSE_ID).orElseThrow();
+        assertThat(rank.getRank()).isEqualTo(2);
+        assertThat(rank.getTotal()).isEqualTo(4);
+        assertThat(rank.getPercentile()).isEqualTo(25.0);
+
+        // 修改一条成绩只移动这一行，同分的其他学生不受影响
+        index.onScoreChanged(new ScoreChangedEvent(snapshot(11, 101, 80F), snapshot(11, 101, 95F)));
+        assertThat(index.getRank(101, COURSE_ID).orElseThrow().getRank()).isEqualTo(1);
+        assertThat(index.getRank(103, COURSE_ID).orElseThrow().getRank()).isEqualTo(3);
+
+        index.onScoreChanged(new ScoreChangedEvent(snapshot(12, 102, 90F), null));
+        assertThat(index.getRank(102, COURSE_ID)).isEmpty();
+        assertThat(index.getRank(103, COURSE_ID).orElseThrow().getTotal()).isEqualTo(3);
+
+        index.onScoreChanged(new ScoreChangedEvent(snapshot(11, 101, 95F), null));
+        index.onScoreChanged(new ScoreChangedEvent(snapshot(13, 103, 80F), null));
+        index.onScoreChanged(new ScoreChangedEvent(snapshot(14, 104, 60F), null));
+        assertThat(index.getRank(104, COURSE_ID)).isEmpty();
+    }
+
+    @Test
+    void matchesLinearScanAfterRandomChanges() {
+        Random random = new Random(42);
+        float[] scores = new float[200];
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < scores.length; i++) {
+            scores[i] = random.nextInt(41) + 60;
+            insert(i, 1000 + i, scores[i]);
+            order.add(i);
+        }
+        Collections.shuffle(order, random);
+        for (int i : order.subList(0, 100)) {
+            float updated = random.nextInt(41) + 60;
+            index.onScoreChanged(new ScoreChangedEvent(snapshot(i, 1000 + i, scores[i]), snapshot(i, 1000 + i, updated)));
+            scores[i] = updated;
+        }
+
+        for (int i = 0; i < scores.length; i++) {
+            int higher = 0;
+            for (float other : scores) {
+                if (other > scores[i]) {
+                    higher++;
+                }
+            }
+            assertThat(index.getRank(1000 + i, COURSE_ID).orElseThrow().getRank()).isEqualTo(higher + 1);
+        }
+    }
+
+    private void insert(int scoreId, int studentId, float score) {
+        index.onScoreChanged(new ScoreChangedEvent(null, snapshot(scoreId, studentId, score)));
+    }
+
+    private static ScoreSnapshot snapshot(int scoreId, int studentId, float score) {
+        return new ScoreSnapshot(scoreId, studentId, COURSE_ID, null, score);
+    }
+}
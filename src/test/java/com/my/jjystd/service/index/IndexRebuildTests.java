@@ -0,0 +1,146 @@
+package com.my.jjystd.service.index;
+
+import com.my.jjystd.controller.dto.CourseRankDTO;
+import com.my.jjystd.controller.dto.CourseScoreStatsDTO;
+import com.my.jjystd.entity.Student;
+import com.my.jjystd.repository.ScoreRepository;
+import com.my.jjystd.repository.StudentRepository;
+import com.my.jjystd.repository.projection.CourseScoreAggregate;
+import com.my.jjystd.repository.projection.StudentCourseScore;
+import com.my.jjystd.service.event.ScoreChangedEvent;
+import com.my.jjystd.service.event.ScoreSnapshot;
+import com.my.jjystd.service.event.StudentChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyFloat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 全量重建期间到达的变更在新结果上重放，不会被重建覆盖
+ */
+class IndexRebuildTests {
+
+    @Test
+    void scoreChangeMissedByStatsRebuildIsReaggregated() {
+        ScoreRepository scoreRepository = mock(ScoreRepository.class);
+        CourseScoreStatsIndex index = new CourseScoreStatsIndex(scoreRepository, 60F);
+        CourseScoreAggregate stale = aggregate(1, 80F);
+        CourseScoreAggregate reloaded = aggregate(1, 80F, 90F);
+        // 聚合查询读到的是变更提交之前的数据，变更事件在查询返回前到达
+        when(scoreRepository.aggregateByCourse(anyFloat())).thenAnswer(invocation -> {
+            index.onScoreChanged(new ScoreChangedEvent(null, new ScoreSnapshot(2, 102, 1, null, 90F)));
+            return List.of(stale);
+        });
+        when(scoreRepository.aggregateByCourseId(eq(1), anyFloat())).thenReturn(List.of(reloaded));
+
+        index.rebuildAll();
+
+        CourseScoreStatsDTO stats = index.getStats(1);
+        assertThat(stats.getCount()).isEqualTo(2);
+        assertThat(stats.getMax()).isEqualTo(90F);
+    }
+
+    @Test
+    void scoreChangeSeenByStatsRebuildIsNotCountedTwice() {
+        ScoreRepository scoreRepository = mock(ScoreRepository.class);
+        CourseScoreStatsIndex index = new CourseScoreStatsIndex(scoreRepository, 60F);
+        CourseScoreAggregate reloaded = aggregate(1, 80F, 90F);
+        // 变更在聚合查询开始后提交，查询结果已经包含这条成绩，事件随后才到达
+        when(scoreRepository.aggregateByCourse(anyFloat())).thenAnswer(invocation -> {
+            index.onScoreChanged(new ScoreChangedEvent(null, new ScoreSnapshot(2, 102, 1, null, 90F)));
+            return List.of(reloaded);
+        });
+        when(scoreRepository.aggregateByCourseId(eq(1), anyFloat())).thenReturn(List.of(reloaded));
+
+        index.rebuildAll();
+
+        CourseScoreStatsDTO stats = index.getStats(1);
+        assertThat(stats.getCount()).isEqualTo(2);
+        assertThat(stats.getMean()).isEqualTo(85.0);
+        assertThat(stats.getPassRate()).isEqualTo(1.0);
+    }
+
+    @Test
+    void entityChangeDuringSearchIndexRebuildIsReplayed() {
+        StudentRepository studentRepository = mock(StudentRepository.class);
+        StudentSearchIndex index = new StudentSearchIndex(studentRepository);
+        Student student = new Student();
+        student.setId(7);
+        student.setName("重建期间新增");
+        when(studentRepository.findAll()).thenAnswer(invocation -> {
+            index.onEntityChanged(new StudentChangedEvent(7, student));
+            return List.of();
+        });
+
+        index.rebuild();
+
+        assertThat(index.match("重建期间")).contains(Set.of(7));
+    }
+
+    @Test
+    void scoreChangeDuringRankRebuildIsReplayed() {
+        ScoreRepository scoreRepository = mock(ScoreRepository.class);
+        CourseRankIndex index = new CourseRankIndex(scoreRepository);
+        List<StudentCourseScore> rows = List.of(row(11, 101, 70F), row(12, 102, 80F), row(13, 103, 60F));
+        // 查询读到11号修改前的分数和13号删除前的数据，12号在查询开始后提交，结果中已包含
+        when(scoreRepository.findAllStudentCourseScores()).thenAnswer(invocation -> {
+            index.onScoreChanged(new ScoreChangedEvent(snapshot(11, 101, 70F), snapshot(11, 101, 95F)));
+            index.onScoreChanged(new ScoreChangedEvent(null, snapshot(12, 102, 80F)));
+            index.onScoreChanged(new ScoreChangedEvent(snapshot(13, 103, 60F), null));
+            return rows;
+        });
+
+        index.rebuildAll();
+
+        CourseRankDTO rank = index.getRank(101, 1).orElseThrow();
+        assertThat(rank.getScore()).isEqualTo(95F);
+        assertThat(rank.getRank()).isEqualTo(1);
+        assertThat(rank.getTotal()).isEqualTo(2);
+        assertThat(index.getRank(103, 1)).isEmpty();
+    }
+
+    private static CourseScoreAggregate aggregate(int courseId, float... scores) {
+        CourseScoreAggregate aggregate = mock(CourseScoreAggregate.class);
+        double sum = 0;
+        double squareSum = 0;
+        float min = Float.MAX_VALUE;
+        float max = -Float.MAX_VALUE;
+        long passCount = 0;
+        for (float score : scores) {
+            sum += score;
+            squareSum += (double) score * score;
+            min = Math.min(min, score);
+            max = Math.max(max, score);
+            if (score >= 60F) {
+                passCount++;
+            }
+        }
+        when(aggregate.getCourseId()).thenReturn(courseId);
+        when(aggregate.getScoreCount()).thenReturn((long) scores.length);
+        when(aggregate.getScoreSum()).thenReturn(sum);
+        when(aggregate.getSquareSum()).thenReturn(squareSum);
+        when(aggregate.getMinScore()).thenReturn(min);
+        when(aggregate.getMaxScore()).thenReturn(max);
+        when(aggregate.getPassCount()).thenReturn(passCount);
+        return aggregate;
+    }
+
+    private static StudentCourseScore row(int scoreId, int studentId, float score) {
+        StudentCourseScore row = mock(StudentCourseScore.class);
+        when(row.getId()).thenReturn(scoreId);
+        when(row.getCourseId()).thenReturn(1);
+        when(row.getStudentId()).thenReturn(studentId);
+        when(row.getScore()).thenReturn(score);
+        return row;
+    }
+
+    private static ScoreSnapshot snapshot(int scoreId, int studentId, float score) {
+        return new ScoreSnapshot(scoreId, studentId, 1, null, score);
+    }
+}
@@ -0,0 +1,66 @@
+package com.my.jjystd.service.index;
+
+import com.my.jjystd.common.SuggestType;
+import com.my.jjystd.controller.dto.StudentQueryDTO;
+import com.my.jjystd.controller.dto.SuggestionDTO;
+import com.my.jjystd.entity.Course;
+import com.my.jjystd.entity.Student;
+import com.my.jjystd.repository.StudentRepository;
+import com.my.jjystd.service.CourseService;
+import com.my.jjystd.service.StudentService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 内存索引与数据库不一致时查询结果仍以数据库为准，服务写入后索引增量更新
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+class SearchIndexTests {
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private SuggestIndex suggestIndex;
+
+    @Test
+    void searchFallsBackToSqlWhenIndexHasNoMatch() {
+        // 直接写库不发布变更事件，相当于其他节点的写入，本节点索引中没有这条记录
+        Student student = new Student();
+        student.setName("索引外学生");
+        student.setStudentNo("IDX001");
+        studentRepository.save(student);
+
+        StudentQueryDTO query = new StudentQueryDTO();
+        query.setName("索引外");
+        assertThat(studentService.findStudentsByCondition(query))
+                .extracting(Student::getStudentNo)
+                .containsExactly("IDX001");
+    }
+
+    @Test
+    void entityChangesReachSuggestIndex() {
+        Course course = new Course();
+        course.setName("索引课程");
+        course.setCourseCode("IDXC01");
+        course.setCredit(2F);
+        Integer id = courseService.saveCourse(course).getId();
+        assertThat(suggestIndex.search(SuggestType.COURSE, "IDXC", 10))
+                .extracting(SuggestionDTO::getId)
+                .containsExactly(id);
+
+        courseService.deleteCourse(id);
+        assertThat(suggestIndex.search(SuggestType.COURSE, "IDXC", 10)).isEmpty();
+    }
+}
@@ -0,0 +1,43 @@
+package com.my.jjystd.service.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 其他节点的注销记录即使晚于ID更大的记录提交，也能在同步后生效
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+class TokenRevocationListTests {
+
+    @Autowired
+    private TokenRevocationList tokenRevocationList;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void syncPicksUpRowsCommittedOutOfIdOrder() {
+        long now = System.currentTimeMillis();
+        long expiresAt = now + 3_600_000;
+        tokenRevocationList.sync();
+
+        // 先同步一条ID较大的记录，再提交一条ID更小、创建时间更早的记录
+        tokenRevocationList.revoke("newer-token", expiresAt);
+        tokenRevocationList.sync();
+        jdbcTemplate.update("insert into revoked_token (id, token_id, expires_at, create_time) values (?, ?, ?, ?)",
+                -1L, "late-token", new Date(expiresAt), new Date(now - 5_000));
+        assertThat(tokenRevocationList.isRevoked("late-token", expiresAt)).isFalse();
+
+        tokenRevocationList.sync();
+        assertThat(tokenRevocationList.isRevoked("late-token", expiresAt)).isTrue();
+        assertThat(tokenRevocationList.isRevoked("newer-token", expiresAt)).isTrue();
+    }
+}